@@ -21,21 +21,36 @@ import com.google.common.collect.Sets;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
 import org.apache.ignite.ci.issue.Issue;
 import org.apache.ignite.ci.issue.IssueKey;
 import org.apache.ignite.ci.issue.IssuesStorage;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.tcbot.common.util.FutureUtil;
+import org.apache.ignite.tcignited.build.FatBuildDao;
+import org.apache.ignite.tcignited.buildlog.BuildLogCheckResultDao;
+import org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao;
 import org.apache.ignite.tcservice.model.result.Build;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.cache.Cache;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
 
 /**
  * Migrations to be applied to each TC related caches.
@@ -54,6 +69,29 @@ public class DbMigrations {
 
     public static final String DONE_MIGRATION_PREFIX = "apache";
 
+    /** Count of threads running independent migrations. */
+    private static final int MIGRATION_THREADS = 4;
+
+    /** Data copying migrations: size of streamer buffer per node. */
+    private static final int STREAMER_PER_NODE_BUFFER_SIZE = 2048;
+
+    /** Data copying migrations: page size of scan query over one partition of migrated cache. */
+    private static final int SCAN_PAGE_SIZE = 1024;
+
+    /**
+     * Runs data copying migration, allows to monitor its progress.
+     */
+    @FunctionalInterface
+    public interface IMigrationRunner {
+        /**
+         * @param code Migration code.
+         * @param progress Progress to be updated by migration.
+         * @param migration Migration procedure.
+         * @return Printable result of migration.
+         */
+        public String run(String code, MigrationProgress progress, Consumer<MigrationProgress> migration);
+    }
+
     interface Old {
         String TEST_FULL = "testFull";
         String BUILD_PROBLEMS = "buildProblems";
@@ -66,6 +104,9 @@ public class DbMigrations {
         String TEST_REFS = "testRefs";
         String ISSUES_USAGES_LIST = "issuesUsagesList";
 
+        /** Issues cache without detection timestamp index. */
+        String BOT_DETECTED_ISSUES = "botDetectedIssues";
+
         /** Cache name. */
         String TEST_HIST_CACHE_NAME = "testRunHistV0";
         String TEST_HIST_CACHE_NAME2 = "teamcityTestRunHistV0";
@@ -104,6 +145,11 @@ public class DbMigrations {
 
         public static final String TEST_HIST_CACHE_NAME_V2_0 = "teamcityTestRunHist";
         public static final String SUITE_HIST_CACHE_NAME_V2_0 = "teamcitySuiteRunHist";
+
+        /** Caches created in default data region. */
+        String TEAMCITY_FAT_BUILD_CACHE_NAME = "teamcityFatBuild";
+        String BUILD_LOG_CHECK_RESULT = "buildLogCheckResult";
+        String SUITE_HISTORY_CACHE = "teamcitySuiteHistory";
     }
 
     private final Ignite ignite;
@@ -113,15 +159,87 @@ public class DbMigrations {
 
     private IgniteCache<String, Object> doneMigrations;
 
-    public DbMigrations(Ignite ignite ) {
+    /** Runner of data copying migrations. */
+    private final IMigrationRunner runner;
+
+    /** Codes of migrations already scheduled in this run. */
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    /** Futures of scheduled migrations. */
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    /** Executor of independent migrations. */
+    private ExecutorService executor;
+
+    public DbMigrations(Ignite ignite) {
+        this(ignite, (code, progress, migration) -> {
+            migration.accept(progress);
+
+            return progress.progress();
+        });
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param runner Runner of data copying migrations.
+     */
+    public DbMigrations(Ignite ignite, IMigrationRunner runner) {
         this.ignite = ignite;
+        this.runner = runner;
     }
 
+    /**
+     * Applies migrations not done yet. Independent migrations are executed in parallel.
+     *
+     * @return Printable result.
+     */
     public String dataMigration() {
         doneMigrations = doneMigrationsCache();
 
         int sizeBefore = doneMigrations.size();
 
+        ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+        executor = Executors.newFixedThreadPool(MIGRATION_THREADS, r -> {
+            Thread thread = threadFactory.newThread(r);
+
+            thread.setName("db-migration-" + thread.getName());
+
+            return thread;
+        });
+
+        try {
+            scheduleMigrations();
+
+            RuntimeException err = null;
+
+            for (Future<?> fut : futures) {
+                try {
+                    FutureUtil.getResult(fut);
+                }
+                catch (RuntimeException e) {
+                    if (err == null)
+                        err = e;
+                    else
+                        err.addSuppressed(e);
+                }
+            }
+
+            if (err != null)
+                throw err;
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        int sizeAfter = doneMigrations.size();
+        return (sizeAfter - sizeBefore) + " Migrations done from " + sizeAfter;
+    }
+
+    /**
+     * Schedules all migrations.
+     */
+    private void scheduleMigrations() {
         applyDestroyCacheMigration(Old.COMPACT_VISAS_HISTORY_CACHE_NAME);
 
         applyMigration("InitialFillLatestRunsV3", () -> {
@@ -131,34 +249,21 @@ public class DbMigrations {
 
 
         Cache<IssueKey, Issue> issuesCache = IssuesStorage.botDetectedIssuesCache(ignite);
-        applyMigration(Old.ISSUES + "-to-" + issuesCache.getName() + "V2", () -> {
-            String cacheName = Old.ISSUES;
-            IgniteCache<IssueKey, Issue> issuesOldCache = ignite.getOrCreateCache(cacheName);
-
-            int size = issuesOldCache.size();
-            if (size > 0) {
-                int i = 0;
 
-                Map<IssueKey, Issue> batch = new HashMap<>();
+        // Issues are copied to new cache in several steps, old cache is removed only after the data is copied.
+        Map<String, Runnable> issuesMigrations = new LinkedHashMap<>();
 
-                IgniteDataStreamer<IssueKey, Issue> streamer = ignite.dataStreamer(issuesCache.getName());
-                for (Cache.Entry<IssueKey, Issue> entry : issuesOldCache) {
-                    batch.put(entry.getKey(), entry.getValue());
+        issuesMigrations.put(Old.ISSUES + "-to-" + Old.BOT_DETECTED_ISSUES + "V2",
+            () -> applyCopyMigration(Old.ISSUES + "-to-" + Old.BOT_DETECTED_ISSUES + "V2",
+                Old.ISSUES, issuesCache.getName()));
 
-                    i++;
+        issuesMigrations.put(Old.BOT_DETECTED_ISSUES + "-to-" + issuesCache.getName(),
+            () -> applyCopyMigration(Old.BOT_DETECTED_ISSUES + "-to-" + issuesCache.getName(),
+                Old.BOT_DETECTED_ISSUES, issuesCache.getName()));
 
-                    if (batch.size() >= 300)
-                        saveOneBatch(cacheName, size, i, batch, streamer);
-                }
-
-                if (!batch.isEmpty())
-                    saveOneBatch(cacheName, size, i, batch, streamer);
-
-                System.err.println("Removing data from old cache " + issuesOldCache.getName());
+        issuesMigrations.put("destroy-" + Old.ISSUES, destroyCache(Old.ISSUES));
 
-                issuesOldCache.destroy();
-            }
-        });
+        applyMigrationsInOrder(issuesMigrations);
 
         applyDestroyCacheMigration(BUILD_CONDITIONS_CACHE_NAME, BUILD_CONDITIONS_CACHE_NAME);
         applyDestroyCacheMigration(Old.TEAMCITY_BUILD_CACHE_NAME_OLD, Old.TEAMCITY_BUILD_CACHE_NAME_OLD);
@@ -232,9 +337,10 @@ public class DbMigrations {
         applyDestroyCacheMigration(Old.TEST_HIST_CACHE_NAME_V2_0);
         applyDestroyCacheMigration(Old.SUITE_HIST_CACHE_NAME_V2_0);
 
-        int sizeAfter = doneMigrations.size();
-        return (sizeAfter - sizeBefore) + " Migrations done from " + sizeAfter;
-
+        // Region of existing cache can't be changed, so data is copied to new caches in dedicated data regions.
+        applyCopyMigration(Old.TEAMCITY_FAT_BUILD_CACHE_NAME, FatBuildDao.fatBuildsCache(ignite));
+        applyCopyMigration(Old.BUILD_LOG_CHECK_RESULT, BuildLogCheckResultDao.logCheckResultsCache(ignite));
+        applyCopyMigration(Old.SUITE_HISTORY_CACHE, SuiteInvocationHistoryDao.suiteHistoryCache(ignite));
     }
 
     private void applyDestroyIgnCacheMigration(String cacheName, String srvId) {
@@ -247,7 +353,15 @@ public class DbMigrations {
     }
 
     private void applyDestroyCacheMigration(String dispCacheName, String cacheNme) {
-        applyMigration("destroy-" + cacheNme, () -> {
+        applyMigration("destroy-" + cacheNme, destroyCache(cacheNme));
+    }
+
+    /**
+     * @param cacheNme Cache name.
+     * @return Procedure destroying cache if it exists.
+     */
+    private Runnable destroyCache(String cacheNme) {
+        return () -> {
             IgniteCache<Object, Object> cache = ignite.cache(cacheNme);
 
             if (cache == null) {
@@ -257,28 +371,79 @@ public class DbMigrations {
             }
 
             cache.destroy();
-        });
+        };
     }
 
     /**
-     * @param cacheNme Cache name.
-     * @param size overall size of cache.
-     * @param i Processed count.
-     * @param batch Batch.
-     * @param streamer
+     * Schedules migration copying data from old cache to new one and destroying old cache.
+     *
+     * @param srcCacheNme Source cache name.
+     * @param dst Destination cache.
+     */
+    private void applyCopyMigration(String srcCacheNme, IgniteCache<?, ?> dst) {
+        String code = srcCacheNme + "-to-" + dst.getName();
+
+        applyMigration(code, () -> applyCopyMigration(code, srcCacheNme, dst.getName()));
+    }
+
+    /**
+     * Copies data from old cache to new one and destroys old cache. Called from migration procedure.
+     *
+     * @param code Migration code.
+     * @param srcCacheNme Source cache name.
+     * @param dstCacheNme Destination cache name.
      */
-    private <K, V> void saveOneBatch(String cacheNme, int size,
-        int i,
-        Map<K, V> batch, IgniteDataStreamer<K, V> streamer) {
-        K key = batch.keySet().iterator().next();
-        String msg = "Migrating " + cacheNme + " " + batch.size() + " entries." +
-            " Processed " + i + " from " + size + ": One entry key " + key;
+    private void applyCopyMigration(String code, String srcCacheNme, String dstCacheNme) {
+        IgniteCache<Object, Object> src = ignite.cache(srcCacheNme);
+
+        if (src == null)
+            return;
+
+        String res = runner.run(code, new MigrationProgress(), progress -> copyCacheData(src, dstCacheNme, progress));
+
+        String msg = "Migrated " + srcCacheNme + " to " + dstCacheNme + ": " + res;
         System.out.println(msg);
         logger.info(msg);
 
-        streamer.addData(batch);
+        System.err.println("Removing data from old cache " + srcCacheNme);
+
+        src.destroy();
+    }
+
+    /**
+     * Copies entries in binary form using scan query over each partition of source cache.
+     *
+     * @param src Source cache.
+     * @param dstCacheNme Destination cache name.
+     * @param progress Progress.
+     */
+    private void copyCacheData(IgniteCache<Object, Object> src, String dstCacheNme, MigrationProgress progress) {
+        IgniteCache<BinaryObject, BinaryObject> binSrc = src.withKeepBinary();
+
+        progress.total(binSrc.sizeLong());
 
-        batch.clear();
+        int parts = ignite.affinity(src.getName()).partitions();
+
+        try (IgniteDataStreamer<BinaryObject, BinaryObject> streamer = ignite.dataStreamer(dstCacheNme)) {
+            streamer.keepBinary(true);
+            streamer.perNodeBufferSize(STREAMER_PER_NODE_BUFFER_SIZE);
+            // Entries already saved to new cache are more recent than migrated ones.
+            streamer.allowOverwrite(false);
+
+            for (int part = 0; part < parts; part++) {
+                ScanQuery<BinaryObject, BinaryObject> qry = new ScanQuery<BinaryObject, BinaryObject>().setPartition(part);
+
+                qry.setPageSize(SCAN_PAGE_SIZE);
+
+                try (QueryCursor<Cache.Entry<BinaryObject, BinaryObject>> cursor = binSrc.query(qry)) {
+                    for (Cache.Entry<BinaryObject, BinaryObject> entry : cursor) {
+                        streamer.addData(entry.getKey(), entry.getValue());
+
+                        progress.onProcessed(1);
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -308,26 +473,54 @@ public class DbMigrations {
         return ignite.getOrCreateCache(ccfg);
     }
 
+    /**
+     * Schedules migration to be executed in parallel with other migrations.
+     *
+     * @param code Migration code.
+     * @param runnable Migration procedure.
+     */
     private void applyMigration(String code, Runnable runnable) {
-        if (doneMigrations.containsKey(code))
-            return;
+        Map<String, Runnable> migration = new LinkedHashMap<>();
 
-        synchronized (DbMigrations.class) {
-            if (doneMigrations.containsKey(code))
-                return;
+        migration.put(code, runnable);
 
-            String msg = "Running migration procedure [" + code + "]";
-            System.err.println(msg);
-            logger.warn(msg);
+        applyMigrationsInOrder(migration);
+    }
 
-            runnable.run();
+    /**
+     * Schedules dependent migrations to be executed one by one, in parallel with other migrations.
+     *
+     * @param migrations Migration code to procedure, in order of execution.
+     */
+    private void applyMigrationsInOrder(Map<String, Runnable> migrations) {
+        Map<String, Runnable> toRun = new LinkedHashMap<>();
 
-            doneMigrations.put(code, true);
+        migrations.forEach((code, runnable) -> {
+            // Migrations with same code are executed once.
+            if (!doneMigrations.containsKey(code) && scheduled.add(code))
+                toRun.put(code, runnable);
+        });
 
-            String msgComp = "Completed migration procedure [" + code + "]";
-            System.err.println(msgComp);
-            logger.warn(msgComp);
-        }
+        if (!toRun.isEmpty())
+            futures.add(executor.submit(() -> toRun.forEach(this::runMigration)));
+    }
+
+    /**
+     * @param code Migration code.
+     * @param runnable Migration procedure.
+     */
+    private void runMigration(String code, Runnable runnable) {
+        String msg = "Running migration procedure [" + code + "]";
+        System.err.println(msg);
+        logger.warn(msg);
+
+        runnable.run();
+
+        doneMigrations.put(code, true);
+
+        String msgComp = "Completed migration procedure [" + code + "]";
+        System.err.println(msgComp);
+        logger.warn(msgComp);
     }
 
     @NotNull public static String ignCacheNme(String cache, String srvId) {
@@ -23,22 +23,30 @@ import java.util.Objects;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
 import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.common.interceptor.MonitoredTask;
+import org.apache.ignite.tcbot.engine.conf.ITcBotConfig;
 import org.apache.ignite.ci.web.model.Version;
 import org.apache.ignite.cluster.BaselineNode;
-import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.logger.slf4j.Slf4jLogger;
 import org.jetbrains.annotations.NotNull;
 
 public class Ignite1Init {
-    private static boolean clientMode;
+    /** Start Ignite client node connecting to separately started server node instead of embedded server. */
+    private static boolean clientMode = Boolean.getBoolean(TcBotSystemProperties.TEAMCITY_BOT_IGNITE_CLIENT);
+
+    /** Bot config, null if instance is not created by injector. */
+    @Inject @Nullable private ITcBotConfig botCfg;
 
     /**
      * Reference to Ignite init future.
@@ -72,14 +80,30 @@ public class Ignite1Init {
     @MonitoredTask(name = "Data Migrations")
     @AutoProfiling
     public String dataMigrations() {
-        return new DbMigrations(ignite).dataMigration();
+        return new DbMigrations(ignite, this::dataMigration).dataMigration();
+    }
+
+    /**
+     * Runs data copying migration, progress (rate and ETA) is shown on monitoring page.
+     *
+     * @param code Migration code.
+     * @param progress Migration progress.
+     * @param migration Migration procedure.
+     */
+    @SuppressWarnings("WeakerAccess")
+    @MonitoredTask(name = "Data Migration", nameExtArgIndex = 0)
+    @AutoProfiling
+    public String dataMigration(String code, MigrationProgress progress, Consumer<MigrationProgress> migration) {
+        migration.accept(progress);
+
+        return "Done, " + progress.progress();
     }
 
     @SuppressWarnings({"WeakerAccess", "UnusedReturnValue"})
     @MonitoredTask(name = "Ignition Start")
     @AutoProfiling
     protected String ignitionStart() {
-        System.out.println("Starting Ignite Server Node, " + Version.VERSION);
+        System.out.println("Starting Ignite " + (clientMode ? "Client" : "Server") + " Node, " + Version.VERSION);
 
         final IgniteConfiguration cfg = getIgniteConfiguration();
 
@@ -92,7 +116,7 @@ public class Ignite1Init {
     @MonitoredTask(name = "Ignite Activate")
     @AutoProfiling
     protected String activate() {
-        System.out.println("Activating Ignite Server Node, " + Version.VERSION);
+        System.out.println("Activating Ignite Cluster, " + Version.VERSION);
 
         ignite.cluster().active(true);
 
@@ -117,12 +141,19 @@ public class Ignite1Init {
         Ignite2Configurer.setIgniteHome(cfg, workDir);
 
         TcHelperDb.setupDisco(cfg);
-        cfg.setConsistentId("TcHelper");
         cfg.setGridLogger(new Slf4jLogger());
 
-        final DataRegionConfiguration regConf = Ignite2Configurer.getDataRegionConfiguration();
+        if (clientMode) {
+            // Data is stored by server node, see TcBotIgniteServerLauncher.
+            cfg.setClientMode(true);
+
+            return cfg;
+        }
+
+        cfg.setConsistentId("TcHelper");
 
-        final DataStorageConfiguration dsCfg = Ignite2Configurer.getDataStorageConfiguration(regConf);
+        final DataStorageConfiguration dsCfg
+            = Ignite2Configurer.getDataStorageConfiguration(Ignite2Configurer.dataStorageConfig(botCfg));
 
         dsCfg.setPageSize(4 * 1024);
 
@@ -132,9 +163,6 @@ public class Ignite1Init {
 
     @AutoProfiling
     protected Ignite init() {
-        if (clientMode)
-            Ignition.setClientMode(true);
-
         return startIgnite();
     }
 
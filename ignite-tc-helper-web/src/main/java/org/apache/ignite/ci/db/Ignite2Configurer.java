@@ -27,14 +27,28 @@ import java.io.IOException;
 
 import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
 import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.WALMode;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
 import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
+import org.apache.ignite.tcbot.engine.conf.DataStorageConfig;
+import org.apache.ignite.tcbot.engine.conf.ITcBotConfig;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.LoggerFactory;
 
 public class Ignite2Configurer {
+    /** Megabyte. */
+    private static final long MB = 1024L * 1024;
+
+    /** Gigabyte. */
+    private static final long GB = 1024L * MB;
+
+    /** Default max size of region for rebuildable caches, gigabytes. */
+    private static final int DFLT_REBUILDABLE_REGION_SIZE_GB = 1;
+
     public static void configLogger(File workDir, String subdir) {
         LoggerContext logCtx = (LoggerContext)LoggerFactory.getILoggerFactory();
 
@@ -89,22 +103,42 @@ public class Ignite2Configurer {
         }
     }
 
+    /**
+     * @param cfg Bot config, or null if it is not available.
+     * @return Data storage settings from bot config, or defaults if config can't be loaded.
+     */
     @NotNull
-    public static DataRegionConfiguration getDataRegionConfiguration() {
+    public static DataStorageConfig dataStorageConfig(@Nullable ITcBotConfig cfg) {
+        if (cfg == null)
+            return new DataStorageConfig();
+
+        try {
+            return cfg.dataStorage();
+        }
+        catch (Exception e) {
+            LoggerFactory.getLogger(Ignite2Configurer.class).error("Unable to load data storage settings, " +
+                "defaults will be used", e);
+
+            return new DataStorageConfig();
+        }
+    }
+
+    /**
+     * @param cfg Data storage settings.
+     */
+    @NotNull
+    public static DataRegionConfiguration getDataRegionConfiguration(DataStorageConfig cfg) {
         final DataRegionConfiguration regConf = new DataRegionConfiguration()
-            .setPersistenceEnabled(true);
+            .setPersistenceEnabled(true)
+            .setMetricsEnabled(true);
+
+        Integer szGb = cfg.regionMaxSizeGb();
 
         String regSzGb = System.getProperty(TcBotSystemProperties.TEAMCITY_BOT_REGIONSIZE);
 
-        if (regSzGb != null) {
+        if (szGb == null && regSzGb != null) {
             try {
-                int szGb = Integer.parseInt(regSzGb);
-
-                String msg = "Using custom size of region: " + szGb + "Gb";
-                LoggerFactory.getLogger(Ignite2Configurer.class).info(msg);
-                System.out.println(msg);
-
-                regConf.setMaxSize(szGb * 1024L * 1024 * 1024);
+                szGb = Integer.parseInt(regSzGb);
             }
             catch (NumberFormatException e) {
                 e.printStackTrace();
@@ -112,22 +146,88 @@ public class Ignite2Configurer {
                 LoggerFactory.getLogger(Ignite2Configurer.class).error("Unable to setup region", e);
             }
         }
+
+        if (szGb != null) {
+            String msg = "Using custom size of region: " + szGb + "Gb";
+            LoggerFactory.getLogger(Ignite2Configurer.class).info(msg);
+            System.out.println(msg);
+
+            regConf.setMaxSize(szGb * GB);
+        }
         else {
             String msg = "Using default size of region.";
             LoggerFactory.getLogger(Ignite2Configurer.class).info(msg);
             System.out.println(msg);
         }
+
+        if (cfg.checkpointPageBufferSizeMb() != null)
+            regConf.setCheckpointPageBufferSize(cfg.checkpointPageBufferSizeMb() * MB);
+
         return regConf;
     }
 
-    static DataStorageConfiguration getDataStorageConfiguration(DataRegionConfiguration regConf) {
-        return new DataStorageConfiguration()
+    /**
+     * @param cfg Data storage settings.
+     */
+    @NotNull
+    public static DataStorageConfiguration getDataStorageConfiguration(DataStorageConfig cfg) {
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
             // .setWalCompactionEnabled(true)
             .setWalMode(WALMode.LOG_ONLY)
             .setWalHistorySize(1)
             // .setMaxWalArchiveSize(4L * 1024 * 1024 * 1024)
             .setCheckpointFrequency(5 * 60 * 1000)
             .setWriteThrottlingEnabled(true)
-            .setDefaultDataRegionConfiguration(regConf);
+            .setMetricsEnabled(true)
+            .setDefaultDataRegionConfiguration(getDataRegionConfiguration(cfg))
+            .setDataRegionConfigurations(getBulkRegionConfiguration(cfg), getRebuildableRegionConfiguration(cfg));
+
+        if (cfg.walSegmentSizeMb() != null)
+            dsCfg.setWalSegmentSize((int)(cfg.walSegmentSizeMb() * MB));
+
+        if (cfg.walSegments() != null)
+            dsCfg.setWalSegments(cfg.walSegments());
+
+        return dsCfg;
+    }
+
+    /**
+     * @param cfg Data storage settings.
+     * @return Persistent region for bulk caches, see {@link CacheConfigs#BULK_REGION}.
+     */
+    @NotNull
+    public static DataRegionConfiguration getBulkRegionConfiguration(DataStorageConfig cfg) {
+        DataRegionConfiguration regConf = new DataRegionConfiguration()
+            .setName(CacheConfigs.BULK_REGION)
+            .setPersistenceEnabled(true)
+            .setMetricsEnabled(true);
+
+        if (cfg.bulkRegionMaxSizeGb() != null)
+            regConf.setMaxSize(cfg.bulkRegionMaxSizeGb() * GB);
+
+        return regConf;
+    }
+
+    /**
+     * @param cfg Data storage settings.
+     * @return Region for rebuildable caches, see {@link CacheConfigs#REBUILDABLE_REGION}. Region is persistent, unless
+     * persistence is disabled in settings: then it is in-memory with page eviction, and run history is rebuilt from fat
+     * builds after each restart.
+     */
+    @NotNull
+    public static DataRegionConfiguration getRebuildableRegionConfiguration(DataStorageConfig cfg) {
+        Integer szGb = cfg.rebuildableRegionMaxSizeGb();
+
+        DataRegionConfiguration regConf = new DataRegionConfiguration()
+            .setName(CacheConfigs.REBUILDABLE_REGION)
+            .setMaxSize((szGb != null ? szGb : DFLT_REBUILDABLE_REGION_SIZE_GB) * GB)
+            .setMetricsEnabled(true);
+
+        if (cfg.rebuildableRegionPersistent())
+            regConf.setPersistenceEnabled(true);
+        else
+            regConf.setPageEvictionMode(DataPageEvictionMode.RANDOM_2_LRU);
+
+        return regConf;
     }
 }
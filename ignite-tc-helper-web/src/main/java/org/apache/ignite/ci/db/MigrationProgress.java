@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.tcbot.common.interceptor.IMonitoredTaskProgress;
+import org.apache.ignite.tcbot.common.util.TimeUtil;
+
+/**
+ * Progress of data migration: count of entries processed, rate and estimated time to complete.
+ */
+public class MigrationProgress implements IMonitoredTaskProgress {
+    /** Start timestamp. */
+    private final long startTs = System.currentTimeMillis();
+
+    /** Entries to be processed. */
+    private volatile long total;
+
+    /** Entries processed. */
+    private final AtomicLong processed = new AtomicLong();
+
+    /**
+     * @param total Entries to be processed.
+     */
+    public void total(long total) {
+        this.total = total;
+    }
+
+    /**
+     * @param cnt Count of entries processed.
+     */
+    public void onProcessed(long cnt) {
+        processed.addAndGet(cnt);
+    }
+
+    /**
+     * @return Count of entries processed.
+     */
+    public long processed() {
+        return processed.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String progress() {
+        long done = processed.get();
+        long passed = Math.max(System.currentTimeMillis() - startTs, 1);
+        long rate = done * 1000 / passed;
+
+        StringBuilder sb = new StringBuilder()
+            .append("processed ").append(done).append(" from ").append(total)
+            .append(", ").append(rate).append(" entries/s");
+
+        if (done > 0 && total > done)
+            sb.append(", ETA ").append(TimeUtil.millisToDurationPrintable((total - done) * passed / done));
+
+        return sb.toString();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return progress();
+    }
+}
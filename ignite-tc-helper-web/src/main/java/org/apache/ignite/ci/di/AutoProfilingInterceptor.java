@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.apache.ignite.tcbot.common.trace.Tracer;
 
 public class AutoProfilingInterceptor implements MethodInterceptor {
     private final ConcurrentMap<String, Invocation> totalTime = new ConcurrentHashMap<>();
@@ -62,20 +63,21 @@ public class AutoProfilingInterceptor implements MethodInterceptor {
         }
     }
 
+    @SuppressWarnings("try")
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         String cls = invocation.getMethod().getDeclaringClass().getSimpleName();
         String mtd = invocation.getMethod().getName();
 
+        String fullKey = cls + "." + mtd;
+
         Stopwatch started = Stopwatch.createStarted();
-        try {
+        try (Tracer.Scope ignored = Tracer.span(fullKey)) {
             return invocation.proceed();
         }
         finally {
             long elapsed = started.elapsed(TimeUnit.NANOSECONDS);
 
-            String fullKey = cls + "." + mtd;
-
             totalTime.computeIfAbsent(fullKey, Invocation::new).addAndGet(elapsed);
         }
     }
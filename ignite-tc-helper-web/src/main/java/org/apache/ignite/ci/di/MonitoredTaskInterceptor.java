@@ -26,8 +26,10 @@ import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.apache.ignite.tcbot.common.interceptor.IMonitoredTaskProgress;
 import org.apache.ignite.tcbot.common.interceptor.MonitoredTask;
 import org.apache.ignite.tcbot.common.util.TimeUtil;
 import org.jetbrains.annotations.NotNull;
@@ -40,6 +42,9 @@ public class MonitoredTaskInterceptor implements MethodInterceptor {
         private final AtomicLong lastEndTs = new AtomicLong();
         private final AtomicReference<Object> lastResult = new AtomicReference<>();
 
+        /** Progress of running task, if provided by task argument. */
+        private final AtomicReference<IMonitoredTaskProgress> progress = new AtomicReference<>();
+
         private final AtomicInteger callsCnt = new AtomicInteger();
         private String name;
 
@@ -47,11 +52,13 @@ public class MonitoredTaskInterceptor implements MethodInterceptor {
             this.name = name;
         }
 
-        void saveStart(long startTs) {
+        void saveStart(long startTs, @Nullable IMonitoredTaskProgress progress) {
             callsCnt.incrementAndGet();
 
             lastStartTs.set(startTs);
 
+            this.progress.set(progress);
+
             lastEndTs.set(0);
         }
 
@@ -90,7 +97,10 @@ public class MonitoredTaskInterceptor implements MethodInterceptor {
             if (lastEndTs.get() == 0) {
                 long time = System.currentTimeMillis() - lastStartTs.get();
 
-                return ("(running for " + TimeUtil.millisToDurationPrintable(time) + ")");
+                IMonitoredTaskProgress progress = this.progress.get();
+
+                return ("(running for " + TimeUtil.millisToDurationPrintable(time)
+                    + (progress != null ? ", " + progress.progress() : "") + ")");
             }
 
             return Objects.toString(lastResult.get());
@@ -105,7 +115,7 @@ public class MonitoredTaskInterceptor implements MethodInterceptor {
 
         final Invocation monitoredInvoke = totalTime.computeIfAbsent(fullKey, Invocation::new);
 
-        monitoredInvoke.saveStart(startTs);
+        monitoredInvoke.saveStart(startTs, progress(invocation));
 
         Object res = null;
         try {
@@ -123,6 +133,24 @@ public class MonitoredTaskInterceptor implements MethodInterceptor {
         }
     }
 
+    /**
+     * @param invocation Invocation.
+     * @return Progress provided by argument of task, or null if task does not report progress.
+     */
+    @Nullable private IMonitoredTaskProgress progress(MethodInvocation invocation) {
+        final Object[] arguments = invocation.getArguments();
+
+        if (arguments == null)
+            return null;
+
+        for (Object arg : arguments) {
+            if (arg instanceof IMonitoredTaskProgress)
+                return (IMonitoredTaskProgress)arg;
+        }
+
+        return null;
+    }
+
     @NotNull
     private String taskName(MethodInvocation invocation) {
         final Method invocationMtd = invocation.getMethod();
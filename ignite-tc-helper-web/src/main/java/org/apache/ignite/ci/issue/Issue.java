@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.TreeSet;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
 import org.apache.ignite.tcbot.persistence.Persisted;
 import org.apache.ignite.tcbot.common.util.TimeUtil;
 
@@ -64,6 +65,7 @@ public class Issue {
     @Nullable public Long buildStartTs;
 
     /** Detected timestamp. */
+    @QuerySqlField(index = true)
     @Nullable public Long detectedTs;
 
     /** Set of build tags detected. */
@@ -17,7 +17,11 @@
 
 package org.apache.ignite.ci.issue;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
@@ -26,14 +30,23 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.SqlQuery;
 import org.apache.ignite.ci.db.TcHelperDb;
 import org.apache.ignite.ci.tcbot.issue.IIssuesStorage;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.transactions.Transaction;
+
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
 
 /**
  *
  */
 public class IssuesStorage implements IIssuesStorage {
-    public static final String BOT_DETECTED_ISSUES = "botDetectedIssues";
+    /** Issues cache name, V2 cache has SQL index by detection timestamp. */
+    public static final String BOT_DETECTED_ISSUES = "botDetectedIssuesV2";
 
     @Inject
     private Provider<Ignite> igniteProvider;
@@ -50,7 +63,11 @@ public class IssuesStorage implements IIssuesStorage {
     }
 
     public static IgniteCache<IssueKey, Issue> botDetectedIssuesCache(Ignite ignite) {
-        return ignite.getOrCreateCache(TcHelperDb.getCacheV2TxConfig(BOT_DETECTED_ISSUES));
+        CacheConfiguration<IssueKey, Issue> ccfg = TcHelperDb.getCacheV2TxConfig(BOT_DETECTED_ISSUES);
+
+        ccfg.setQueryEntities(Collections.singletonList(new QueryEntity(IssueKey.class, Issue.class)));
+
+        return ignite.getOrCreateCache(ccfg);
     }
 
     /** {@inheritDoc} */
@@ -60,6 +77,52 @@ public class IssuesStorage implements IIssuesStorage {
         if (issue == null)
             return false;
 
+        boolean update = markNotified(issue, to, e);
+
+        if (update)
+            cache().put(issueKey, issue);
+
+        return update;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Map<IssueKey, List<String>> getIsNewAndSetNotified(Map<IssueKey, List<String>> addrs) {
+        Map<IssueKey, List<String>> res = new HashMap<>();
+
+        if (addrs.isEmpty())
+            return res;
+
+        IgniteCache<IssueKey, Issue> cache = cache();
+
+        try (Transaction tx = getIgnite().transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+            Map<IssueKey, Issue> issues = cache.getAll(addrs.keySet());
+            Map<IssueKey, Issue> updated = new HashMap<>();
+
+            issues.forEach((key, issue) -> {
+                for (String to : addrs.get(key)) {
+                    if (markNotified(issue, to, null)) {
+                        res.computeIfAbsent(key, k -> new ArrayList<>()).add(to);
+
+                        updated.put(key, issue);
+                    }
+                }
+            });
+
+            cache.putAll(updated);
+
+            tx.commit();
+        }
+
+        return res;
+    }
+
+    /**
+     * @param issue Issue to update.
+     * @param to Address.
+     * @param e Exception. Null means notification was successfull.
+     * @return {@code True} if issue was updated.
+     */
+    private static boolean markNotified(Issue issue, String to, @Nullable Exception e) {
         boolean update;
         if (e == null) {
             if (issue.notificationRetry >= 2 && issue.notificationFailed.containsKey(to))
@@ -84,9 +147,6 @@ public class IssuesStorage implements IIssuesStorage {
             update = true;
         }
 
-        if (update)
-            cache().put(issueKey, issue);
-
         return update;
     }
 
@@ -124,4 +184,12 @@ public class IssuesStorage implements IIssuesStorage {
     @Override public Stream<Issue> allIssues() {
         return StreamSupport.stream(cache().spliterator(), false).map(Cache.Entry::getValue);
     }
+
+    /** {@inheritDoc} */
+    @Override public Stream<Issue> issuesDetectedSince(long sinceTs) {
+        try (QueryCursor<Cache.Entry<IssueKey, Issue>> qryCursor = cache().query(
+            new SqlQuery<IssueKey, Issue>(Issue.class, "detectedTs >= ?").setArgs(sinceTs))) {
+            return qryCursor.getAll().stream().map(Cache.Entry::getValue);
+        }
+    }
 }
@@ -32,6 +32,7 @@ import org.apache.ignite.tcbot.common.exeption.ExceptionUtil;
 import org.apache.ignite.tcbot.common.interceptor.GuavaCached;
 import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
 import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
+import org.apache.ignite.tcbot.engine.conf.DataStorageConfig;
 import org.apache.ignite.tcbot.engine.conf.GitHubConfig;
 import org.apache.ignite.tcbot.engine.conf.ITcBotConfig;
 import org.apache.ignite.tcbot.engine.conf.ITrackedBranchesConfig;
@@ -107,6 +108,13 @@ public class LocalFilesBasedConfig implements ITcBotConfig {
         return NotificationsConfig.backwardConfig();
     }
 
+    /** {@inheritDoc} */
+    @Override public DataStorageConfig dataStorage() {
+        DataStorageConfig cfg = getConfig().dataStorage();
+
+        return cfg != null ? cfg : new DataStorageConfig();
+    }
+
     /** {@inheritDoc} */
     @Override public String primaryServerCode() {
         String srvCode = getConfig().primaryServerCode();
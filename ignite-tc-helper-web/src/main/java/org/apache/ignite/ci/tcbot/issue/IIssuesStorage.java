@@ -17,6 +17,8 @@
 
 package org.apache.ignite.ci.tcbot.issue;
 
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.apache.ignite.ci.issue.Issue;
@@ -35,6 +37,12 @@ public interface IIssuesStorage {
 
     public Stream<Issue> allIssues();
 
+    /**
+     * @param sinceTs Minimal detection timestamp, inclusive.
+     * @return Issues detected since given timestamp, issues without detection timestamp are not returned.
+     */
+    public Stream<Issue> issuesDetectedSince(long sinceTs);
+
     /**
      * Checks and saves address was notified (NotThreadSafe)
      * @param key issue key.
@@ -44,5 +52,13 @@ public interface IIssuesStorage {
      */
     public boolean getIsNewAndSetNotified(IssueKey key, String addr, @Nullable Exception e);
 
+    /**
+     * Checks and saves addresses were successfully notified, all issues are updated in one transaction.
+     *
+     * @param addrs Issue key -> addresses to register as notified.
+     * @return Issue key -> addresses, which were not notified before. Contains only updated issues.
+     */
+    public Map<IssueKey, List<String>> getIsNewAndSetNotified(Map<IssueKey, List<String>> addrs);
+
     public void saveIssueSubscribersStat(IssueKey key, int cntSrvAllowed, int cntSubscribed, int cntTagsFilterPassed);
 }
@@ -22,6 +22,7 @@ import com.google.common.base.Strings;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,7 +39,6 @@ import org.apache.ignite.ci.issue.IssueKey;
 import org.apache.ignite.ci.issue.IssueType;
 import org.apache.ignite.ci.jobs.CheckQueueJob;
 import org.apache.ignite.tcbot.engine.tracked.DisplayMode;
-import org.apache.ignite.tcbot.notify.ISlackSender;
 import org.apache.ignite.ci.tcbot.user.IUserStorage;
 import org.apache.ignite.ci.teamcity.ignited.change.ChangeCompacted;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
@@ -57,7 +57,6 @@ import org.apache.ignite.tcbot.engine.ui.DsChainUi;
 import org.apache.ignite.tcbot.engine.ui.DsSuiteUi;
 import org.apache.ignite.tcbot.engine.ui.DsSummaryUi;
 import org.apache.ignite.tcbot.engine.ui.DsTestFailureUi;
-import org.apache.ignite.tcbot.notify.IEmailSender;
 import org.apache.ignite.tcbot.persistence.IStringCompactor;
 import org.apache.ignite.tcignited.ITeamcityIgnited;
 import org.apache.ignite.tcignited.ITeamcityIgnitedProvider;
@@ -77,7 +76,7 @@ public class IssueDetector {
     private static final Logger logger = LoggerFactory.getLogger(IssueDetector.class);
 
     /** Slack prefix, using this for email address will switch notifier to slack (if configured). */
-    private static final String SLACK = "slack:";
+    static final String SLACK = "slack:";
 
     @Inject private IIssuesStorage issuesStorage;
     @Inject private IUserStorage userStorage;
@@ -101,11 +100,8 @@ public class IssueDetector {
     /** Config. */
     @Inject private ITcBotConfig cfg;
 
-    /** Email sender. */
-    @Inject private IEmailSender emailSender;
-
-    /** Email sender. */
-    @Inject private ISlackSender slackSender;
+    /** Notifications dispatcher. */
+    @Inject private NotificationDispatcher notificationDispatcher;
 
     /** Send notification guard. */
     private final AtomicBoolean sndNotificationGuard = new AtomicBoolean();
@@ -152,6 +148,8 @@ public class IssueDetector {
 
         channels.addAll(cfg.notifications().channels());
 
+        NotificationRoutes routes = new NotificationRoutes(channels);
+
         Map<String, Notification> toBeSent = new HashMap<>();
 
         AtomicInteger issuesChecked = new AtomicInteger();
@@ -161,7 +159,14 @@ public class IssueDetector {
         AtomicInteger hasSubscriptions = new AtomicInteger();
         AtomicInteger neverSentBefore = new AtomicInteger();
 
-        issuesStorage.allIssues()
+        long maxAgeHours = Math.max(TcBotConst.NOTIFY_MAX_AGE_SINCE_DETECT_HOURS,
+            TcBotConst.NOTIFY_MAX_AGE_SINCE_DETECT_FOR_NOTIFIED_ISSUE_HOURS);
+
+        Map<IssueKey, Issue> freshIssues = new LinkedHashMap<>();
+        Map<IssueKey, List<String>> candidates = new HashMap<>();
+        Map<IssueKey, int[]> subscribersStat = new HashMap<>();
+
+        issuesStorage.issuesDetectedSince(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(maxAgeHours))
             .peek(issue -> issuesChecked.incrementAndGet())
             .filter(issue -> {
                 long detected = issue.detectedTs == null ? 0 : issue.detectedTs;
@@ -201,64 +206,56 @@ public class IssueDetector {
             .forEach(issue -> {
                 List<String> addrs = new ArrayList<>();
 
-                final String srvCode = issue.issueKey().server;
-
-                AtomicInteger ctnSrvAllowed = new AtomicInteger();
-                AtomicInteger cntSubscibed = new AtomicInteger();
-                AtomicInteger cntTagsFilterPassed = new AtomicInteger();
-
-                channels.stream()
-                    .filter(ch -> ch.isServerAllowed(srvCode))
-                    .peek(ch -> ctnSrvAllowed.incrementAndGet())
-                    .filter(ch -> ch.isSubscribedToBranch(issue.trackedBranchName))
-                    .peek(ch -> cntSubscibed.incrementAndGet())
-                    .filter(ch -> {
-                        if (ch.hasTagFilter())
-                            return issue.buildTags().stream().anyMatch(ch::isSubscribedToTag);
-
-                        return true;
-                    })
-                    .peek(ch -> cntTagsFilterPassed.incrementAndGet())
-                    .forEach(channel -> {
-                        String email = channel.email();
-                        String slack = channel.slack();
-                        logger.info("User/channel " + channel + " is candidate for notification " + email
-                            + " , " + slack + " for " + issue);
-
-                        if (!Strings.isNullOrEmpty(email))
-                            addrs.add(email);
-
-                        if (!Strings.isNullOrEmpty(slack))
-                            addrs.add(SLACK + slack);
-                    });
+                NotificationRoutes.Route route = routes.route(issue.issueKey().server, issue.trackedBranchName);
+
+                List<INotificationChannel> recipients = route.recipients(issue.buildTags());
+
+                recipients.forEach(channel -> {
+                    String email = channel.email();
+                    String slack = channel.slack();
+                    logger.info("User/channel " + channel + " is candidate for notification " + email
+                        + " , " + slack + " for " + issue);
+
+                    if (!Strings.isNullOrEmpty(email))
+                        addrs.add(email);
+
+                    if (!Strings.isNullOrEmpty(slack))
+                        addrs.add(SLACK + slack);
+                });
 
                 if(!addrs.isEmpty())
                     hasSubscriptions.incrementAndGet();
 
-                boolean nonNotifedChFound = false;
+                freshIssues.put(issue.issueKey, issue);
+                candidates.put(issue.issueKey, addrs);
+                subscribersStat.put(issue.issueKey,
+                    new int[] {route.srvAllowedCount(), route.subscribedCount(), recipients.size()});
+            });
 
-                for (String nextAddr : addrs) {
-                    if (issuesStorage.getIsNewAndSetNotified(issue.issueKey, nextAddr, null)) {
-                        nonNotifedChFound = true;
+        Map<IssueKey, List<String>> newlyNotified = issuesStorage.getIsNewAndSetNotified(candidates);
 
-                        toBeSent.computeIfAbsent(nextAddr, addr -> {
-                            Notification notification = new Notification();
-                            notification.ts = System.currentTimeMillis();
-                            notification.addr = addr;
-                            return notification;
-                        }).addIssue(issue);
-                    }
-                }
+        freshIssues.forEach((key, issue) -> {
+            List<String> addrs = newlyNotified.get(key);
 
-                if (!nonNotifedChFound) {
-                    issuesStorage.saveIssueSubscribersStat(issue.issueKey,
-                        ctnSrvAllowed.get(),
-                        cntSubscibed.get(),
-                        cntTagsFilterPassed.get());
-                }
-                else
-                    neverSentBefore.incrementAndGet();
-            });
+            if (addrs == null || addrs.isEmpty()) {
+                int[] cnts = subscribersStat.get(key);
+
+                issuesStorage.saveIssueSubscribersStat(key, cnts[0], cnts[1], cnts[2]);
+
+                return;
+            }
+
+            neverSentBefore.incrementAndGet();
+
+            for (String nextAddr : addrs) {
+                toBeSent.computeIfAbsent(nextAddr, addr -> {
+                    Notification notification = new Notification();
+                    notification.ts = System.currentTimeMillis();
+                    notification.addr = addr;
+                    return notification;
+                }).addIssue(issue);
+            }
+        });
 
         String stat = issuesChecked.get() + " issues checked, " +
             filteredFresh.get() + " detected recenty, " +
@@ -272,47 +269,7 @@ public class IssueDetector {
 
         NotificationsConfig notifications = cfg.notifications();
 
-        Map<String, AtomicInteger> sndStat = new HashMap<>();
-
-        for (Notification next : toBeSent.values()) {
-            String addr = next.addr;
-
-            try {
-                if (addr.startsWith(SLACK)) {
-                    String slackUser = addr.substring(SLACK.length());
-
-                    List<String> messages = next.toSlackMarkup();
-
-                    for (String msg : messages) {
-                        slackSender.sendMessage(slackUser, msg, notifications);
-
-                        sndStat.computeIfAbsent(addr, k -> new AtomicInteger()).incrementAndGet();
-                    }
-                }
-                else {
-                    String builds = next.buildIdToIssue.keySet().toString();
-                    String subj = "[MTCGA]: " + next.countIssues() + " new failures in builds " + builds + " needs to be handled";
-
-                    emailSender.sendEmail(addr, subj, next.toHtml(), next.toPlainText(), notifications);
-
-                    sndStat.computeIfAbsent(addr, k -> new AtomicInteger()).incrementAndGet();
-                }
-            }
-            catch (Exception e) {
-                e.printStackTrace();
-                logger.warn("Unable to notify address [" + addr + "] about build failures", e);
-
-                next.allIssues().forEach(issue -> {
-                        IssueKey key = issue.issueKey();
-                        // rollback successfull notification
-                        issuesStorage.getIsNewAndSetNotified(key, addr, e);
-                    });
-
-                stat += " ;" + e.getClass().getSimpleName() + ": " + e.getMessage();
-            }
-        }
-
-        return "Send " + sndStat.toString() + "; Statistics: " + stat;
+        return notificationDispatcher.dispatch(toBeSent.values(), notifications) + "; Statistics: " + stat;
     }
 
     /**
@@ -380,7 +337,9 @@ public class IssueDetector {
 
         boolean issueFound = false;
 
-        Integer firstFailedBuildId = runStat.detectTemplate(EventTemplates.newCriticalFailure);
+        Integer[] detected = runStat.detectTemplates(EventTemplates.newCriticalFailure, EventTemplates.newFailure);
+
+        Integer firstFailedBuildId = detected[0];
 
         if (firstFailedBuildId != null && Boolean.TRUE.equals(suiteFailure.hasCriticalProblem)) {
             IssueKey issueKey = new IssueKey(srvCode, firstFailedBuildId, suiteId);
@@ -395,7 +354,7 @@ public class IssueDetector {
 
         if (cfg.getTeamcityConfig(srvCode).trustedSuites().contains(suiteId)
             || tcIgnited.config().trustedSuites().contains(suiteId)) {
-            Integer firstTrustedSuiteFailue = runStat.detectTemplate(EventTemplates.newFailure);
+            Integer firstTrustedSuiteFailue = detected[1];
 
             if (firstTrustedSuiteFailue != null) {
                 IssueKey issueKey = new IssueKey(srvCode, firstTrustedSuiteFailue, suiteId);
@@ -458,20 +417,24 @@ public class IssueDetector {
 
         IssueType type = null;
 
-        Integer firstFailedBuildId = runStat.detectTemplate(EventTemplates.newContributedTestFailure);
+        Integer[] detected = runStat.detectTemplates(EventTemplates.newContributedTestFailure,
+            EventTemplates.newFailure,
+            EventTemplates.newFailureForFlakyTest);
+
+        Integer firstFailedBuildId = detected[0];
 
         if (firstFailedBuildId != null)
             type = IssueType.newContributedTestFailure;
 
         if (firstFailedBuildId == null) {
-            firstFailedBuildId = runStat.detectTemplate(EventTemplates.newFailure);
+            firstFailedBuildId = detected[1];
 
             if (firstFailedBuildId != null) {
                 type = IssueType.newFailure;
                 final String flakyComments = runStat.getFlakyComments();
 
                 if (!Strings.isNullOrEmpty(flakyComments)) {
-                    if (runStat.detectTemplate(EventTemplates.newFailureForFlakyTest) == null) {
+                    if (detected[2] == null) {
                         logger.info("Skipping registering new issue for test fail:" +
                             " Test seems to be flaky " + name + ": " + flakyComments);
 
@@ -601,5 +564,7 @@ public class IssueDetector {
         if (executorService != null)
             executorService.shutdownNow();
 
+        notificationDispatcher.stop();
+
     }
 }
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.tcbot.issue;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.mail.MessagingException;
+import org.apache.ignite.ci.issue.IssueKey;
+import org.apache.ignite.tcbot.common.TcBotConst;
+import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
+import org.apache.ignite.tcbot.common.util.FutureUtil;
+import org.apache.ignite.tcbot.engine.conf.NotificationsConfig;
+import org.apache.ignite.tcbot.notify.EmailMessage;
+import org.apache.ignite.tcbot.notify.IEmailSender;
+import org.apache.ignite.tcbot.notify.ISendEmailConfig;
+import org.apache.ignite.tcbot.notify.ISlackBotConfig;
+import org.apache.ignite.tcbot.notify.ISlackSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends notifications using separate thread for each transport, so slow Slack calls do not delay emails. Each
+ * transport is rate limited.
+ */
+public class NotificationDispatcher {
+    /** Logger. */
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    /** Issues storage. */
+    @Inject private IIssuesStorage issuesStorage;
+
+    /** Email sender. */
+    @Inject private IEmailSender emailSender;
+
+    /** Slack sender. */
+    @Inject private ISlackSender slackSender;
+
+    /** Thread factory. */
+    private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+    /** Executor: one thread per transport. */
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = threadFactory.newThread(r);
+
+        thread.setName("notify-" + thread.getName());
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /** Slack messages rate limit. */
+    private final RateLimiter slackLimiter = RateLimiter.create(TcBotConst.NOTIFY_MAX_SLACK_MSGS_PER_SEC);
+
+    /** Emails rate limit. */
+    private final RateLimiter emailLimiter = RateLimiter.create(TcBotConst.NOTIFY_MAX_EMAILS_PER_SEC);
+
+    /**
+     * @param notifications Notifications to be sent.
+     * @param cfg Config.
+     * @return Displayable statistics of sending.
+     */
+    public String dispatch(Collection<Notification> notifications, NotificationsConfig cfg) {
+        List<Notification> slack = new ArrayList<>();
+        List<Notification> emails = new ArrayList<>();
+
+        for (Notification next : notifications) {
+            if (next.addr.startsWith(IssueDetector.SLACK))
+                slack.add(next);
+            else
+                emails.add(next);
+        }
+
+        Map<String, AtomicInteger> sndStat = new ConcurrentHashMap<>();
+        StringBuffer errors = new StringBuffer();
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        if (!slack.isEmpty())
+            futures.add(executor.submit(() -> sendSlackMessages(slack, cfg, sndStat, errors)));
+
+        if (!emails.isEmpty())
+            futures.add(executor.submit(() -> sendEmails(emails, cfg, sndStat, errors)));
+
+        futures.forEach(FutureUtil::getResultSilent);
+
+        return "Send " + new HashMap<>(sndStat) + errors;
+    }
+
+    /**
+     * @param notifications Slack notifications.
+     * @param cfg Slack config.
+     * @param sndStat Sent messages: address to count.
+     * @param errors Errors description.
+     */
+    @AutoProfiling
+    public void sendSlackMessages(List<Notification> notifications, ISlackBotConfig cfg,
+        Map<String, AtomicInteger> sndStat, StringBuffer errors) {
+        for (Notification next : notifications) {
+            String addr = next.addr;
+
+            try {
+                String slackUser = addr.substring(IssueDetector.SLACK.length());
+
+                for (String msg : next.toSlackMarkup()) {
+                    slackLimiter.acquire();
+
+                    slackSender.sendMessage(slackUser, msg, cfg);
+
+                    sndStat.computeIfAbsent(addr, k -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+            catch (Exception e) {
+                onNotificationFailed(next, e, errors);
+            }
+        }
+    }
+
+    /**
+     * @param notifications Email notifications.
+     * @param cfg Email config.
+     * @param sndStat Sent messages: address to count.
+     * @param errors Errors description.
+     */
+    @AutoProfiling
+    public void sendEmails(List<Notification> notifications, ISendEmailConfig cfg,
+        Map<String, AtomicInteger> sndStat, StringBuffer errors) {
+        for (List<Notification> batch : Lists.partition(notifications, TcBotConst.NOTIFY_MAX_EMAILS_IN_BATCH)) {
+            Map<EmailMessage, Notification> emails = new LinkedHashMap<>();
+
+            for (Notification next : batch) {
+                try {
+                    String builds = next.buildIdToIssue.keySet().toString();
+                    String subj = "[MTCGA]: " + next.countIssues() + " new failures in builds " + builds + " needs to be handled";
+
+                    emails.put(new EmailMessage(next.addr, subj, next.toHtml(), next.toPlainText()), next);
+                }
+                catch (Exception e) {
+                    onNotificationFailed(next, e, errors);
+                }
+            }
+
+            if (emails.isEmpty())
+                continue;
+
+            Map<EmailMessage, MessagingException> failed;
+
+            try {
+                failed = emailSender.sendEmails(new ArrayList<>(emails.keySet()), cfg, emailLimiter::acquire);
+            }
+            catch (Exception e) {
+                failed = new HashMap<>();
+
+                for (EmailMessage msg : emails.keySet())
+                    failed.put(msg, new MessagingException(e.getMessage(), e));
+            }
+
+            for (Map.Entry<EmailMessage, Notification> entry : emails.entrySet()) {
+                MessagingException e = failed.get(entry.getKey());
+
+                if (e == null)
+                    sndStat.computeIfAbsent(entry.getValue().addr, k -> new AtomicInteger()).incrementAndGet();
+                else
+                    onNotificationFailed(entry.getValue(), e, errors);
+            }
+        }
+    }
+
+    /**
+     * Rollbacks registration of notification sent. Synchronized because issue storage update is not thread safe.
+     *
+     * @param notification Notification failed to be sent.
+     * @param e Failure.
+     * @param errors Errors description to append failure to.
+     */
+    private synchronized void onNotificationFailed(Notification notification, Exception e, StringBuffer errors) {
+        String addr = notification.addr;
+
+        logger.warn("Unable to notify address [" + addr + "] about build failures", e);
+
+        notification.allIssues().forEach(issue -> {
+            IssueKey key = issue.issueKey();
+            // rollback successfull notification
+            issuesStorage.getIsNewAndSetNotified(key, addr, e);
+        });
+
+        errors.append(" ;").append(e.getClass().getSimpleName()).append(": ").append(e.getMessage());
+    }
+
+    /**
+     * Stops sending threads.
+     */
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
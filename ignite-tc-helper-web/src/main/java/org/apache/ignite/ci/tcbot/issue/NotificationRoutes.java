@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.tcbot.issue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcbot.engine.conf.INotificationChannel;
+
+/**
+ * Routing table for issue notifications, built for one notification run. Channels applicable for server and tracked
+ * branch pair are selected once, so an issue is routed using map lookup and check of tag filtered channels only.
+ */
+class NotificationRoutes {
+    /** Channels in configuration order. */
+    private final List<INotificationChannel> channels;
+
+    /** Routes: Server code -> Tracked branch name -> Route. */
+    private final Map<String, Map<String, Route>> routes = new HashMap<>();
+
+    /**
+     * @param channels Channels.
+     */
+    NotificationRoutes(List<INotificationChannel> channels) {
+        this.channels = channels;
+    }
+
+    /**
+     * @param srvCode Server code.
+     * @param trackedBranch Tracked branch name.
+     * @return Route for issues of the given server and tracked branch.
+     */
+    Route route(String srvCode, @Nullable String trackedBranch) {
+        return routes.computeIfAbsent(srvCode, k -> new HashMap<>())
+            .computeIfAbsent(trackedBranch, k -> new Route(srvCode, trackedBranch));
+    }
+
+    /**
+     * Channels subscribed to server and tracked branch.
+     */
+    class Route {
+        /** Count of channels with server allowed. */
+        private int srvAllowedCnt;
+
+        /** Subscribed channels in configuration order. */
+        private final List<INotificationChannel> subscribed = new ArrayList<>();
+
+        /** Some of subscribed channels have tags filter. */
+        private boolean hasTagFilter;
+
+        /**
+         * @param srvCode Server code.
+         * @param trackedBranch Tracked branch name.
+         */
+        private Route(String srvCode, @Nullable String trackedBranch) {
+            for (INotificationChannel ch : channels) {
+                if (!ch.isServerAllowed(srvCode))
+                    continue;
+
+                srvAllowedCnt++;
+
+                if (!ch.isSubscribedToBranch(trackedBranch))
+                    continue;
+
+                subscribed.add(ch);
+
+                if (ch.hasTagFilter())
+                    hasTagFilter = true;
+            }
+        }
+
+        /**
+         * @return Count of channels having access to the server.
+         */
+        int srvAllowedCount() {
+            return srvAllowedCnt;
+        }
+
+        /**
+         * @return Count of channels subscribed to the tracked branch.
+         */
+        int subscribedCount() {
+            return subscribed.size();
+        }
+
+        /**
+         * @param buildTags Build tags of issue.
+         * @return Channels to be notified in configuration order.
+         */
+        List<INotificationChannel> recipients(Collection<String> buildTags) {
+            if (!hasTagFilter)
+                return subscribed;
+
+            List<INotificationChannel> res = new ArrayList<>(subscribed.size());
+
+            for (INotificationChannel ch : subscribed) {
+                if (!ch.hasTagFilter() || buildTags.stream().anyMatch(ch::isSubscribedToTag))
+                    res.add(ch);
+            }
+
+            return res;
+        }
+    }
+}
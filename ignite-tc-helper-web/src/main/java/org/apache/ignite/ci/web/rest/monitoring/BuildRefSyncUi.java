@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.web.rest.monitoring;
+
+import org.apache.ignite.tcignited.buildref.BuildRefSyncStatistics;
+
+/**
+ * Statistics of build references sync for one server.
+ */
+@SuppressWarnings("WeakerAccess")
+public class BuildRefSyncUi {
+    /** Server code. */
+    public String srvCode;
+
+    /** Syncs completed. */
+    public long syncs;
+
+    /** Average pages requested per sync. */
+    public double pagesPerSync;
+
+    /** Pages requested by last sync. */
+    public int lastPages;
+
+    /** Builds checked by last sync. */
+    public int lastChecked;
+
+    /** Part of changed builds among builds checked by last sync, percent. */
+    public double lastChangedPercent;
+
+    /** Page size to start next incremental sync with. */
+    public int pageSize;
+
+    /**
+     * @param srvCode Server code.
+     * @param stat Statistics.
+     */
+    public BuildRefSyncUi(String srvCode, BuildRefSyncStatistics stat) {
+        this.srvCode = srvCode;
+        syncs = stat.syncs();
+        pagesPerSync = stat.pagesPerSync();
+        lastPages = stat.lastPages();
+        lastChecked = stat.lastChecked();
+        lastChangedPercent = stat.lastChangedRatio() * 100;
+        pageSize = stat.pageSize();
+    }
+}
@@ -23,9 +23,13 @@ public class CacheMetricsUi {
     public Integer size;
     public Integer parts;
 
-    public CacheMetricsUi(String name, int size, int parts) {
+    /** Data region name, null for default region. */
+    public String region;
+
+    public CacheMetricsUi(String name, int size, int parts, String region) {
         this.name = name;
         this.size = size;
         this.parts = parts;
+        this.region = region;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.web.rest.monitoring;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+
+/**
+ * Collects data regions metrics of node. Broadcasted to server nodes, because Web node may be started as client.
+ */
+class DataRegionMetricsJob implements IgniteCallable<List<DataRegionMetricsUi>> {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Local Ignite instance. */
+    @IgniteInstanceResource
+    private transient Ignite ignite;
+
+    /** {@inheritDoc} */
+    @Override public List<DataRegionMetricsUi> call() {
+        String node = String.valueOf(ignite.cluster().localNode().consistentId());
+
+        return ignite.dataRegionMetrics().stream()
+            .map(metrics -> new DataRegionMetricsUi(node, metrics))
+            .collect(Collectors.toList());
+    }
+}
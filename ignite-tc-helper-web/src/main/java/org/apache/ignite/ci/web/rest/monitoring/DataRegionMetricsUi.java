@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.web.rest.monitoring;
+
+import java.io.Serializable;
+import org.apache.ignite.DataRegionMetrics;
+
+/**
+ * Page memory metrics of data region at one server node.
+ */
+@SuppressWarnings("WeakerAccess")
+public class DataRegionMetricsUi implements Serializable {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Node consistent ID. */
+    public String node;
+
+    /** Region name. */
+    public String name;
+
+    /** Size of pages allocated by region, megabytes. */
+    public long allocatedMb;
+
+    /** Size of pages loaded to RAM, megabytes. */
+    public long physicalMemoryMb;
+
+    /** Pages loaded to RAM, percent of allocated: part of data which fits into memory. */
+    public long inMemoryPercent;
+
+    /** Dirty pages count. */
+    public long dirtyPages;
+
+    /** Pages replaced per second. Non zero value means data does not fit into memory and is read from disk. */
+    public float pagesReplaceRate;
+
+    /** Pages read from disk since node start. */
+    public long pagesRead;
+
+    /** Pages written to disk since node start. */
+    public long pagesWritten;
+
+    /** Used checkpoint buffer, megabytes. */
+    public long usedCheckpointBufferMb;
+
+    /** Checkpoint buffer size, megabytes. */
+    public long checkpointBufferMb;
+
+    /** Pages fill factor, percent. */
+    public float pagesFillFactor;
+
+    /**
+     * @param node Node consistent ID.
+     * @param metrics Metrics.
+     */
+    public DataRegionMetricsUi(String node, DataRegionMetrics metrics) {
+        this.node = node;
+        name = metrics.getName();
+        allocatedMb = toMb(metrics.getTotalAllocatedSize());
+        physicalMemoryMb = toMb(metrics.getPhysicalMemorySize());
+        inMemoryPercent = metrics.getTotalAllocatedPages() > 0
+            ? metrics.getPhysicalMemoryPages() * 100 / metrics.getTotalAllocatedPages()
+            : 0;
+        dirtyPages = metrics.getDirtyPages();
+        pagesReplaceRate = metrics.getPagesReplaceRate();
+        pagesRead = metrics.getPagesRead();
+        pagesWritten = metrics.getPagesWritten();
+        usedCheckpointBufferMb = toMb(metrics.getUsedCheckpointBufferSize());
+        checkpointBufferMb = toMb(metrics.getCheckpointBufferSize());
+        pagesFillFactor = metrics.getPagesFillFactor() * 100;
+    }
+
+    /**
+     * @param bytes Bytes.
+     */
+    private static long toMb(long bytes) {
+        return bytes / 1024 / 1024;
+    }
+}
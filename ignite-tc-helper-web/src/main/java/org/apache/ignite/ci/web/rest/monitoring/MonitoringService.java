@@ -24,6 +24,10 @@ import org.apache.ignite.cache.affinity.Affinity;
 import org.apache.ignite.ci.di.AutoProfilingInterceptor;
 import org.apache.ignite.ci.di.MonitoredTaskInterceptor;
 import org.apache.ignite.ci.web.CtxListener;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
+import org.apache.ignite.tcbot.engine.ui.SpanUi;
+import org.apache.ignite.tcignited.buildref.BuildRefSync;
 
 import javax.annotation.security.PermitAll;
 import javax.servlet.ServletContext;
@@ -86,6 +90,18 @@ public class MonitoringService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @return Timing breakdown of last slow requests, most recent first.
+     */
+    @GET
+    @PermitAll
+    @Path("slowTraces")
+    public List<SpanUi> getSlowTraces() {
+        SlowTraces instance = CtxListener.getInjector(ctx).getInstance(SlowTraces.class);
+
+        return instance.traces().stream().map(SpanUi::of).collect(Collectors.toList());
+    }
+
     @POST
     @Path("resetProfiling")
     public SimpleResult resetProfiling() {
@@ -125,8 +141,46 @@ public class MonitoringService {
 
             Affinity<Object> affinity = ignite.affinity(next);
 
-            res.add(new CacheMetricsUi(next, size, affinity.partitions()));
+            @SuppressWarnings("unchecked")
+            CacheConfiguration<?, ?> ccfg = cache.getConfiguration(CacheConfiguration.class);
+
+            String region = ccfg.getDataRegionName();
+
+            res.add(new CacheMetricsUi(next, size, affinity.partitions(), region));
         }
         return res;
     }
+
+    /**
+     * @return Page memory metrics of data regions of all server nodes.
+     */
+    @GET
+    @PermitAll
+    @Path("dataRegions")
+    public List<DataRegionMetricsUi> getDataRegions() {
+        Ignite ignite = CtxListener.getInjector(ctx).getInstance(Ignite.class);
+
+        Collection<List<DataRegionMetricsUi>> nodesMetrics = ignite.compute(ignite.cluster().forServers())
+            .broadcast(new DataRegionMetricsJob());
+
+        return nodesMetrics.stream()
+            .flatMap(Collection::stream)
+            .sorted(Comparator.comparing((DataRegionMetricsUi m) -> m.node).thenComparing(m -> m.name))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Statistics of build references sync: pages per sync and part of changed builds for each server.
+     */
+    @GET
+    @PermitAll
+    @Path("buildRefSync")
+    public List<BuildRefSyncUi> getBuildRefSync() {
+        BuildRefSync sync = CtxListener.getInjector(ctx).getInstance(BuildRefSync.class);
+
+        return sync.statistics().entrySet().stream()
+            .map(e -> new BuildRefSyncUi(e.getKey(), e.getValue()))
+            .sorted(Comparator.comparing(ui -> ui.srvCode))
+            .collect(Collectors.toList());
+    }
 }
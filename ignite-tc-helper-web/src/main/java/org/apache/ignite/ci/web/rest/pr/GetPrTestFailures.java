@@ -34,10 +34,14 @@ import org.apache.ignite.githubignited.IGitHubConnIgnited;
 import org.apache.ignite.githubignited.IGitHubConnIgnitedProvider;
 import org.apache.ignite.tcbot.engine.pr.PrChainsProcessor;
 import org.apache.ignite.githubservice.IGitHubConnection;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
+import org.apache.ignite.tcbot.common.trace.Span;
+import org.apache.ignite.tcbot.common.trace.Tracer;
 import org.apache.ignite.tcignited.SyncMode;
 import org.apache.ignite.ci.user.ITcBotUserCreds;
 import org.apache.ignite.ci.web.CtxListener;
 import org.apache.ignite.tcbot.engine.ui.DsSummaryUi;
+import org.apache.ignite.tcbot.engine.ui.SpanUi;
 import org.apache.ignite.tcbot.engine.ui.UpdateInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -66,7 +70,7 @@ public class GetPrTestFailures {
         @Nullable @QueryParam("baseBranchForTc") String baseBranchForTc,
         @Nullable @QueryParam("checkAllLogs") Boolean checkAllLogs) {
 
-        return new UpdateInfo().copyFrom(getPrFailuresResultsNoSync(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs));
+        return new UpdateInfo().copyFrom(getPrFailuresResultsNoSync(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs, null));
     }
 
     @GET
@@ -78,9 +82,11 @@ public class GetPrTestFailures {
         @Nonnull @QueryParam("action") String act,
         @Nullable @QueryParam("count") Integer cnt,
         @Nullable @QueryParam("baseBranchForTc") String baseBranchForTc,
-        @Nullable @QueryParam("checkAllLogs") Boolean checkAllLogs) {
+        @Nullable @QueryParam("checkAllLogs") Boolean checkAllLogs,
+        @Nullable @QueryParam("trace") Boolean trace) {
 
-        return getPrFailsWithSyncMode(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs, SyncMode.NONE);
+        return getPrFailsWithSyncMode(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs, trace,
+            SyncMode.NONE);
     }
 
     public DsSummaryUi getPrFailsWithSyncMode(
@@ -91,14 +97,27 @@ public class GetPrTestFailures {
         @QueryParam("count") @Nullable Integer cnt,
         @QueryParam("baseBranchForTc") @Nullable String baseBranchForTc,
         @QueryParam("checkAllLogs") @Nullable Boolean checkAllLogs,
+        @QueryParam("trace") @Nullable Boolean trace,
         SyncMode mode) {
         final ITcBotUserCreds creds = ITcBotUserCreds.get(req);
         final Injector injector = CtxListener.getInjector(ctx);
         final PrChainsProcessor prChainsProcessor = injector.getInstance(PrChainsProcessor.class);
 
-        return prChainsProcessor.getTestFailuresSummary(creds, srvId, suiteId, branchForTc, act, cnt, baseBranchForTc,
-            checkAllLogs,
-            mode);
+        DsSummaryUi res;
+        Span span;
+
+        try (Tracer.Scope scope = injector.getInstance(SlowTraces.class)
+            .startTrace("PR " + branchForTc + " " + suiteId + " " + mode)) {
+            res = prChainsProcessor.getTestFailuresSummary(creds, srvId, suiteId, branchForTc, act, cnt,
+                baseBranchForTc, checkAllLogs, mode);
+
+            span = scope.span();
+        }
+
+        if (Boolean.TRUE.equals(trace) && span != null)
+            res.trace = SpanUi.of(span);
+
+        return res;
     }
 
     /**
@@ -108,6 +127,8 @@ public class GetPrTestFailures {
      * @param act Action.
      * @param cnt Count.
      * @param baseBranchForTc Base branch name in TC identification.
+     * @param checkAllLogs Check all logs.
+     * @param trace Include timing breakdown of report calculation.
      */
     @GET
     @Path("results")
@@ -118,9 +139,11 @@ public class GetPrTestFailures {
         @Nonnull @QueryParam("action") String act,
         @Nullable @QueryParam("count") Integer cnt,
         @Nullable @QueryParam("baseBranchForTc") String baseBranchForTc,
-        @Nullable @QueryParam("checkAllLogs") Boolean checkAllLogs) {
+        @Nullable @QueryParam("checkAllLogs") Boolean checkAllLogs,
+        @Nullable @QueryParam("trace") Boolean trace) {
 
-        return getPrFailsWithSyncMode(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs, SyncMode.RELOAD_QUEUED);
+        return getPrFailsWithSyncMode(srvId, suiteId, branchForTc, act, cnt, baseBranchForTc, checkAllLogs, trace,
+            SyncMode.RELOAD_QUEUED);
     }
 
     @POST
@@ -32,12 +32,16 @@ import org.apache.ignite.ci.tcbot.visa.TcBotTriggerAndSignOffService;
 import org.apache.ignite.ci.user.ITcBotUserCreds;
 import org.apache.ignite.ci.web.CtxListener;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
+import org.apache.ignite.tcbot.common.trace.Span;
+import org.apache.ignite.tcbot.common.trace.Tracer;
 import org.apache.ignite.tcbot.engine.chain.SortOption;
 import org.apache.ignite.tcbot.engine.conf.ITcBotConfig;
 import org.apache.ignite.tcbot.engine.tracked.DisplayMode;
 import org.apache.ignite.tcbot.engine.tracked.IDetailedStatusForTrackedBranch;
 import org.apache.ignite.tcbot.engine.tracked.TrackedBranchChainsProcessor;
 import org.apache.ignite.tcbot.engine.ui.DsSummaryUi;
+import org.apache.ignite.tcbot.engine.ui.SpanUi;
 import org.apache.ignite.tcbot.engine.ui.UpdateInfo;
 import org.apache.ignite.tcignited.ITeamcityIgnitedProvider;
 import org.apache.ignite.tcignited.SyncMode;
@@ -71,7 +75,7 @@ public class GetTrackedBranchTestResults {
         @Nullable @QueryParam("sortOption") String sortOption,
         @Nullable @QueryParam("count") Integer mergeCnt) {
         return new UpdateInfo().copyFrom(getTestFailsResultsNoSync(branchOrNull, checkAllLogs, trustedTests, tagSelected,
-            displayMode, sortOption, mergeCnt));
+            displayMode, sortOption, mergeCnt, null));
     }
 
     @GET
@@ -84,7 +88,7 @@ public class GetTrackedBranchTestResults {
         @Nullable @QueryParam("displayMode") String displayMode,
         @Nullable @QueryParam("sortOption") String sortOption,
         @Nullable @QueryParam("count") Integer mergeCnt) {
-        return getTestFailsResultsNoSync(branchOrNull, checkAllLogs, trustedTests, tagSelected, displayMode, sortOption, mergeCnt).toString();
+        return getTestFailsResultsNoSync(branchOrNull, checkAllLogs, trustedTests, tagSelected, displayMode, sortOption, mergeCnt, null).toString();
     }
 
     @GET
@@ -96,8 +100,9 @@ public class GetTrackedBranchTestResults {
         @Nullable @QueryParam("tagSelected") String tagSelected,
         @Nullable @QueryParam("displayMode") String displayMode,
         @Nullable @QueryParam("sortOption") String sortOption,
-        @Nullable @QueryParam("count") Integer mergeCnt) {
-        return latestBuildResults(branch, checkAllLogs, trustedTests, tagSelected, SyncMode.NONE, displayMode, sortOption, mergeCnt);
+        @Nullable @QueryParam("count") Integer mergeCnt,
+        @Nullable @QueryParam("trace") Boolean trace) {
+        return latestBuildResults(branch, checkAllLogs, trustedTests, tagSelected, SyncMode.NONE, displayMode, sortOption, mergeCnt, trace);
     }
 
     @GET
@@ -110,8 +115,9 @@ public class GetTrackedBranchTestResults {
         @Nullable @QueryParam("tagSelected") String tagSelected,
         @Nullable @QueryParam("displayMode") String displayMode,
         @Nullable @QueryParam("sortOption") String sortOption,
-        @Nullable @QueryParam("count") Integer mergeCnt) {
-        return latestBuildResults(branch, checkAllLogs, trustedTests, tagSelected, SyncMode.RELOAD_QUEUED, displayMode, sortOption, mergeCnt);
+        @Nullable @QueryParam("count") Integer mergeCnt,
+        @Nullable @QueryParam("trace") Boolean trace) {
+        return latestBuildResults(branch, checkAllLogs, trustedTests, tagSelected, SyncMode.RELOAD_QUEUED, displayMode, sortOption, mergeCnt, trace);
     }
 
     @NotNull private DsSummaryUi latestBuildResults(
@@ -122,18 +128,32 @@ public class GetTrackedBranchTestResults {
         @Nonnull SyncMode mode,
         @Nullable String displayMode,
         @Nullable String sortOption,
-        @Nullable Integer mergeCnt) {
+        @Nullable Integer mergeCnt,
+        @Nullable Boolean trace) {
         ITcBotUserCreds creds = ITcBotUserCreds.get(req);
 
         Injector injector = CtxListener.getInjector(ctx);
 
         int actualMergeBuilds = (mergeCnt == null || mergeCnt < 1) ? 1 : mergeCnt;
 
-        return injector.getInstance(IDetailedStatusForTrackedBranch.class)
-            .getTrackedBranchTestFailures(branch, checkAllLogs, actualMergeBuilds, creds, mode,
-                Boolean.TRUE.equals(trustedTests), tagSelected,
-                DisplayMode.parseStringValue(displayMode),
-                SortOption.parseStringValue(sortOption));
+        DsSummaryUi res;
+        Span span;
+
+        try (Tracer.Scope scope = injector.getInstance(SlowTraces.class)
+            .startTrace("Tracked " + branch + " " + mode)) {
+            res = injector.getInstance(IDetailedStatusForTrackedBranch.class)
+                .getTrackedBranchTestFailures(branch, checkAllLogs, actualMergeBuilds, creds, mode,
+                    Boolean.TRUE.equals(trustedTests), tagSelected,
+                    DisplayMode.parseStringValue(displayMode),
+                    SortOption.parseStringValue(sortOption));
+
+            span = scope.span();
+        }
+
+        if (Boolean.TRUE.equals(trace) && span != null)
+            res.trace = SpanUi.of(span);
+
+        return res;
     }
 
     @GET
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.db;
+
+import com.google.gson.Gson;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.tcbot.engine.conf.DataStorageConfig;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks placement of caches to data regions and isolation of default region from sync burst.
+ */
+public class DataRegionsTest {
+    /** Test ignite port. */
+    private static final int TEST_IGNITE_PORT = 64126;
+
+    /** Entries written by sync burst. */
+    private static final int BURST_ENTRIES = 2000;
+
+    /** Size of entry written by sync burst, approximate size of fat build. */
+    private static final int ENTRY_SIZE = 8 * 1024;
+
+    /** Work directory. */
+    private File workDir;
+
+    /** Ignite. */
+    private Ignite ignite;
+
+    /** */
+    @Before
+    public void startIgnite() throws IOException {
+        workDir = Files.createTempDirectory("tcbot-regions-test").toFile();
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        TcpDiscoverySpi spi = new TcpDiscoverySpi();
+
+        spi.setLocalPort(TEST_IGNITE_PORT);
+        spi.setLocalPortRange(1);
+        spi.setIpFinder(new TcHelperDb.LocalOnlyTcpDiscoveryIpFinder(TEST_IGNITE_PORT));
+
+        cfg.setDiscoverySpi(spi);
+        cfg.setIgniteInstanceName(DataRegionsTest.class.getSimpleName());
+        cfg.setConsistentId(DataRegionsTest.class.getSimpleName());
+        cfg.setWorkDirectory(workDir.getAbsolutePath());
+        cfg.setDataStorageConfiguration(Ignite2Configurer.getDataStorageConfiguration(new DataStorageConfig()));
+
+        ignite = Ignition.start(cfg);
+
+        ignite.cluster().active(true);
+    }
+
+    /** */
+    @After
+    public void stopIgnite() {
+        if (ignite != null)
+            ignite.close();
+
+        U.delete(workDir);
+    }
+
+    /** */
+    @Test
+    public void testRegionsConfigured() {
+        assertTrue(ignite.configuration().getDataStorageConfiguration().getDefaultDataRegionConfiguration()
+            .isPersistenceEnabled());
+
+        assertTrue(Ignite2Configurer.getBulkRegionConfiguration(new DataStorageConfig()).isPersistenceEnabled());
+        assertTrue(Ignite2Configurer.getRebuildableRegionConfiguration(new DataStorageConfig()).isPersistenceEnabled());
+        assertFalse(Ignite2Configurer.getRebuildableRegionConfiguration(inMemoryRebuildableConfig())
+            .isPersistenceEnabled());
+
+        IgniteCache<Long, byte[]> bulk = ignite.getOrCreateCache(
+            CacheConfigs.<Long, byte[]>getCacheV2Config("bulk", CacheConfigs.BULK_REGION));
+
+        assertEquals(CacheConfigs.BULK_REGION, bulk.getConfiguration(CacheConfiguration.class).getDataRegionName());
+
+        IgniteCache<Long, byte[]> rebuildable = ignite.getOrCreateCache(
+            CacheConfigs.<Long, byte[]>getCacheV2Config("rebuildable", CacheConfigs.REBUILDABLE_REGION));
+
+        assertEquals(CacheConfigs.REBUILDABLE_REGION,
+            rebuildable.getConfiguration(CacheConfiguration.class).getDataRegionName());
+    }
+
+    /**
+     * Sync burst of fat builds to persistent bulk region does not load or dirty pages of default region, which keeps
+     * issues, visas and users. The same burst to a cache in default region dirties and loads default region pages.
+     */
+    @Test(timeout = 300_000)
+    public void testSyncBurstToBulkRegionKeepsDefaultRegionClean() throws IgniteCheckedException {
+        String dfltRegion = ignite.configuration().getDataStorageConfiguration().getDefaultDataRegionConfiguration()
+            .getName();
+
+        IgniteCache<Long, byte[]> bulk = ignite.getOrCreateCache(
+            CacheConfigs.<Long, byte[]>getCacheV2Config("bulk", CacheConfigs.BULK_REGION));
+        IgniteCache<Long, byte[]> dflt = ignite.getOrCreateCache(
+            CacheConfigs.<Long, byte[]>getCacheV2Config("dflt"));
+
+        checkpoint();
+
+        long dfltPagesBefore = ignite.dataRegionMetrics(dfltRegion).getPhysicalMemoryPages();
+
+        syncBurst(bulk);
+
+        long bulkDirtyPages = ignite.dataRegionMetrics(CacheConfigs.BULK_REGION).getDirtyPages();
+        long dfltDirtyPagesAfterBulkBurst = ignite.dataRegionMetrics(dfltRegion).getDirtyPages();
+        long dfltPagesAfterBulkBurst = ignite.dataRegionMetrics(dfltRegion).getPhysicalMemoryPages();
+
+        checkpoint();
+
+        syncBurst(dflt);
+
+        long dfltDirtyPages = ignite.dataRegionMetrics(dfltRegion).getDirtyPages();
+        long dfltPagesAfterDfltBurst = ignite.dataRegionMetrics(dfltRegion).getPhysicalMemoryPages();
+
+        assertTrue(String.valueOf(bulkDirtyPages), bulkDirtyPages > BURST_ENTRIES);
+        assertTrue(String.valueOf(dfltDirtyPagesAfterBulkBurst), dfltDirtyPagesAfterBulkBurst < BURST_ENTRIES / 10);
+        assertTrue(dfltPagesBefore + " -> " + dfltPagesAfterBulkBurst,
+            dfltPagesAfterBulkBurst - dfltPagesBefore < BURST_ENTRIES / 10);
+
+        assertTrue(String.valueOf(dfltDirtyPages), dfltDirtyPages > BURST_ENTRIES);
+        assertTrue(dfltPagesAfterBulkBurst + " -> " + dfltPagesAfterDfltBurst,
+            dfltPagesAfterDfltBurst - dfltPagesAfterBulkBurst > BURST_ENTRIES);
+    }
+
+    /**
+     * @return Settings with in-memory region for rebuildable caches.
+     */
+    private static DataStorageConfig inMemoryRebuildableConfig() {
+        return new Gson().fromJson("{\"rebuildableRegionPersistent\": false}", DataStorageConfig.class);
+    }
+
+    /**
+     * @param cache Cache to write entries to.
+     */
+    private static void syncBurst(IgniteCache<Long, byte[]> cache) {
+        Map<Long, byte[]> batch = new HashMap<>();
+
+        for (long i = 0; i < BURST_ENTRIES; i++) {
+            batch.put(i, new byte[ENTRY_SIZE]);
+
+            if (batch.size() >= 100) {
+                cache.putAll(batch);
+
+                batch.clear();
+            }
+        }
+
+        cache.putAll(batch);
+    }
+
+    /**
+     * Waits for checkpoint of all dirty pages.
+     */
+    private void checkpoint() throws IgniteCheckedException {
+        ((IgniteEx)ignite).context().cache().context().database().waitForCheckpoint("test");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.db;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.issue.Issue;
+import org.apache.ignite.ci.issue.IssueKey;
+import org.apache.ignite.ci.issue.IssueType;
+import org.apache.ignite.ci.issue.IssuesStorage;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
+import org.apache.ignite.tcignited.build.FatBuildDao;
+import org.apache.ignite.tcignited.history.SuiteInvocation;
+import org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks data copying migrations.
+ */
+public class DbMigrationsTest {
+    /** Test ignite port. */
+    private static final int TEST_IGNITE_PORT = 64125;
+
+    /** Ignite. */
+    private Ignite ignite;
+
+    /** */
+    @Before
+    public void startIgnite() {
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        TcpDiscoverySpi spi = new TcpDiscoverySpi();
+
+        spi.setLocalPort(TEST_IGNITE_PORT);
+        spi.setLocalPortRange(1);
+        spi.setIpFinder(new TcHelperDb.LocalOnlyTcpDiscoveryIpFinder(TEST_IGNITE_PORT));
+
+        cfg.setDiscoverySpi(spi);
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration().setDataRegionConfigurations(
+            new DataRegionConfiguration().setName(CacheConfigs.BULK_REGION),
+            new DataRegionConfiguration().setName(CacheConfigs.REBUILDABLE_REGION)));
+        cfg.setIgniteInstanceName(DbMigrationsTest.class.getSimpleName());
+
+        ignite = Ignition.start(cfg);
+    }
+
+    /** */
+    @After
+    public void stopIgnite() {
+        if (ignite != null)
+            ignite.close();
+    }
+
+    /** */
+    @Test
+    public void testIssuesCopiedToNewCache() {
+        IgniteCache<IssueKey, Issue> oldCache = ignite.getOrCreateCache(DbMigrations.Old.BOT_DETECTED_ISSUES);
+
+        for (int i = 0; i < 5000; i++) {
+            IssueKey key = new IssueKey("apache", i, "test" + i);
+
+            oldCache.put(key, new Issue(key, IssueType.newFailure, null));
+        }
+
+        IgniteCache<IssueKey, Issue> newCache = IssuesStorage.botDetectedIssuesCache(ignite);
+
+        IssueKey savedKey = new IssueKey("apache", 1, "test1");
+
+        newCache.put(savedKey, new Issue(savedKey, IssueType.newCriticalFailure, null));
+
+        String res = new DbMigrations(ignite).dataMigration();
+
+        assertFalse(res, res.startsWith("0 "));
+        assertNull(ignite.cache(DbMigrations.Old.BOT_DETECTED_ISSUES));
+        assertEquals(5000, newCache.size());
+
+        // Issue saved by new version of the bot is not overwritten.
+        assertEquals(IssueType.newCriticalFailure.code(), newCache.get(savedKey).type);
+        assertEquals(IssueType.newFailure.code(), newCache.get(new IssueKey("apache", 2, "test2")).type);
+
+        res = new DbMigrations(ignite).dataMigration();
+
+        assertTrue(res, res.startsWith("0 "));
+    }
+
+    /** */
+    @Test
+    public void testCachesMovedToDataRegions() {
+        IgniteCache<Long, FatBuildCompacted> oldBuilds = ignite.getOrCreateCache(
+            DbMigrations.Old.TEAMCITY_FAT_BUILD_CACHE_NAME);
+        IgniteCache<Long, SuiteInvocation> oldHist = ignite.getOrCreateCache(DbMigrations.Old.SUITE_HISTORY_CACHE);
+
+        for (long i = 0; i < 1000; i++) {
+            oldBuilds.put(i, new FatBuildCompacted());
+            oldHist.put(i, new SuiteInvocation());
+        }
+
+        String res = new DbMigrations(ignite).dataMigration();
+
+        assertFalse(res, res.startsWith("0 "));
+        assertNull(ignite.cache(DbMigrations.Old.TEAMCITY_FAT_BUILD_CACHE_NAME));
+        assertNull(ignite.cache(DbMigrations.Old.SUITE_HISTORY_CACHE));
+
+        IgniteCache<Long, FatBuildCompacted> builds = FatBuildDao.fatBuildsCache(ignite);
+        IgniteCache<Long, SuiteInvocation> hist = SuiteInvocationHistoryDao.suiteHistoryCache(ignite);
+
+        assertEquals(1000, builds.size());
+        assertEquals(1000, hist.size());
+        assertEquals(CacheConfigs.BULK_REGION, dataRegion(builds));
+        assertEquals(CacheConfigs.REBUILDABLE_REGION, dataRegion(hist));
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    @SuppressWarnings("unchecked")
+    private static String dataRegion(IgniteCache<?, ?> cache) {
+        return cache.getConfiguration(CacheConfiguration.class).getDataRegionName();
+    }
+}
@@ -21,12 +21,17 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.internal.SingletonScope;
+import com.google.inject.matcher.Matchers;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.apache.ignite.ci.di.AutoProfilingInterceptor;
+import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
 import org.apache.ignite.tcbot.engine.chain.*;
+import org.apache.ignite.tcbot.engine.ui.SpanUi;
 import org.apache.ignite.tcignited.buildlog.IBuildLogProcessor;
 import org.apache.ignite.tcservice.ITeamcity;
 import org.apache.ignite.tcservice.model.hist.BuildRef;
@@ -162,6 +167,60 @@ public class BuildChainProcessorTest {
         assertTrue(suiteMultCtx.failedTests() >= 1);
     }
 
+    /**
+     * Context loaded out of request trace is recorded as new trace with stages of loading.
+     */
+    @Test
+    public void testStagesRecordedInTrace() {
+        Injector tracingInjector = Guice.createInjector(new AbstractModule() {
+            @Override protected void configure() {
+                bind(IStringCompactor.class).to(InMemoryStringCompactor.class).in(new SingletonScope());
+                bind(IBuildLogProcessor.class).toInstance(Mockito.mock(IBuildLogProcessor.class));
+                bind(SlowTraces.class).toInstance(new SlowTraces(0));
+
+                bindInterceptor(Matchers.any(), Matchers.annotatedWith(AutoProfiling.class),
+                    new AutoProfilingInterceptor());
+            }
+        });
+
+        IStringCompactor c = tracingInjector.getInstance(IStringCompactor.class);
+        BuildChainProcessor bcp = tracingInjector.getInstance(BuildChainProcessor.class);
+
+        Map<Integer, FatBuildCompacted> builds = new HashMap<>();
+
+        List<Integer> entry = Lists.newArrayList();
+        addTestBuild(c, builds, entry, 0);
+
+        bcp.loadFullChainContext(TeamcityIgnitedMock.getMutableMapTeamcityIgnited(builds, c),
+            entry,
+            LatestRebuildMode.LATEST, ProcessLogsMode.SUITE_NOT_COMPLETE, false, ITeamcity.DEFAULT, SyncMode.NONE, null);
+
+        List<SpanUi> traces = tracingInjector.getInstance(SlowTraces.class).traces().stream()
+            .map(SpanUi::of)
+            .collect(Collectors.toList());
+
+        assertEquals(1, traces.size());
+
+        SpanUi trace = traces.get(0);
+
+        assertEquals("BuildChainProcessor.loadFullChainContext", trace.name);
+
+        List<String> stages = trace.children.stream().map(s -> s.name).collect(Collectors.toList());
+
+        assertTrue(stages.toString(), stages.contains("BuildChainProcessor.loadAllBuildsInChains"));
+        assertTrue(stages.toString(), stages.contains("BuildChainProcessor.groupByBuildType"));
+        assertTrue(stages.toString(), stages.contains("BuildChainProcessor.replaceWithRecent"));
+        assertTrue(stages.toString(), stages.contains("history"));
+
+        SpanUi loadChanges = trace.children.stream()
+            .filter(s -> s.name.equals("BuildChainProcessor.loadChanges"))
+            .findAny()
+            .orElseThrow(AssertionError::new);
+
+        // Root build and 2 dependencies, stages with the same name are merged.
+        assertEquals(3, loadChanges.count);
+    }
+
     public void addTestBuild(IStringCompactor c, Map<Integer, FatBuildCompacted> builds, List<Integer> entry, int i) {
         FatBuildCompacted root = testFatBuild(c, i, "RunAll");
         entry.add(root.id());
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.tcbot.issue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.mail.MessagingException;
+import org.apache.ignite.ci.issue.Issue;
+import org.apache.ignite.ci.issue.IssueKey;
+import org.apache.ignite.ci.issue.IssueType;
+import org.apache.ignite.tcbot.engine.conf.NotificationsConfig;
+import org.apache.ignite.tcbot.notify.EmailMessage;
+import org.apache.ignite.tcbot.notify.IEmailSender;
+import org.apache.ignite.tcbot.notify.ISlackSender;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks notifications are sent by transports independently.
+ */
+public class NotificationDispatcherTest {
+    /** Issues storage. */
+    private final IIssuesStorage issuesStorage = mock(IIssuesStorage.class);
+
+    /** Email sender. */
+    private final IEmailSender emailSender = mock(IEmailSender.class);
+
+    /** Slack sender. */
+    private final ISlackSender slackSender = mock(ISlackSender.class);
+
+    /** Dispatcher. */
+    private final NotificationDispatcher dispatcher = Guice.createInjector(new AbstractModule() {
+        @Override protected void configure() {
+            bind(IIssuesStorage.class).toInstance(issuesStorage);
+            bind(IEmailSender.class).toInstance(emailSender);
+            bind(ISlackSender.class).toInstance(slackSender);
+        }
+    }).getInstance(NotificationDispatcher.class);
+
+    /** */
+    @After
+    public void stop() {
+        dispatcher.stop();
+    }
+
+    /**
+     * Slack message is not sent until emails are sent, so dispatch would hang if transports were sequential.
+     */
+    @Test(timeout = 60_000)
+    public void testSlowSlackDoesNotDelayEmails() throws Exception {
+        CountDownLatch emailsSent = new CountDownLatch(1);
+
+        when(emailSender.sendEmails(anyList(), any(), any())).thenAnswer(inv -> {
+            emailsSent.countDown();
+
+            return Collections.emptyMap();
+        });
+
+        doAnswer(inv -> {
+            assertTrue(emailsSent.await(30, TimeUnit.SECONDS));
+
+            return null;
+        }).when(slackSender).sendMessage(anyString(), anyString(), any());
+
+        List<Notification> notifications = new ArrayList<>();
+
+        notifications.add(notification(IssueDetector.SLACK + "#ignite-dev", 1));
+        notifications.add(notification("dev@ignite.apache.org", 2));
+
+        String res = dispatcher.dispatch(notifications, new NotificationsConfig());
+
+        assertTrue(res, res.contains("dev@ignite.apache.org=1"));
+        assertTrue(res, res.contains("#ignite-dev=1"));
+        verify(issuesStorage, never()).getIsNewAndSetNotified(any(), anyString(), any());
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testFailedEmailRolledBack() {
+        Notification ok = notification("ok@ignite.apache.org", 1);
+        Notification failed = notification("failed@ignite.apache.org", 2);
+
+        when(emailSender.sendEmails(anyList(), any(), any())).thenAnswer(inv -> {
+            List<EmailMessage> msgs = inv.getArgument(0);
+
+            return msgs.stream()
+                .filter(m -> m.to().equals(failed.addr))
+                .collect(Collectors.toMap(m -> m, m -> new MessagingException("Rejected")));
+        });
+
+        List<Notification> notifications = new ArrayList<>();
+
+        notifications.add(ok);
+        notifications.add(failed);
+
+        String res = dispatcher.dispatch(notifications, new NotificationsConfig());
+
+        assertTrue(res, res.contains("ok@ignite.apache.org=1"));
+        assertTrue(res, res.contains("Rejected"));
+
+        IssueKey failedKey = failed.allIssues().findFirst().get().issueKey();
+        IssueKey okKey = ok.allIssues().findFirst().get().issueKey();
+
+        verify(issuesStorage).getIsNewAndSetNotified(eq(failedKey), eq(failed.addr), any());
+        verify(issuesStorage, never()).getIsNewAndSetNotified(eq(okKey), anyString(), any());
+    }
+
+    /**
+     * @param addr Address.
+     * @param buildId Build ID.
+     */
+    private static Notification notification(String addr, int buildId) {
+        Notification notification = new Notification();
+
+        notification.addr = addr;
+        notification.ts = System.currentTimeMillis();
+        notification.addIssue(new Issue(new IssueKey("apache", buildId, "test" + buildId), IssueType.newFailure, null));
+
+        return notification;
+    }
+}
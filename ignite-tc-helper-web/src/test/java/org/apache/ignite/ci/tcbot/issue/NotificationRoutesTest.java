@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.tcbot.issue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.apache.ignite.ci.issue.Issue;
+import org.apache.ignite.ci.issue.IssueKey;
+import org.apache.ignite.ci.issue.IssueType;
+import org.apache.ignite.tcbot.engine.conf.INotificationChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks routing table selects the same recipients as filtering of all channels for each issue.
+ */
+public class NotificationRoutesTest {
+    /** Servers. */
+    private static final String[] SERVERS = {"apache", "private", "public"};
+
+    /** Tracked branches. */
+    private static final String[] BRANCHES = {"master", "ignite-2.7", "master-nightly", "ignite-2.8", null};
+
+    /** Build tags. */
+    private static final String[] TAGS = {"java8", "java11", "pds", "mvcc", "cache", ""};
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testRecipientsSameAsFilteringAllChannels() {
+        Random rnd = new Random(42);
+
+        List<INotificationChannel> channels = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+            channels.add(new TestChannel("user" + i + "@apache.org", rnd));
+
+        List<Issue> issues = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            IssueKey key = new IssueKey(SERVERS[rnd.nextInt(SERVERS.length)], i, "test" + i);
+            Issue issue = new Issue(key, IssueType.newFailure, null);
+
+            issue.trackedBranchName = BRANCHES[rnd.nextInt(BRANCHES.length)];
+            issue.buildTags = randomSubset(rnd, TAGS, 2);
+
+            issues.add(issue);
+        }
+
+        NotificationRoutes routes = new NotificationRoutes(channels);
+
+        for (Issue issue : issues) {
+            List<INotificationChannel> exp = channels.stream()
+                .filter(ch -> ch.isServerAllowed(issue.issueKey().server))
+                .filter(ch -> ch.isSubscribedToBranch(issue.trackedBranchName))
+                .filter(ch -> !ch.hasTagFilter() || issue.buildTags().stream().anyMatch(ch::isSubscribedToTag))
+                .collect(Collectors.toList());
+
+            NotificationRoutes.Route route = routes.route(issue.issueKey().server, issue.trackedBranchName);
+
+            assertEquals(issue.toString(), exp, route.recipients(issue.buildTags()));
+
+            assertEquals(channels.stream().filter(ch -> ch.isServerAllowed(issue.issueKey().server)).count(),
+                route.srvAllowedCount());
+        }
+    }
+
+    /**
+     * @param rnd Random.
+     * @param vals Values.
+     * @param maxSize Max size of subset.
+     */
+    private static Set<String> randomSubset(Random rnd, String[] vals, int maxSize) {
+        Set<String> res = new HashSet<>();
+
+        int size = rnd.nextInt(maxSize + 1);
+
+        for (int i = 0; i < size; i++)
+            res.add(vals[rnd.nextInt(vals.length)]);
+
+        return res;
+    }
+
+    /**
+     * Channel with random subscriptions.
+     */
+    private static class TestChannel implements INotificationChannel {
+        /** Email. */
+        private final String email;
+
+        /** Allowed servers. */
+        private final Set<String> servers;
+
+        /** Subscribed branches. */
+        private final Set<String> branches;
+
+        /** Tags filter. */
+        private final Set<String> tags;
+
+        /**
+         * @param email Email.
+         * @param rnd Random.
+         */
+        TestChannel(String email, Random rnd) {
+            this.email = email;
+            servers = randomSubset(rnd, SERVERS, 2);
+            branches = randomSubset(rnd, BRANCHES, 3);
+            tags = rnd.nextInt(4) == 0 ? randomSubset(rnd, TAGS, 2) : new HashSet<>();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isSubscribedToBranch(String trackedBranchId) {
+            return branches.contains(trackedBranchId);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isServerAllowed(String srvCode) {
+            return servers.contains(srvCode);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isSubscribedToTag(@Nullable String tag) {
+            return !hasTagFilter() || tag == null || tag.isEmpty() || tags.contains(tag);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String email() {
+            return email;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String slack() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasTagFilter() {
+            return !tags.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.ignited.buildtype;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.apache.ignite.ci.teamcity.ignited.InMemoryStringCompactor;
+import org.apache.ignite.tcbot.persistence.IStringCompactor;
+import org.apache.ignite.tcservice.model.conf.bt.Property;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks lookup of build parameters.
+ */
+public class ParametersCompactedTest {
+    /** Compactor. */
+    private final IStringCompactor compactor = new InMemoryStringCompactor();
+
+    /** */
+    @Test
+    public void testPropertiesFound() {
+        List<Property> props = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++)
+            props.add(new Property("env.PARAM_" + i, "value" + i));
+
+        Collections.shuffle(props, new Random(42));
+
+        props.add(new Property("env.PARAM_7", "duplicate"));
+
+        ParametersCompacted parameters = new ParametersCompacted(compactor, props);
+
+        for (int i = 0; i < 300; i++)
+            assertEquals("value" + i, parameters.getProperty(compactor, "env.PARAM_" + i));
+
+        assertNull(parameters.getProperty(compactor, "env.ABSENT"));
+        assertEquals(-1, parameters.findPropertyStringId(compactor.getStringId("value1")));
+
+        // Parameters are returned in the order received from TC.
+        assertEquals(props, parameters.toParameters(compactor).properties());
+    }
+
+    /** */
+    @Test
+    public void testEmptyParameters() {
+        ParametersCompacted parameters = new ParametersCompacted(compactor, Collections.emptyList());
+
+        assertNull(parameters.getProperty(compactor, "env.PARAM_1"));
+        assertEquals(-1, new ParametersCompacted().findPropertyStringId(1));
+    }
+}
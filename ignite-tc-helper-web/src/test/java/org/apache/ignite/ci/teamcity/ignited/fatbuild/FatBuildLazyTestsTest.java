@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.ignited.fatbuild;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.ci.db.TcHelperDb;
+import org.apache.ignite.ci.teamcity.ignited.InMemoryStringCompactor;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
+import org.apache.ignite.tcbot.persistence.IStringCompactor;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrence;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks tests of fat build are kept encoded with index of failures and measures build load cost for large suite.
+ */
+public class FatBuildLazyTestsTest {
+    /** Test ignite port. */
+    private static final int TEST_IGNITE_PORT = 64127;
+
+    /** Tests in suite. */
+    private static final int TESTS = 5000;
+
+    /** Each N-th test is failed. */
+    private static final int FAILED_EACH = 50;
+
+    /** Each N-th failed test is muted. */
+    private static final int MUTED_EACH = 5;
+
+    /** Tests in page returned by TC. */
+    private static final int PAGE_SIZE = 1000;
+
+    /** Build loads to be measured. */
+    private static final int LOADS = 200;
+
+    /** Compactor. */
+    private final IStringCompactor compactor = new InMemoryStringCompactor();
+
+    /** Ignite. */
+    private Ignite ignite;
+
+    /** */
+    @Before
+    public void startIgnite() {
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        TcpDiscoverySpi spi = new TcpDiscoverySpi();
+
+        spi.setLocalPort(TEST_IGNITE_PORT);
+        spi.setLocalPortRange(1);
+        spi.setIpFinder(new TcHelperDb.LocalOnlyTcpDiscoveryIpFinder(TEST_IGNITE_PORT));
+
+        cfg.setDiscoverySpi(spi);
+        cfg.setIgniteInstanceName(FatBuildLazyTestsTest.class.getSimpleName());
+
+        ignite = Ignition.start(cfg);
+    }
+
+    /** */
+    @After
+    public void stopIgnite() {
+        if (ignite != null)
+            ignite.close();
+    }
+
+    /** */
+    @Test
+    public void testTestsDecoded() {
+        List<TestOccurrenceFull> occurrences = occurrences();
+
+        FatBuildCompacted build = buildWithTests(occurrences);
+
+        List<TestCompacted> expected = occurrences.stream()
+            .map(occurrence -> new TestCompacted(compactor, occurrence))
+            .collect(Collectors.toList());
+
+        assertEquals(TESTS, build.getTestsCount());
+        assertEquals(expected, build.getAllTests().collect(Collectors.toList()));
+        assertEquals(buildWithTests(occurrences), build);
+    }
+
+    /** */
+    @Test(expected = IllegalStateException.class)
+    public void testTestsEncodedOnce() {
+        buildWithTests(occurrences()).addTests(compactor, occurrences());
+    }
+
+    /** */
+    @Test
+    public void testFailedTestsIndex() {
+        List<TestOccurrenceFull> occurrences = occurrences();
+
+        FatBuildCompacted build = buildWithTests(occurrences);
+
+        List<TestCompacted> expFailed = occurrences.stream()
+            .filter(TestOccurrence::isFailedButNotMuted)
+            .map(occurrence -> new TestCompacted(compactor, occurrence))
+            .collect(Collectors.toList());
+
+        long expNotMuted = occurrences.stream().filter(TestOccurrence::isNotMutedOrIgnoredTest).count();
+
+        assertEquals(TESTS / FAILED_EACH - TESTS / FAILED_EACH / MUTED_EACH, expFailed.size());
+        assertEquals(expFailed, build.getFailedNotMutedTests(compactor).collect(Collectors.toList()));
+        assertEquals(expNotMuted, build.totalNotMutedTests());
+    }
+
+    /**
+     * Builds saved with tests list are readable, and loading build only for its status does not decode tests of
+     * builds saved with encoded tests.
+     */
+    @Test
+    public void testBuildLoadCost() {
+        IgniteCache<Long, FatBuildCompacted> cache = ignite.getOrCreateCache(
+            CacheConfigs.getCacheV2Config("fatBuilds"));
+
+        FatBuildCompacted build = buildWithTests(occurrences());
+        List<TestCompacted> tests = build.getAllTests().collect(Collectors.toList());
+
+        BinaryObject legacyBuild = ignite.binary().builder(ignite.binary().<BinaryObject>toBinary(build))
+            .removeField("testsData")
+            .removeField("testsCnt")
+            .removeField("failedNotMutedOffsets")
+            .removeField("notMutedTestsCnt")
+            .setField("tests", new ArrayList<>(tests))
+            .build();
+
+        cache.put(1L, build);
+        cache.<Long, BinaryObject>withKeepBinary().put(2L, legacyBuild);
+
+        assertEquals(tests, cache.get(2L).getAllTests().collect(Collectors.toList()));
+        assertEquals(TESTS, cache.get(2L).getTestsCount());
+        assertEquals(build.getFailedNotMutedTests(compactor).collect(Collectors.toList()),
+            cache.get(2L).getFailedNotMutedTests(compactor).collect(Collectors.toList()));
+        assertEquals(build.totalNotMutedTests(), cache.get(2L).totalNotMutedTests());
+
+        long legacyNs = measureLoads(cache, 2L);
+        long encodedNs = measureLoads(cache, 1L);
+
+        System.out.println("Load of build with " + TESTS + " tests: tests list: " + legacyNs / LOADS / 1000
+            + " us, encoded tests: " + encodedNs / LOADS / 1000 + " us");
+
+        assertTrue(encodedNs < legacyNs);
+    }
+
+    /**
+     * @param cache Cache.
+     * @param key Build key.
+     * @return Total duration of loads, nanoseconds.
+     */
+    private static long measureLoads(IgniteCache<Long, FatBuildCompacted> cache, long key) {
+        for (int i = 0; i < LOADS; i++)
+            assertTrue(cache.get(key).getTestsCount() > 0);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < LOADS; i++)
+            assertTrue(cache.get(key).getTestsCount() > 0);
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Collects tests page by page, as sync does, and encodes them once.
+     *
+     * @param occurrences Tests.
+     */
+    private FatBuildCompacted buildWithTests(List<TestOccurrenceFull> occurrences) {
+        List<TestCompacted> compacted = new ArrayList<>();
+
+        for (int i = 0; i < occurrences.size(); i += PAGE_SIZE) {
+            for (TestOccurrenceFull occurrence : occurrences.subList(i, Math.min(i + PAGE_SIZE, occurrences.size())))
+                compacted.add(new TestCompacted(compactor, occurrence));
+        }
+
+        return new FatBuildCompacted().addCompactedTests(compactor, compacted);
+    }
+
+    /**
+     * @return Tests of suite.
+     */
+    private static List<TestOccurrenceFull> occurrences() {
+        List<TestOccurrenceFull> res = new ArrayList<>();
+
+        for (int i = 0; i < TESTS; i++) {
+            TestOccurrenceFull occurrence = new TestOccurrenceFull();
+
+            occurrence.setId("id:" + i + ",build:(id:1)");
+            occurrence.name = "org.apache.ignite.SomeTestSuite: org.apache.ignite.SomeTest.testCase" + i;
+            occurrence.duration = i;
+
+            if (i % FAILED_EACH == 0) {
+                occurrence.setStatus(TestOccurrence.STATUS_FAILURE);
+                occurrence.details = "java.lang.AssertionError: case " + i + "\n\tat org.apache.ignite.SomeTest.testCase";
+                occurrence.muted = i % (FAILED_EACH * MUTED_EACH) == 0;
+            }
+            else
+                occurrence.setStatus(TestOccurrence.STATUS_SUCCESS);
+
+            res.add(occurrence);
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.ignited.fatbuild;
+
+import com.google.common.base.Strings;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.ignite.ci.tcbot.common.TestDetailsCompressor;
+import org.apache.ignite.ci.teamcity.ignited.InMemoryStringCompactor;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
+import org.apache.ignite.tcservice.util.XmlUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Checks storing failed test details using codec chosen by details size and deduplication of details.
+ */
+public class TestCompactedDetailsTest {
+    /** Compressor. */
+    private final TestDetailsCompressor compressor = new TestDetailsCompressor();
+
+    /** Real stack traces. */
+    private List<String> traces;
+
+    /** */
+    @Before
+    public void loadTraces() throws Exception {
+        TestOccurrencesFull tests;
+
+        try (InputStream stream = getClass().getResourceAsStream("/testList.xml")) {
+            tests = XmlUtil.load(TestOccurrencesFull.class, new InputStreamReader(stream));
+        }
+
+        traces = tests.getTests().stream()
+            .map(t -> t.details)
+            .filter(d -> !Strings.isNullOrEmpty(d))
+            .collect(Collectors.toList());
+
+        assertFalse(traces.isEmpty());
+    }
+
+    /** */
+    @Test
+    public void testRealTracesUseSnappy() {
+        for (String trace : traces) {
+            TestCompacted compacted = new TestCompacted();
+
+            compacted.setDetails(trace, compressor);
+
+            assertEquals(trace, compacted.getDetailsText(null));
+        }
+
+        assertEquals(traces.size(), compressor.snappyCount());
+        assertEquals(0, compressor.gzipCount());
+    }
+
+    /** */
+    @Test
+    public void testCodecChosenBySize() {
+        StringBuilder large = new StringBuilder();
+
+        while (large.length() < TestDetailsCompressor.GZIP_MIN_SIZE)
+            large.append(traces.get(large.length() % traces.size()));
+
+        for (String details : new String[] {"java.lang.AssertionError", large.toString()}) {
+            TestCompacted compacted = new TestCompacted();
+
+            compacted.setDetails(details, compressor);
+
+            assertEquals(details, compacted.getDetailsText(null));
+        }
+
+        assertEquals(1, compressor.rawCount());
+        assertEquals(1, compressor.gzipCount());
+        assertEquals(0, compressor.snappyCount());
+    }
+
+    /**
+     * Same trace reported in several builds is saved once and referenced by ID.
+     */
+    @Test
+    public void testSameTraceSavedOnce() {
+        InMemoryStringCompactor compactor = new InMemoryStringCompactor();
+        Map<Long, String> store = new HashMap<>();
+
+        String trace = traces.get(0);
+        String agentSpecificTrace = trace.replace("\n", "\r\n") + "  \r\n";
+
+        TestCompacted first = new TestCompacted(compactor, occurrence(trace), store);
+        TestCompacted second = new TestCompacted(compactor, occurrence(agentSpecificTrace), store);
+        TestCompacted other = new TestCompacted(compactor, occurrence(trace + "\n\tat Other.method()"), store);
+
+        assertEquals(2, store.size());
+        assertEquals(first.detailsId(), second.detailsId());
+        assertEquals(first, second);
+        assertNotEquals(first.detailsId(), other.detailsId());
+        assertNotEquals(first, other);
+
+        assertEquals(TestDetailsUtil.normalize(trace), first.getDetailsText(store::get));
+        assertEquals(TestDetailsUtil.normalize(trace), second.toTestOccurrence(compactor, store::get, 1).details);
+    }
+
+    /**
+     * @param details Details.
+     */
+    private static TestOccurrenceFull occurrence(String details) {
+        TestOccurrenceFull occurrence = new TestOccurrenceFull();
+
+        occurrence.details = details;
+
+        return occurrence;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.ignited.fatbuild;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.ignite.ci.teamcity.ignited.InMemoryStringCompactor;
+import org.apache.ignite.tcbot.persistence.IStringCompactor;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
+import org.apache.ignite.tcservice.util.XmlUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks huge page of tests is compacted element by element while it is parsed.
+ */
+public class TestsPageStreamingTest {
+    /** Tests in page. */
+    private static final int TESTS = 50_000;
+
+    /** Each N-th test is failed. */
+    private static final int FAILED_EACH = 100;
+
+    /** Next page reference. */
+    private static final String NEXT_HREF = "/app/rest/latest/testOccurrences?locator=build:(id:1),start:50000";
+
+    /** Compactor. */
+    private final IStringCompactor compactor = new InMemoryStringCompactor();
+
+    /** */
+    @Test
+    public void testStreamedTestsSameAsLoadedPage() throws Exception {
+        List<TestCompacted> streamed = new ArrayList<>();
+        Map<Long, String> streamedDetails = new HashMap<>();
+
+        Map<String, String> attrs = XmlUtil.stream(new TestsPageReader(), "testOccurrence", TestOccurrenceFull.class,
+            occurrence -> streamed.add(new TestCompacted(compactor, occurrence, streamedDetails)));
+
+        TestOccurrencesFull page = XmlUtil.load(TestOccurrencesFull.class, new TestsPageReader());
+
+        Map<Long, String> loadedDetails = new HashMap<>();
+        List<TestCompacted> loaded = page.getTests().stream()
+            .map(occurrence -> new TestCompacted(compactor, occurrence, loadedDetails))
+            .collect(Collectors.toList());
+
+        assertEquals(NEXT_HREF, attrs.get("nextHref"));
+        assertEquals(page.nextHref(), attrs.get("nextHref"));
+        assertEquals(TESTS, streamed.size());
+        assertEquals(loaded, streamed);
+        assertEquals(loadedDetails, streamedDetails);
+        assertEquals(TESTS / FAILED_EACH, streamedDetails.size());
+
+        FatBuildCompacted build = new FatBuildCompacted().addCompactedTests(compactor, streamed);
+
+        assertEquals(TESTS, build.getTestsCount());
+        assertEquals(TESTS / FAILED_EACH, build.getFailedNotMutedTests(compactor).count());
+    }
+
+    /**
+     * Generates page of tests on the fly, so the document is never kept in memory as a whole.
+     */
+    private static class TestsPageReader extends Reader {
+        /** Current chunk. */
+        private final StringBuilder chunk = new StringBuilder();
+
+        /** Position in current chunk. */
+        private int pos;
+
+        /** Next test to be generated, {@link #TESTS} for closing tag, greater value for end of document. */
+        private int nextTest = -1;
+
+        /** {@inheritDoc} */
+        @Override public int read(char[] cbuf, int off, int len) {
+            if (pos == chunk.length() && !nextChunk())
+                return -1;
+
+            int cnt = Math.min(len, chunk.length() - pos);
+
+            chunk.getChars(pos, pos + cnt, cbuf, off);
+
+            pos += cnt;
+
+            return cnt;
+        }
+
+        /**
+         * @return {@code False} if document is over.
+         */
+        private boolean nextChunk() {
+            chunk.setLength(0);
+            pos = 0;
+
+            int test = nextTest++;
+
+            if (test < 0) {
+                chunk.append("<testOccurrences count=\"").append(TESTS).append("\" nextHref=\"")
+                    .append(NEXT_HREF.replace("&", "&amp;")).append("\">");
+            }
+            else if (test < TESTS) {
+                boolean failed = test % FAILED_EACH == 0;
+
+                chunk.append("<testOccurrence id=\"id:").append(test).append(",build:(id:1)\" name=\"")
+                    .append("org.apache.ignite.testsuites.IgniteBasicTestSuite: org.apache.ignite.Test")
+                    .append(test / 100).append(".test").append(test % 100)
+                    .append("\" status=\"").append(failed ? "FAILURE" : "SUCCESS")
+                    .append("\" duration=\"").append(test % 1000)
+                    .append("\" muted=\"false\" currentlyMuted=\"false\" currentlyInvestigated=\"false\">");
+
+                if (failed) {
+                    chunk.append("<details>java.lang.AssertionError: failure ").append(test)
+                        .append("\n\tat org.apache.ignite.Test").append(test / 100).append("</details>");
+                }
+
+                chunk.append("<test id=\"").append(test).append("\"/><build id=\"1\"/></testOccurrence>");
+            }
+            else if (test == TESTS)
+                chunk.append("</testOccurrences>");
+            else
+                return false;
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            nextTest = TESTS + 1;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.ignited.runhist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcbot.common.TcBotConst;
+import org.apache.ignite.tcbot.engine.issue.EventTemplates;
+import org.apache.ignite.tcignited.history.ChangesState;
+import org.apache.ignite.tcignited.history.IEventTemplate;
+import org.apache.ignite.tcignited.history.RunStatus;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks templates and flakiness detection in run history.
+ */
+public class RunHistCompactedTest {
+    /** Templates. */
+    private static final IEventTemplate[] TEMPLATES = EventTemplates.templates.toArray(new IEventTemplate[0]);
+
+    /** */
+    @Test
+    public void testNewFailureDetected() {
+        RunHistCompacted hist = history("0000000000011111", 1000);
+
+        assertEquals(Integer.valueOf(1011), hist.detectTemplate(EventTemplates.newFailure));
+        assertEquals(null, hist.detectTemplate(EventTemplates.newCriticalFailure));
+        assertEquals(null, hist.detectTemplate(EventTemplates.newContributedTestFailure));
+    }
+
+    /** */
+    @Test
+    public void testAllTemplatesDetectedSameAsOneByOne() {
+        Random rnd = new Random(42);
+
+        List<RunHistCompacted> histories = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++)
+            histories.add(randomHistory(rnd, 1 + rnd.nextInt(100)));
+
+        for (RunHistCompacted hist : histories) {
+            Integer[] exp = new Integer[TEMPLATES.length];
+
+            for (int i = 0; i < TEMPLATES.length; i++)
+                exp[i] = detectTemplateByScan(hist, TEMPLATES[i]);
+
+            assertArrayEquals(hist.toString(), exp, hist.detectTemplates(TEMPLATES));
+        }
+    }
+
+    /** */
+    @Test
+    public void testStatusChangesUpdatedOnAdd() {
+        Random rnd = new Random(42);
+
+        for (int iter = 0; iter < 200; iter++) {
+            RunHistCompacted hist = new RunHistCompacted();
+            TreeMap<Integer, Invocation> added = new TreeMap<>();
+
+            for (int i = 0; i < 50; i++) {
+                // Mostly latest builds, sometimes older build is loaded later.
+                int buildId = rnd.nextInt(10) == 0 ? rnd.nextInt(1000) : 1000 + i;
+
+                Invocation inv = new Invocation(buildId)
+                    .withStatus(rnd.nextInt(3) == 0 ? InvocationData.FAILURE : InvocationData.OK)
+                    .withStartDate(System.currentTimeMillis())
+                    .withChanges(rnd.nextInt(4) == 0 ? new int[] {i} : new int[0]);
+
+                hist.innerAddInvocation(inv);
+                added.putIfAbsent(buildId, inv);
+
+                assertEquals(statusChangesByScan(added.values()), hist.getStatusChangesWithoutCodeModification());
+            }
+
+            assertEquals(hist.getStatusChangesWithoutCodeModification() >= TcBotConst.FLAKYNESS_STATUS_CHANGE_BORDER,
+                hist.isFlaky());
+        }
+    }
+
+    /**
+     * @param invocations Invocations ordered by build ID.
+     */
+    private static int statusChangesByScan(Collection<Invocation> invocations) {
+        int statusChange = 0;
+
+        Invocation prev = null;
+
+        for (Invocation cur : invocations) {
+            if (prev != null && prev.status() != cur.status()
+                && cur.changesState() == ChangesState.NONE
+                && prev.changesState() != ChangesState.UNKNOWN)
+                statusChange++;
+
+            prev = cur;
+        }
+
+        return statusChange;
+    }
+
+    /**
+     * @param rnd Random.
+     * @param len History length.
+     */
+    private static RunHistCompacted randomHistory(Random rnd, int len) {
+        StringBuilder sb = new StringBuilder();
+
+        char[] codes = {'0', '1', '2', '3'};
+        char cur = '0';
+
+        for (int i = 0; i < len; i++) {
+            // Long series of the same status to make templates match.
+            if (rnd.nextInt(6) == 0)
+                cur = codes[rnd.nextInt(codes.length)];
+
+            sb.append(cur);
+        }
+
+        return history(sb.toString(), 1000 + rnd.nextInt(100));
+    }
+
+    /**
+     * @param statuses Status codes of invocations, one char per build.
+     * @param firstBuild First build ID.
+     */
+    private static RunHistCompacted history(String statuses, int firstBuild) {
+        RunHistCompacted hist = new RunHistCompacted();
+
+        for (int i = 0; i < statuses.length(); i++) {
+            hist.innerAddInvocation(new Invocation(firstBuild + i)
+                .withStatus(statuses.charAt(i) - '0')
+                .withStartDate(System.currentTimeMillis())
+                .withChanges(new int[0]));
+        }
+
+        return hist;
+    }
+
+    /**
+     * Reference implementation: template is matched at each position of the history separately.
+     *
+     * @param hist History.
+     * @param t Template.
+     */
+    @Nullable private static Integer detectTemplateByScan(RunHistCompacted hist, IEventTemplate t) {
+        int centralEvtBuild = t.beforeEvent().length;
+
+        int[] template = new int[t.beforeEvent().length + t.eventAndAfter().length];
+        System.arraycopy(t.beforeEvent(), 0, template, 0, t.beforeEvent().length);
+        System.arraycopy(t.eventAndAfter(), 0, template, t.beforeEvent().length, t.eventAndAfter().length);
+
+        List<Integer> buildIds = new ArrayList<>(hist.buildIds());
+
+        List<Integer> latestRuns = hist.getLatestRunResults();
+
+        if (latestRuns == null || latestRuns.size() < template.length)
+            return null;
+
+        if (t.shouldBeFirst()) {
+            if (latestRuns.size() >= hist.getRunsAllHist() && matches(template, latestRuns, 0))
+                return buildIds.get(centralEvtBuild);
+
+            return null;
+        }
+
+        for (int idx = latestRuns.size() - template.length; idx >= 0; idx--) {
+            if (matches(template, latestRuns, idx))
+                return buildIds.get(idx + centralEvtBuild);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param template Template.
+     * @param statuses Statuses.
+     * @param idx Index.
+     */
+    private static boolean matches(int[] template, List<Integer> statuses, int idx) {
+        for (int tIdx = 0; tIdx < template.length; tIdx++) {
+            int status = statuses.get(idx + tIdx);
+            RunStatus tmpl = RunStatus.byCode(template[tIdx]);
+
+            boolean ok = (tmpl == RunStatus.RES_OK_OR_FAILURE
+                && (status == InvocationData.OK || status == InvocationData.FAILURE))
+                || status == tmpl.getCode();
+
+            if (!ok)
+                return false;
+        }
+
+        return true;
+    }
+}
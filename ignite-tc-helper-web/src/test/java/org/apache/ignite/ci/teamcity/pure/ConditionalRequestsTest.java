@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.pure;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.xml.bind.JAXBException;
+import org.apache.ignite.tcbot.common.conf.IDataSourcesConfigSupplier;
+import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
+import org.apache.ignite.tcservice.TeamcityServiceConnection;
+import org.apache.ignite.tcservice.http.HttpResponseCache;
+import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
+import org.apache.ignite.tcservice.http.TeamcityRecordingConnection;
+import org.apache.ignite.tcservice.model.conf.Project;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks responses not modified at TeamCity are not downloaded again.
+ */
+public class ConditionalRequestsTest {
+    /** Entity tag of projects list. */
+    private static final String ETAG = "\"projects-v1\"";
+
+    /** Projects list. */
+    private static final String PROJECTS = "<projects count=\"2\">" +
+        "<project id=\"IgniteTests24Java8\" name=\"Ignite Tests 2.4+ (Java 8/9/10/11)\"/>" +
+        "<project id=\"IgniteRelease\" name=\"Ignite Release\"/>" +
+        "</projects>";
+
+    /** Requests received by stub. */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /** Not modified responses sent by stub. */
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    /** TeamCity stub. */
+    private Server srv;
+
+    /** Cache directory. */
+    private File cacheDir;
+
+    /** */
+    @Before
+    public void startStub() throws Exception {
+        srv = new Server(0);
+
+        srv.setHandler(new AbstractHandler() {
+            @Override public void handle(String target, Request baseReq, HttpServletRequest req,
+                HttpServletResponse rsp) throws IOException {
+                requests.incrementAndGet();
+
+                if (ETAG.equals(req.getHeader("If-None-Match"))) {
+                    notModified.incrementAndGet();
+
+                    rsp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                }
+                else {
+                    rsp.setStatus(HttpServletResponse.SC_OK);
+                    rsp.setContentType("application/xml");
+                    rsp.setHeader("ETag", ETAG);
+                    rsp.getOutputStream().write(PROJECTS.getBytes(UTF_8));
+                }
+
+                baseReq.setHandled(true);
+            }
+        });
+
+        srv.start();
+
+        cacheDir = Files.createTempDirectory("tcHttpCache").toFile();
+    }
+
+    /** */
+    @After
+    public void stopStub() throws Exception {
+        srv.stop();
+
+        File[] files = cacheDir.listFiles();
+
+        if (files != null) {
+            for (File file : files)
+                Files.delete(file.toPath());
+        }
+
+        Files.delete(cacheDir.toPath());
+    }
+
+    /** */
+    @Test
+    public void testNotModifiedResponseIsNotDownloaded() {
+        CountingConnection conn = connection(new HttpResponseCache(cacheDir), "token");
+
+        List<Project> projects = conn.getProjects();
+
+        assertEquals(2, projects.size());
+        assertEquals(0, notModified.get());
+
+        List<Project> cached = conn.getProjects();
+
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(projects.get(0).id(), cached.get(0).id());
+        assertEquals(projects.get(1).id(), cached.get(1).id());
+
+        // Each caller gets its own content unmarshalled from the cached body.
+        assertNotSame(projects.get(0), cached.get(0));
+        assertEquals(2, conn.loads.get());
+    }
+
+    /** */
+    @Test
+    public void testNotModifiedResponseReadFromDiskAfterRestart() {
+        List<Project> projects = connection(new HttpResponseCache(cacheDir), "token").getProjects();
+
+        CountingConnection restarted = connection(new HttpResponseCache(cacheDir), "token");
+
+        List<Project> cached = restarted.getProjects();
+
+        assertEquals(1, notModified.get());
+        assertEquals(projects.size(), cached.size());
+        assertEquals(projects.get(0).id(), cached.get(0).id());
+    }
+
+    /** */
+    @Test
+    public void testResponsesCachedPerToken() {
+        HttpResponseCache rspCache = new HttpResponseCache(cacheDir);
+
+        connection(rspCache, "token").getProjects();
+        connection(rspCache, "otherToken").getProjects();
+
+        assertEquals(2, requests.get());
+        assertEquals(0, notModified.get());
+
+        connection(rspCache, "otherToken").getProjects();
+
+        assertEquals(1, notModified.get());
+    }
+
+    /** */
+    @Test
+    public void testResponseOfAnotherTokenOverwritesFile() {
+        connection(new HttpResponseCache(cacheDir), "token").getProjects();
+        connection(new HttpResponseCache(cacheDir), "otherToken").getProjects();
+
+        assertEquals(1, cacheDir.listFiles().length);
+
+        connection(new HttpResponseCache(cacheDir), "token").getProjects();
+
+        assertEquals(0, notModified.get());
+
+        connection(new HttpResponseCache(cacheDir), "token").getProjects();
+
+        assertEquals(1, notModified.get());
+        assertEquals(1, cacheDir.listFiles().length);
+    }
+
+    /** */
+    @Test
+    public void testOutdatedFilesRemovedOnStart() {
+        connection(new HttpResponseCache(cacheDir), "token").getProjects();
+
+        File file = cacheDir.listFiles()[0];
+
+        new HttpResponseCache(cacheDir);
+
+        assertTrue(file.exists());
+
+        assertTrue(file.setLastModified(System.currentTimeMillis()
+            - TimeUnit.DAYS.toMillis(HttpResponseCache.MAX_FILE_AGE_DAYS + 1)));
+
+        new HttpResponseCache(cacheDir);
+
+        assertFalse(file.exists());
+    }
+
+    /**
+     * @param rspCache Response cache.
+     * @param tok Authorization token.
+     */
+    private CountingConnection connection(HttpResponseCache rspCache, String tok) {
+        ITcServerConfig tcCfg = mock(ITcServerConfig.class);
+
+        when(tcCfg.host()).thenReturn("http://localhost:" + ((ServerConnector)srv.getConnectors()[0]).getLocalPort() + "/");
+
+        IDataSourcesConfigSupplier cfg = mock(IDataSourcesConfigSupplier.class);
+
+        when(cfg.getTeamcityConfig(any())).thenReturn(tcCfg);
+
+        Injector injector = Guice.createInjector(new AbstractModule() {
+            @Override protected void configure() {
+                bind(IDataSourcesConfigSupplier.class).toInstance(cfg);
+                bind(ITeamcityHttpConnection.class).to(TeamcityRecordingConnection.class);
+                bind(HttpResponseCache.class).toInstance(rspCache);
+            }
+        });
+
+        CountingConnection conn = injector.getInstance(CountingConnection.class);
+
+        conn.init("apache");
+        conn.setAuthToken(tok);
+
+        return conn;
+    }
+
+    /**
+     * Connection counting unmarshalled responses.
+     */
+    private static class CountingConnection extends TeamcityServiceConnection {
+        /** Loads. */
+        private final AtomicInteger loads = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override protected <T> T loadXml(Class<T> rootElem, InputStreamReader reader) throws JAXBException {
+            loads.incrementAndGet();
+
+            return super.loadXml(rootElem, reader);
+        }
+    }
+}
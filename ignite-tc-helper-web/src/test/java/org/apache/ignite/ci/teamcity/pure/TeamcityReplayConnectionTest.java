@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.teamcity.pure;
+
+import com.google.common.io.ByteStreams;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.ignite.tcservice.http.TeamcityRecorder;
+import org.apache.ignite.tcservice.http.TeamcityReplayConnection;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks responses recorded by {@link TeamcityRecorder} are replayed.
+ */
+public class TeamcityReplayConnectionTest {
+    /** Projects URL. */
+    private static final String PROJECTS = "http://ci.ignite.apache.org/app/rest/latest/projects";
+
+    /** Build URL. */
+    private static final String BUILD = "http://ci.ignite.apache.org/app/rest/latest/builds/id:1";
+
+    /** Changes URL. */
+    private static final String CHANGES = "http://ci.ignite.apache.org/app/rest/latest/changes?locator=build:(id:1)";
+
+    /** */
+    @Test
+    public void testRecordedResponsesReplayed() throws IOException {
+        String recording = TeamcityRecorder.GET_PREFIX + PROJECTS + "\n" +
+            "<projects>\n  <project id=\"first\"/>\n</projects>\n" +
+            TeamcityRecorder.GET_PREFIX + BUILD + "\n" +
+            "<build id=\"1\" state=\"running\"/>\n" +
+            TeamcityRecorder.GET_PREFIX + CHANGES + "\n" +
+            "\n" +
+            TeamcityRecorder.GET_PREFIX + BUILD + "\n" +
+            "<build id=\"1\" state=\"finished\"/>\n";
+
+        TeamcityReplayConnection conn = new TeamcityReplayConnection(recording.getBytes(UTF_8), 0);
+
+        assertEquals(3, conn.urls());
+        assertEquals("<projects>\n  <project id=\"first\"/>\n</projects>", body(conn, PROJECTS));
+        assertEquals("", body(conn, CHANGES));
+
+        // Latest recorded response is replayed.
+        assertEquals("<build id=\"1\" state=\"finished\"/>", body(conn, BUILD));
+
+        try {
+            conn.sendGet("token", BUILD + "0");
+
+            fail();
+        }
+        catch (FileNotFoundException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(BUILD + "0"));
+        }
+
+        assertEquals(3, conn.replayed());
+        assertEquals(1, conn.missed());
+    }
+
+    /** */
+    @Test
+    public void testLatencyInjected() throws IOException {
+        String recording = TeamcityRecorder.GET_PREFIX + PROJECTS + "\n<projects/>\n";
+
+        TeamcityReplayConnection conn = new TeamcityReplayConnection(recording.getBytes(UTF_8), 50);
+
+        long start = System.nanoTime();
+
+        assertEquals("<projects/>", body(conn, PROJECTS));
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+    }
+
+    /**
+     * @param conn Connection.
+     * @param url Url.
+     */
+    private static String body(TeamcityReplayConnection conn, String url) throws IOException {
+        try (InputStream is = conn.sendGet("token", url)) {
+            return new String(ByteStreams.toByteArray(is), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.common.trace;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.ignite.tcbot.engine.ui.SpanUi;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks per-request tracing.
+ */
+public class TracerTest {
+    /** */
+    @Test
+    public void testNothingRecordedOutOfTrace() {
+        try (Tracer.Scope scope = Tracer.span("stage")) {
+            assertNull(scope.span());
+            assertNull(Tracer.current());
+        }
+    }
+
+    /**
+     * Stages of tasks submitted to pool are recorded into trace of submitter.
+     */
+    @Test
+    public void testStagesOfPoolTasksRecorded() throws Exception {
+        SlowTraces traces = new SlowTraces(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Span root;
+
+            try (Tracer.Scope scope = traces.startTrace("request")) {
+                root = scope.span();
+
+                // Trace is already started, nothing new is recorded.
+                try (Tracer.Scope nested = traces.startTrace("nested")) {
+                    assertNull(nested.span());
+                }
+
+                try (Tracer.Scope ignored = Tracer.span("load")) {
+                    Future<Integer> fut = executor.submit(Tracer.wrap(() -> {
+                        try (Tracer.Scope ignored0 = Tracer.span("dao")) {
+                            return 1;
+                        }
+                    }));
+
+                    assertEquals(1, (int)fut.get());
+                }
+
+                for (int i = 0; i < 3; i++) {
+                    try (Tracer.Scope ignored = Tracer.span("analyze")) {
+                        assertEquals("analyze", Tracer.current().name());
+                    }
+                }
+
+                assertSame(root, Tracer.current());
+
+                // Pool thread does not keep trace after task.
+                assertNull(executor.submit(Tracer::current).get());
+            }
+
+            assertNull(Tracer.current());
+
+            List<Span> recorded = traces.traces();
+
+            assertEquals(1, recorded.size());
+            assertSame(root, recorded.get(0));
+
+            SpanUi ui = SpanUi.of(root);
+
+            assertEquals("request", ui.name);
+            assertEquals(2, ui.children.size());
+            assertEquals("load", ui.children.get(0).name);
+            assertEquals("dao", ui.children.get(0).children.get(0).name);
+            assertEquals("analyze", ui.children.get(1).name);
+            assertEquals(3, ui.children.get(1).count);
+            assertNull(ui.droppedSpans);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /** */
+    @Test
+    public void testOnlyLastSlowTracesKept() {
+        SlowTraces traces = new SlowTraces(60_000);
+
+        try (Tracer.Scope ignored = traces.startTrace("fast")) {
+            assertTrue(Tracer.current() != null);
+        }
+
+        assertTrue(traces.traces().isEmpty());
+
+        SlowTraces all = new SlowTraces(0);
+
+        for (int i = 0; i < SlowTraces.MAX_TRACES + 5; i++) {
+            try (Tracer.Scope ignored = all.startTrace("trace" + i)) {
+                assertTrue(Tracer.current() != null);
+            }
+        }
+
+        List<Span> recorded = all.traces();
+
+        assertEquals(SlowTraces.MAX_TRACES, recorded.size());
+        assertEquals("trace" + (SlowTraces.MAX_TRACES + 4), recorded.get(0).name());
+    }
+
+    /** */
+    @Test
+    public void testSpansCountLimited() {
+        Span root;
+
+        try (Tracer.Scope scope = Tracer.startTrace("request", null)) {
+            root = scope.span();
+
+            for (int i = 0; i < Span.MAX_SPANS_IN_TRACE + 10; i++) {
+                try (Tracer.Scope ignored = Tracer.span("stage")) {
+                    assertSame(ignored.span() == null ? root : ignored.span(), Tracer.current());
+                }
+            }
+        }
+
+        assertEquals(Span.MAX_SPANS_IN_TRACE - 1, root.children().size());
+        assertEquals(11, root.droppedSpans());
+        assertEquals(11, (int)SpanUi.of(root).droppedSpans);
+    }
+}
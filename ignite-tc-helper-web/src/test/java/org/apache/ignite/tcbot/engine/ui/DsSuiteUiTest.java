@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.engine.ui;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.apache.ignite.tcignited.buildlog.ITestLogCheckResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks merging of log check warnings into suite test failures.
+ */
+public class DsSuiteUiTest {
+    /** Suite prefix of full test name. */
+    public static final String SUITE = "org.apache.ignite.testsuites.IgniteCacheTestSuite: ";
+
+    /** */
+    @Test
+    public void testWarningMergedToFailureByShortName() {
+        DsSuiteUi suite = new DsSuiteUi();
+
+        DsTestFailureUi plain = failure(suite, SUITE + "org.apache.ignite.cache.CacheTest.testPut");
+        DsTestFailureUi parametrized = failure(suite, SUITE + "org.apache.ignite.cache.CacheTest.testGet[mode=ATOMIC]");
+
+        suite.findFailureAndAddWarning("CacheTest.testPut", warn("put"));
+        suite.findFailureAndAddWarning("CacheTest.testGet", warn("get"));
+        suite.findFailureAndAddWarning("OtherTest.testPut", warn("other"));
+        suite.findFailureAndAddWarning("OtherTest.testPut", warn("other2"));
+
+        assertEquals(Collections.singletonList("put"), plain.warnings);
+        assertEquals(Collections.singletonList("get"), parametrized.warnings);
+
+        assertEquals(1, suite.warnOnly.size());
+        assertEquals("OtherTest.testPut (warning)", suite.warnOnly.get(0).name);
+        assertEquals(2, suite.warnOnly.get(0).warnings.size());
+    }
+
+    /**
+     * Test name from log which is not a fragment split by separators is found by substring.
+     */
+    @Test
+    public void testWarningMergedToFailureBySubstring() {
+        DsSuiteUi suite = new DsSuiteUi();
+
+        DsTestFailureUi failure = failure(suite, SUITE + "org.apache.ignite.cache.GridCacheTest.testPut");
+
+        suite.findFailureAndAddWarning("CacheTest.testPut", warn("put"));
+        suite.findFailureAndAddWarning("CacheTest.testPut", warn("put2"));
+
+        assertEquals(Arrays.asList("put", "put2"), failure.warnings);
+        assertTrue(suite.warnOnly.isEmpty());
+    }
+
+    /** */
+    @Test
+    public void testFailuresAddedAfterFirstWarningAreFound() {
+        DsSuiteUi suite = new DsSuiteUi();
+
+        failure(suite, SUITE + "org.apache.ignite.cache.CacheTest.testPut");
+        suite.findFailureAndAddWarning("CacheTest.testPut", warn("put"));
+
+        DsTestFailureUi added = failure(suite, SUITE + "org.apache.ignite.cache.CacheTest.testRemove");
+        suite.findFailureAndAddWarning("CacheTest.testRemove", warn("remove"));
+
+        assertEquals(Collections.singletonList("remove"), added.warnings);
+        assertTrue(suite.warnOnly.isEmpty());
+    }
+
+    /**
+     * 5k failures and 5k warnings, half of warnings are for tests not failed. Previously it was 25M+ substring
+     * checks, now tests not failed are not searched by scan of all failures and warnings.
+     */
+    @Test
+    public void testManyWarningsForManyFailures() {
+        DsSuiteUi suite = new DsSuiteUi();
+        int cnt = 5000;
+
+        for (int i = 0; i < cnt; i++)
+            failure(suite, SUITE + "org.apache.ignite.cache.CacheTest" + i + ".testPut");
+
+        for (int i = 0; i < cnt; i++)
+            suite.findFailureAndAddWarning("CacheTest" + (i * 2) + ".testPut", warn("warn" + i));
+
+        for (int i = 0; i < cnt / 2; i++)
+            assertEquals(Collections.singletonList("warn" + i), suite.testFailures.get(i * 2).warnings);
+
+        assertEquals(cnt / 2, suite.warnOnly.size());
+        assertTrue("Substring checks: " + suite.substringChecks(), suite.substringChecks() < cnt);
+    }
+
+    /**
+     * @param suite Suite.
+     * @param name Full test name.
+     */
+    private static DsTestFailureUi failure(DsSuiteUi suite, String name) {
+        DsTestFailureUi failure = new DsTestFailureUi();
+
+        failure.name = name;
+        suite.testFailures.add(failure);
+
+        return failure;
+    }
+
+    /**
+     * @param warn Warning text.
+     */
+    private static ITestLogCheckResult warn(String warn) {
+        return new ITestLogCheckResult() {
+            @Override public int getLogSizeBytes() {
+                return 0;
+            }
+
+            @Nonnull @Override public List<String> getWarns() {
+                return Collections.singletonList(warn);
+            }
+        };
+    }
+}
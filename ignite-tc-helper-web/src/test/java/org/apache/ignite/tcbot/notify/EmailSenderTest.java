@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.notify;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.mail.MessagingException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks emails sending using SMTP server stub.
+ */
+public class EmailSenderTest {
+    /** SMTP server stub. */
+    private SmtpStub smtp;
+
+    /** */
+    @Before
+    public void startSmtp() throws IOException {
+        smtp = new SmtpStub();
+    }
+
+    /** */
+    @After
+    public void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testBatchUsesOneConnection() {
+        EmailSender snd = new EmailSender();
+        AtomicInteger permits = new AtomicInteger();
+
+        Map<EmailMessage, MessagingException> failed = snd.sendEmails(messages(20), smtp.config(),
+            permits::incrementAndGet);
+
+        assertTrue(failed.toString(), failed.isEmpty());
+        assertEquals(20, smtp.messages.get());
+        assertEquals(1, smtp.connections.get());
+        assertEquals(20, permits.get());
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testReconnectAfterServerClosedConnection() {
+        smtp.maxMsgsPerConnection = 3;
+
+        EmailSender snd = new EmailSender();
+
+        Map<EmailMessage, MessagingException> failed = snd.sendEmails(messages(10), smtp.config());
+
+        assertTrue(failed.toString(), failed.isEmpty());
+        assertEquals(10, smtp.messages.get());
+        assertEquals(4, smtp.connections.get());
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testRetryAfterTransientFailure() {
+        smtp.dataReplies.add("451 Try again later");
+
+        Map<EmailMessage, MessagingException> failed = new EmailSender().sendEmails(messages(2), smtp.config());
+
+        assertTrue(failed.toString(), failed.isEmpty());
+        assertEquals(2, smtp.messages.get());
+        assertEquals(2, smtp.connections.get());
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testNoRetryAfterPermanentFailure() {
+        smtp.dataReplies.add("554 Message rejected");
+
+        List<EmailMessage> msgs = messages(2);
+
+        Map<EmailMessage, MessagingException> failed = new EmailSender().sendEmails(msgs, smtp.config());
+
+        assertEquals(Collections.singleton(msgs.get(0)), failed.keySet());
+        assertEquals(1, smtp.messages.get());
+        assertEquals(1, smtp.connections.get());
+    }
+
+    /** */
+    @Test(timeout = 60_000)
+    public void testSingleEmailSent() throws MessagingException {
+        new EmailSender().sendEmail("dev@ignite.apache.org", "Subj", "<b>Text</b>", "Text", smtp.config());
+
+        assertEquals(1, smtp.messages.get());
+    }
+
+    /**
+     * @param cnt Count of messages.
+     */
+    @Nonnull private static List<EmailMessage> messages(int cnt) {
+        List<EmailMessage> msgs = new ArrayList<>();
+
+        for (int i = 0; i < cnt; i++)
+            msgs.add(new EmailMessage("user" + i + "@ignite.apache.org", "Subj " + i, "<b>Text</b>", "Text"));
+
+        return msgs;
+    }
+
+    /**
+     * Minimal SMTP server accepting any credentials and messages.
+     */
+    private static class SmtpStub implements AutoCloseable {
+        /** Server socket. */
+        private final ServerSocket srvSock = new ServerSocket(0);
+
+        /** Connections accepted. */
+        private final AtomicInteger connections = new AtomicInteger();
+
+        /** Messages received. */
+        private final AtomicInteger messages = new AtomicInteger();
+
+        /** Server closes connection after this count of messages received. */
+        private volatile int maxMsgsPerConnection = Integer.MAX_VALUE;
+
+        /** Replies to be returned instead of success for next messages received. */
+        private final Queue<String> dataReplies = new ConcurrentLinkedQueue<>();
+
+        /** */
+        SmtpStub() throws IOException {
+            Thread thread = new Thread(this::acceptLoop, "smtp-stub");
+
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * @return Config to connect to this server.
+         */
+        ISendEmailConfig config() {
+            int port = srvSock.getLocalPort();
+
+            return new ISendEmailConfig() {
+                @Nonnull @Override public String emailUsernameMandatory() {
+                    return "bot@ignite.apache.org";
+                }
+
+                @Nonnull @Override public String emailPasswordClearMandatory() {
+                    return "pwd";
+                }
+
+                @Override public String emailSmtpHost() {
+                    return "localhost";
+                }
+
+                @Override public int emailSmtpPort() {
+                    return port;
+                }
+
+                @Override public boolean emailSmtpSsl() {
+                    return false;
+                }
+            };
+        }
+
+        /** */
+        private void acceptLoop() {
+            while (!srvSock.isClosed()) {
+                try (Socket sock = srvSock.accept()) {
+                    connections.incrementAndGet();
+
+                    serve(sock);
+                }
+                catch (IOException ignored) {
+                    // Connection closed.
+                }
+            }
+        }
+
+        /**
+         * @param sock Client socket.
+         */
+        private void serve(Socket sock) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(sock.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = sock.getOutputStream();
+
+            reply(out, "220 localhost SMTP stub");
+
+            int msgsReceived = 0;
+            String line;
+
+            while ((line = in.readLine()) != null) {
+                String cmd = line.toUpperCase();
+
+                if (cmd.startsWith("EHLO"))
+                    reply(out, "250-localhost\r\n250 AUTH LOGIN PLAIN");
+                else if (cmd.startsWith("AUTH LOGIN")) {
+                    reply(out, "334 VXNlcm5hbWU6");
+                    in.readLine();
+                    reply(out, "334 UGFzc3dvcmQ6");
+                    in.readLine();
+                    reply(out, "235 Authenticated");
+                }
+                else if (cmd.startsWith("AUTH PLAIN")) {
+                    if (cmd.trim().equals("AUTH PLAIN")) {
+                        reply(out, "334 ");
+                        in.readLine();
+                    }
+
+                    reply(out, "235 Authenticated");
+                }
+                else if (cmd.startsWith("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+
+                    while ((line = in.readLine()) != null && !".".equals(line)) {
+                        // Skip message content.
+                    }
+
+                    String rejectReply = dataReplies.poll();
+
+                    if (rejectReply != null) {
+                        reply(out, rejectReply);
+
+                        continue;
+                    }
+
+                    messages.incrementAndGet();
+                    msgsReceived++;
+
+                    reply(out, "250 OK");
+
+                    if (msgsReceived >= maxMsgsPerConnection)
+                        return;
+                }
+                else if (cmd.startsWith("QUIT")) {
+                    reply(out, "221 Bye");
+
+                    return;
+                }
+                else
+                    reply(out, "250 OK");
+            }
+        }
+
+        /**
+         * @param out Output.
+         * @param line Reply line.
+         */
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() throws IOException {
+            srvSock.close();
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.ignite.tcignited;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
@@ -34,14 +35,21 @@ import org.apache.ignite.ci.teamcity.ignited.BuildRefCompacted;
 import org.apache.ignite.tcignited.buildref.BuildRefDao;
 import org.apache.ignite.ci.teamcity.ignited.buildtype.BuildTypeRefCompacted;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestDetailsUtil;
 import org.apache.ignite.tcignited.build.FatBuildDao;
 import org.apache.ignite.tcignited.build.ProactiveFatBuildSync;
+import org.apache.ignite.tcignited.build.SuiteHistory;
+import org.apache.ignite.tcignited.build.TestDetailsDao;
 import org.apache.ignite.ci.teamcity.pure.BuildHistoryEmulator;
 import org.apache.ignite.ci.user.ITcBotUserCreds;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
 import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
 import org.apache.ignite.tcbot.common.conf.IDataSourcesConfigSupplier;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
 import org.apache.ignite.tcbot.persistence.IStringCompactor;
 import org.apache.ignite.tcbot.persistence.IgniteStringCompactor;
 import org.apache.ignite.tcbot.persistence.TcBotPersistenceModule;
@@ -50,6 +58,8 @@ import org.apache.ignite.tcignited.history.IRunHistory;
 import org.apache.ignite.tcignited.history.ISuiteRunHistory;
 import org.apache.ignite.tcignited.history.BuildStartTimeStorage;
 import org.apache.ignite.tcignited.history.RunHistSync;
+import org.apache.ignite.tcignited.history.SuiteInvocation;
+import org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao;
 import org.apache.ignite.tcservice.ITeamcity;
 import org.apache.ignite.tcservice.TeamcityServiceConnection;
 import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
@@ -78,6 +88,7 @@ import org.mockito.Mockito;
 
 import javax.xml.bind.JAXBException;
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -103,11 +114,16 @@ public class IgnitedTcInMemoryIntegrationTest {
     /** Ignite. */
     private static Ignite ignite;
 
+    /** Directory of HTTP responses cache. */
+    private static File rspCacheDir;
+
     /**
      *
      */
     @BeforeClass
-    public static void startIgnite() {
+    public static void startIgnite() throws IOException {
+        rspCacheDir = Files.createTempDirectory("tcHttpCache").toFile();
+
         IgniteConfiguration cfg = new IgniteConfiguration();
         final TcpDiscoverySpi spi = new TcpDiscoverySpi();
         int locPort = TEST_IGNITE_PORT;
@@ -118,6 +134,10 @@ public class IgnitedTcInMemoryIntegrationTest {
 
         cfg.setDiscoverySpi(spi);
 
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration().setDataRegionConfigurations(
+            new DataRegionConfiguration().setName(CacheConfigs.BULK_REGION),
+            new DataRegionConfiguration().setName(CacheConfigs.REBUILDABLE_REGION)));
+
         ignite = Ignition.start(cfg);
     }
 
@@ -128,6 +148,19 @@ public class IgnitedTcInMemoryIntegrationTest {
     public static void stopIgnite() {
         if (ignite != null)
             ignite.close();
+
+        U.delete(rspCacheDir);
+    }
+
+    /**
+     * @return Module with HTTP responses cache in temporary directory.
+     */
+    private static TeamcityIgnitedModule teamcityIgnitedModule() {
+        TeamcityIgnitedModule module = new TeamcityIgnitedModule();
+
+        module.overrideResponseCacheDir(rspCacheDir);
+
+        return module;
     }
 
     /**
@@ -151,13 +184,13 @@ public class IgnitedTcInMemoryIntegrationTest {
 
     @Test
     public void saveAndLoadBuildReference() throws IOException {
-        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class);
+        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class, Mockito.CALLS_REAL_METHODS);
 
         when(http.sendGet(anyString(), anyString())).thenAnswer(
             (invocationOnMock) -> {
                 String url = invocationOnMock.getArgument(1);
 
-                if (url.contains("app/rest/latest/builds?locator=defaultFilter:false,count:1000,start:1000"))
+                if (url.contains("app/rest/latest/builds?locator=defaultFilter:false") && url.endsWith(",start:1000"))
                     return getClass().getResourceAsStream("/buildHistoryMasterPage2.xml");
 
                 if (url.contains("app/rest/latest/builds?locator=defaultFilter:false"))
@@ -167,7 +200,7 @@ public class IgnitedTcInMemoryIntegrationTest {
             }
         );
 
-        TeamcityIgnitedModule module = new TeamcityIgnitedModule();
+        TeamcityIgnitedModule module = teamcityIgnitedModule();
 
         module.overrideHttp(http);
 
@@ -207,12 +240,12 @@ public class IgnitedTcInMemoryIntegrationTest {
         final AtomicBoolean runAllRmv = new AtomicBoolean();
         final AtomicBoolean clusterRmv = new AtomicBoolean();
 
-        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class);
+        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class, Mockito.CALLS_REAL_METHODS);
 
         when(http.sendGet(anyString(), anyString())).thenAnswer(
             (invocationOnMock) -> {
                 String url = invocationOnMock.getArgument(1);
-                if (url.contains("app/rest/latest/builds?locator=defaultFilter:false,count:1000,start:1000"))
+                if (url.contains("app/rest/latest/builds?locator=defaultFilter:false") && url.endsWith(",start:1000"))
                     return getClass().getResourceAsStream("/buildHistoryMasterPage2.xml");
 
                 if (url.contains("app/rest/latest/builds?locator=defaultFilter:false"))
@@ -232,7 +265,7 @@ public class IgnitedTcInMemoryIntegrationTest {
             }
         );
 
-        TeamcityIgnitedModule module = new TeamcityIgnitedModule();
+        TeamcityIgnitedModule module = teamcityIgnitedModule();
 
         module.overrideHttp(http);
 
@@ -241,7 +274,7 @@ public class IgnitedTcInMemoryIntegrationTest {
         ITeamcityIgnited srv = injector.getInstance(ITeamcityIgnitedProvider.class).server(APACHE, creds());
         IStringCompactor compactor = injector.getInstance(IStringCompactor.class);
 
-        TeamcityIgnitedImpl teamcityIgnited = (TeamcityIgnitedImpl)srv;
+        TeamcityIgnitedImpl teamcityIgnited = ((TeamcityIgnitedWithCreds)srv).shared();
         teamcityIgnited.fullReindex();
 
         List<String> buildTypes = srv.getCompositeBuildTypesIdsSortedByBuildNumberCounter(projectId);
@@ -297,7 +330,7 @@ public class IgnitedTcInMemoryIntegrationTest {
 
     @Test
     public void incrementalActualizationOfBuildsContainsQueued() throws IOException {
-        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class);
+        ITeamcityHttpConnection http = Mockito.mock(ITeamcityHttpConnection.class, Mockito.CALLS_REAL_METHODS);
 
         int queuedBuildIdx = 500;
         ArrayList<BuildRef> tcBuilds = new ArrayList<>();
@@ -328,7 +361,7 @@ public class IgnitedTcInMemoryIntegrationTest {
             }
         );
 
-        TeamcityIgnitedModule module = new TeamcityIgnitedModule();
+        TeamcityIgnitedModule module = teamcityIgnitedModule();
 
         module.overrideHttp(http);
 
@@ -337,7 +370,7 @@ public class IgnitedTcInMemoryIntegrationTest {
         ITeamcityIgnited srv = injector.getInstance(ITeamcityIgnitedProvider.class).server(APACHE, creds());
         IStringCompactor compactor = injector.getInstance(IStringCompactor.class);
 
-        TeamcityIgnitedImpl teamcityIgnited = (TeamcityIgnitedImpl)srv;
+        TeamcityIgnitedImpl teamcityIgnited = ((TeamcityIgnitedWithCreds)srv).shared();
         teamcityIgnited.fullReindex();
         String buildTypeId = "IgniteTests24Java8_RunAll";
         String branchName = "<default>";
@@ -457,7 +490,8 @@ public class IgnitedTcInMemoryIntegrationTest {
         saveTmpFile(refBuild, "src/test/tmp/buildRef.xml");
         saveTmpFile(actBuild, "src/test/tmp/buildAct.xml");
 
-        TestOccurrencesFull testsAct = fatBuild.getTestOcurrences(compactor);
+        TestOccurrencesFull testsAct = fatBuild.getTestOcurrences(compactor,
+            injector.getInstance(TestDetailsDao.class).init());
         saveTmpFile(testsRef, "src/test/tmp/testListRef.xml");
         saveTmpFile(testsAct, "src/test/tmp/testListAct.xml");
 
@@ -497,6 +531,17 @@ public class IgnitedTcInMemoryIntegrationTest {
         testsRef.getTests().forEach(testOccurrence -> testNamesRef.add(testOccurrence.name));
         assertEquals(testNamesRef, testNamesAct);
 
+        Map<String, String> detailsRef = new TreeMap<>();
+        testsRef.getTests().stream().filter(t -> !Strings.isNullOrEmpty(t.details))
+            .forEach(t -> detailsRef.put(t.getId(), TestDetailsUtil.normalize(t.details)));
+
+        Map<String, String> detailsAct = new TreeMap<>();
+        testsAct.getTests().stream().filter(t -> !Strings.isNullOrEmpty(t.details))
+            .forEach(t -> detailsAct.put(t.getId(), t.details));
+
+        assertFalse(detailsRef.isEmpty());
+        assertEquals(detailsRef, detailsAct);
+
         final List<ProblemOccurrence> problems = buildCompacted.problems(compactor);
         assertEquals(2, problems.size());
 
@@ -555,7 +600,7 @@ public class IgnitedTcInMemoryIntegrationTest {
 
     @Test
     public void testRunHistSaveLoad() {
-        Injector injector = Guice.createInjector(new TeamcityIgnitedModule(), new IgniteAndSchedulerTestModule());
+        Injector injector = Guice.createInjector(teamcityIgnitedModule(), new IgniteAndSchedulerTestModule());
 
         injector.getInstance(BuildStartTimeStorage.class).init();
         final IStringCompactor c = injector.getInstance(IStringCompactor.class);
@@ -591,7 +636,7 @@ public class IgnitedTcInMemoryIntegrationTest {
 
     @Test
     public void testHistoryBackgroundUpdateWorks() {
-        Injector injector = Guice.createInjector(new TeamcityIgnitedModule(), new IgniteAndSchedulerTestModule());
+        Injector injector = Guice.createInjector(teamcityIgnitedModule(), new IgniteAndSchedulerTestModule());
 
         injector.getInstance(BuildStartTimeStorage.class).init();
 
@@ -631,9 +676,64 @@ public class IgnitedTcInMemoryIntegrationTest {
         assertEquals(0.5, testRunHist.getFailRate(), 0.1);
     }
 
+    @Test
+    public void testHistoryPrefetchUsesBulkQuery() {
+        Injector injector = Guice.createInjector(teamcityIgnitedModule(), new IgniteAndSchedulerTestModule());
+
+        injector.getInstance(BuildStartTimeStorage.class).init();
+
+        final String srvId = "apache";
+        final String btId = "RunAll";
+        final String branch = ITeamcity.DEFAULT;
+
+        final ITeamcityIgnitedProvider inst = injector.getInstance(ITeamcityIgnitedProvider.class);
+        final ITeamcityIgnited srv = inst.server(srvId, Mockito.mock(ITcBotUserCreds.class));
+
+        FatBuildDao fatBuildDao = injector.getInstance(FatBuildDao.class).init();
+        BuildRefDao buildRefDao = injector.getInstance(BuildRefDao.class).init();
+        SuiteInvocationHistoryDao histDao = injector.getInstance(SuiteInvocationHistoryDao.class);
+
+        final IStringCompactor c = injector.getInstance(IStringCompactor.class);
+
+        final PrChainsProcessorTest tst = new PrChainsProcessorTest();
+        tst.initBuildChainAndMasterHistory(c, btId, branch);
+
+        int srvIdMaskHigh = ITeamcityIgnited.serverIdToInt(srvId);
+        tst.apacheBuilds().forEach((id, build) -> {
+            fatBuildDao.putFatBuild(srvIdMaskHigh, id, build);
+            buildRefDao.save(srvIdMaskHigh, new BuildRefCompacted(build));
+        });
+
+        List<Integer> suites = Lists.newArrayList(c.getStringId(PrChainsProcessorTest.CACHE_1),
+            c.getStringId(PrChainsProcessorTest.CACHE_8),
+            c.getStringId(PrChainsProcessorTest.CACHE_9));
+        int branchId = c.getStringId(branch);
+
+        srv.prefetchSuiteRunHist(suites, branchId);
+
+        Map<Integer, SuiteHistory> aggregated = histDao.aggregateSuiteRunHist(srvIdMaskHigh, suites, branchId);
+
+        assertFalse(aggregated.isEmpty());
+
+        for (Integer suite : suites) {
+            Map<Integer, SuiteInvocation> single = histDao.getSuiteRunHist(srvIdMaskHigh, suite, branchId);
+
+            SuiteHistory hist = aggregated.get(suite);
+
+            assertEquals(single.keySet(), hist == null ? Collections.emptySet() : hist.buildIds());
+        }
+
+        final IRunHistory testRunHist = srv.getTestRunHist(c.getStringId(PrChainsProcessorTest.TEST_FLAKY_IN_MASTER),
+            c.getStringId(PrChainsProcessorTest.CACHE_1),
+            branchId);
+
+        assertNotNull(testRunHist);
+        assertEquals(0.5, testRunHist.getFailRate(), 0.1);
+    }
+
     @Test
     public void testQueuedBuildsRemoved() {
-        TeamcityIgnitedModule module = new TeamcityIgnitedModule();
+        TeamcityIgnitedModule module = teamcityIgnitedModule();
         module.overrideHttp((basicAuthTok, url) -> {
             throw new FileNotFoundException(url);
         });
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcignited.buildref;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.ignite.tcignited.build.ProactiveFatBuildSync;
+import org.apache.ignite.tcservice.ITeamcityConn;
+import org.apache.ignite.tcservice.model.hist.BuildRef;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.ignite.tcignited.buildref.BuildRefSync.MAX_PAGE_SIZE;
+import static org.apache.ignite.tcignited.buildref.BuildRefSync.MIN_PAGE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks page size of build references sync is adapted to count of changed builds.
+ */
+public class BuildRefSyncTest {
+    /** Server code. */
+    private static final String SRV_ID = "apache";
+
+    /** Builds count in emulated TC history. */
+    private static final int BUILDS = 10_000;
+
+    /** Start of page in next page link. */
+    private static final Pattern START = Pattern.compile("start:([0-9]+)");
+
+    /** Build references DAO. */
+    private final BuildRefDao dao = mock(BuildRefDao.class);
+
+    /** Teamcity connection. */
+    private final ITeamcityConn conn = mock(ITeamcityConn.class);
+
+    /** Sizes of pages requested from TC. */
+    private final List<Integer> requestedPages = new ArrayList<>();
+
+    /** Build IDs changed since last sync. */
+    private final Set<Integer> changed = new HashSet<>();
+
+    /** Sync. */
+    private BuildRefSync sync;
+
+    /** */
+    @Before
+    public void setUp() {
+        ProactiveFatBuildSync fatBuildSync = mock(ProactiveFatBuildSync.class);
+
+        // Mocks are provided as is, without injection of their members.
+        sync = Guice.createInjector(new AbstractModule() {
+            @Override protected void configure() {
+                bind(BuildRefDao.class).toProvider(() -> dao);
+                bind(ProactiveFatBuildSync.class).toProvider(() -> fatBuildSync);
+            }
+        }).getInstance(BuildRefSync.class);
+
+        when(conn.getBuildRefsPage(any(), anyInt(), any())).thenAnswer(inv -> {
+            String url = inv.getArgument(0);
+            int pageSize = inv.getArgument(1);
+            AtomicReference<String> outNext = inv.getArgument(2);
+
+            int start = 0;
+
+            if (url != null) {
+                Matcher matcher = START.matcher(url);
+
+                assertTrue(url, matcher.find());
+
+                start = Integer.parseInt(matcher.group(1));
+            }
+
+            requestedPages.add(pageSize);
+
+            List<BuildRef> page = new ArrayList<>();
+
+            // Most recent builds go first.
+            for (int i = start; i < Math.min(start + pageSize, BUILDS); i++) {
+                BuildRef ref = new BuildRef();
+
+                ref.setId(BUILDS - i);
+
+                page.add(ref);
+            }
+
+            if (start + pageSize < BUILDS)
+                outNext.set("/app/rest/latest/builds?locator=count:" + pageSize + ",start:" + (start + pageSize));
+
+            return page;
+        });
+
+        when(dao.saveChunk(anyInt(), anyList())).thenAnswer(inv -> {
+            int srvIdMaskHigh = inv.getArgument(0);
+            List<BuildRef> page = inv.getArgument(1);
+
+            return page.stream()
+                .map(BuildRef::getId)
+                .filter(changed::remove)
+                .map(id -> BuildRefDao.buildIdToCacheKey(srvIdMaskHigh, id))
+                .collect(Collectors.toSet());
+        });
+    }
+
+    /**
+     * Many changed builds are checked with less requests than pages of default size.
+     */
+    @Test
+    public void testPageGrowsForManyChanges() {
+        markRecentChanged(3000);
+
+        String res = sync.runActualizeBuildRefs(SRV_ID, false, null, conn);
+
+        assertTrue(res, res.startsWith("Entries saved 3000 "));
+        assertTrue(changed.isEmpty());
+        assertEquals(MIN_PAGE_SIZE, (int)requestedPages.get(0));
+        assertTrue(requestedPages.toString(), requestedPages.size() < 3000 / MIN_PAGE_SIZE / 2);
+        assertTrue(requestedPages.toString(), requestedPages.contains(MAX_PAGE_SIZE));
+
+        BuildRefSyncStatistics stat = sync.statistics().get(SRV_ID);
+
+        assertEquals(1, stat.syncs());
+        assertEquals(requestedPages.size(), stat.lastPages());
+        // First page was changed completely, so next sync starts with larger page.
+        assertEquals(MIN_PAGE_SIZE * 2, stat.pageSize());
+    }
+
+    /**
+     * Page size returns to minimal if there are no changes, sync stops after second page without changes.
+     */
+    @Test
+    public void testPageShrinksWithoutChanges() {
+        markRecentChanged(3000);
+
+        sync.runActualizeBuildRefs(SRV_ID, false, null, conn);
+
+        for (int i = 0; i < 3; i++) {
+            requestedPages.clear();
+
+            String res = sync.runActualizeBuildRefs(SRV_ID, false, null, conn);
+
+            assertTrue(res, res.startsWith("Entries saved 0 "));
+            assertEquals(2, requestedPages.size());
+        }
+
+        BuildRefSyncStatistics stat = sync.statistics().get(SRV_ID);
+
+        assertEquals(4, stat.syncs());
+        assertEquals(MIN_PAGE_SIZE, stat.pageSize());
+        assertEquals(0.0, stat.lastChangedRatio(), 0.0);
+    }
+
+    /**
+     * Full reindex requests all builds using max page size.
+     */
+    @Test
+    public void testFullReindexUsesMaxPage() {
+        markRecentChanged(100);
+
+        String res = sync.runActualizeBuildRefs(SRV_ID, true, null, conn);
+
+        assertTrue(res, res.contains("Builds checked " + BUILDS + " "));
+        assertEquals(BUILDS / MAX_PAGE_SIZE, requestedPages.size());
+        assertTrue(requestedPages.toString(), requestedPages.stream().allMatch(size -> size == MAX_PAGE_SIZE));
+        assertEquals(MIN_PAGE_SIZE, sync.statistics().get(SRV_ID).pageSize());
+    }
+
+    /** */
+    @Test
+    public void testNextPageSize() {
+        assertEquals(200, BuildRefSync.nextPageSize(100, 100, 50));
+        assertEquals(MAX_PAGE_SIZE, BuildRefSync.nextPageSize(800, 800, 800));
+        assertEquals(400, BuildRefSync.nextPageSize(400, 400, 40));
+        assertEquals(200, BuildRefSync.nextPageSize(400, 400, 39));
+        assertEquals(MIN_PAGE_SIZE, BuildRefSync.nextPageSize(100, 100, 0));
+        assertEquals(400, BuildRefSync.nextPageSize(400, 0, 0));
+    }
+
+    /**
+     * @param cnt Count of most recent builds to be changed.
+     */
+    private void markRecentChanged(int cnt) {
+        for (int i = 0; i < cnt; i++)
+            changed.add(BUILDS - i);
+    }
+}
@@ -43,6 +43,15 @@ public class TcBotConst {
     /**   */
     public static final int NOTIFY_MAX_AGE_SINCE_DETECT_FOR_NOTIFIED_ISSUE_HOURS = 24;
 
+    /** Notify about failure: max messages per second sent to Slack. */
+    public static final double NOTIFY_MAX_SLACK_MSGS_PER_SEC = 1.;
+
+    /** Notify about failure: max emails per second. */
+    public static final double NOTIFY_MAX_EMAILS_PER_SEC = 5.;
+
+    /** Notify about failure: max emails sent using one SMTP connection. */
+    public static final int NOTIFY_MAX_EMAILS_IN_BATCH = 50;
+
     /** Flakyness status change border: Count of test change status before considered as flaky. */
     public static final int FLAKYNESS_STATUS_CHANGE_BORDER = 1;
 
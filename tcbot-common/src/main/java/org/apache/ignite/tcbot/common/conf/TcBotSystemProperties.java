@@ -27,11 +27,26 @@ public class TcBotSystemProperties {
     /** Teamcity bot recorder. */
     public static final String TEAMCITY_BOT_RECORDER = "teamcity.bot.recorder";
 
+    /**
+     * Path to file recorded using {@link #TEAMCITY_BOT_RECORDER}. If set, TeamCity responses are replayed from this
+     * file instead of sending requests to the server.
+     */
+    public static final String TEAMCITY_BOT_REPLAY = "teamcity.bot.replay";
+
+    /** Latency in milliseconds added to each replayed response. Default is 0. */
+    public static final String TEAMCITY_BOT_REPLAY_LATENCY = "teamcity.bot.replay.latency";
+
     /**
      * Teamcity bot data storage configuration region size in gigabytes. Default is 20% of physical RAM.
      */
     public static final String TEAMCITY_BOT_REGIONSIZE = "teamcity.bot.regionsize";
 
+    /**
+     * Start web node as Ignite client, storage is provided by separately started server node. Default is false: server
+     * node with persistence is started inside web application.
+     */
+    public static final String TEAMCITY_BOT_IGNITE_CLIENT = "teamcity.bot.ignite.client";
+
     /** System property to specify: Teamcity helper home. Ignite home will be set to same dir. */
     public static final String TEAMCITY_HELPER_HOME = "teamcity.helper.home";
 }
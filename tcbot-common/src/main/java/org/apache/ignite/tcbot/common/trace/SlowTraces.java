@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.common.trace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps last completed traces which took longer than threshold.
+ */
+public class SlowTraces {
+    /** Max count of traces kept. */
+    public static final int MAX_TRACES = 20;
+
+    /** Default threshold of slow trace, millis. */
+    public static final long SLOW_TRACE_MS = 5000;
+
+    /** Threshold, nanos. */
+    private final long thresholdNanos;
+
+    /** Slow traces, most recent first. */
+    private final Deque<Span> traces = new ArrayDeque<>();
+
+    /** */
+    public SlowTraces() {
+        this(SLOW_TRACE_MS);
+    }
+
+    /**
+     * @param thresholdMs Threshold of slow trace, millis.
+     */
+    public SlowTraces(long thresholdMs) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Starts new trace kept if it is slow. Does nothing if trace is already started in current thread.
+     *
+     * @param name Name of root stage.
+     * @return Scope to be closed at the end of stage.
+     */
+    public Tracer.Scope startTrace(String name) {
+        return Tracer.startTrace(name, this::onTraceCompleted);
+    }
+
+    /**
+     * @param root Root span of completed trace.
+     */
+    public void onTraceCompleted(Span root) {
+        if (root.durationNanos() < thresholdNanos)
+            return;
+
+        synchronized (this) {
+            traces.addFirst(root);
+
+            while (traces.size() > MAX_TRACES)
+                traces.removeLast();
+        }
+    }
+
+    /**
+     * @return Slow traces, most recent first.
+     */
+    public synchronized List<Span> traces() {
+        return new ArrayList<>(traces);
+    }
+}
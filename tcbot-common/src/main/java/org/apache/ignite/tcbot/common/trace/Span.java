@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.common.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Timed stage of request processing, contains timings of nested stages. Nested stages may be added from several
+ * threads.
+ */
+public class Span {
+    /** Max spans recorded in one trace, protects from memory overuse in long loops. */
+    public static final int MAX_SPANS_IN_TRACE = 20_000;
+
+    /** Name of stage. */
+    private final String name;
+
+    /** Root span of trace, null for the root itself. */
+    @Nullable private final Span root;
+
+    /** Start timestamp, millis. */
+    private final long startTs = System.currentTimeMillis();
+
+    /** Start time, nanos. */
+    private final long startNanos = System.nanoTime();
+
+    /** Duration, nanos, or negative value if span is not finished. */
+    private volatile long durationNanos = -1;
+
+    /** Nested spans. */
+    private final List<Span> children = new ArrayList<>();
+
+    /** Count of spans in trace, used in root. */
+    private final AtomicInteger spans = new AtomicInteger(1);
+
+    /** Count of spans not recorded because of limit, used in root. */
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    /**
+     * @param name Name of stage.
+     * @param root Root span of trace, null for new trace.
+     */
+    Span(String name, @Nullable Span root) {
+        this.name = name;
+        this.root = root;
+    }
+
+    /**
+     * @param name Name of nested stage.
+     * @return Started nested span or null if trace is too large.
+     */
+    @Nullable Span child(String name) {
+        Span traceRoot = root();
+
+        if (traceRoot.spans.incrementAndGet() > MAX_SPANS_IN_TRACE) {
+            traceRoot.dropped.incrementAndGet();
+
+            return null;
+        }
+
+        Span child = new Span(name, traceRoot);
+
+        synchronized (this) {
+            children.add(child);
+        }
+
+        return child;
+    }
+
+    /**
+     * Stops timer of stage.
+     */
+    void finish() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return Root span of trace.
+     */
+    private Span root() {
+        return root == null ? this : root;
+    }
+
+    /**
+     * @return Name of stage.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Start timestamp, millis.
+     */
+    public long startTs() {
+        return startTs;
+    }
+
+    /**
+     * @return Duration of stage, nanos. Time elapsed from start for stage still running.
+     */
+    public long durationNanos() {
+        long duration = durationNanos;
+
+        return duration < 0 ? System.nanoTime() - startNanos : duration;
+    }
+
+    /**
+     * @return Nested spans in order of start.
+     */
+    public synchronized List<Span> children() {
+        return new ArrayList<>(children);
+    }
+
+    /**
+     * @return Count of spans in trace not recorded because of limit.
+     */
+    public int droppedSpans() {
+        return root().dropped.get();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.common.trace;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Lightweight per-request tracing: keeps tree of timed stages for current thread. Stages are recorded only if trace
+ * was started in current thread (or in thread submitted task wrapped by {@link #wrap(Callable)}), so outside of trace
+ * each stage costs only one thread local lookup.
+ */
+public final class Tracer {
+    /** Span of current thread. */
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    /** Scope for stages out of trace. */
+    private static final Scope NOOP = new Scope(null, null, null);
+
+    /** */
+    private Tracer() {
+    }
+
+    /**
+     * Starts new trace if there is no trace in current thread. Otherwise stage is expected to be recorded by enclosing
+     * trace, for example, as span of intercepted method.
+     *
+     * @param name Name of root stage.
+     * @param onTraceCompleted Closure for root span, called when new trace is completed.
+     * @return Scope to be closed at the end of stage.
+     */
+    public static Scope startTrace(String name, @Nullable Consumer<Span> onTraceCompleted) {
+        if (CURRENT.get() != null)
+            return NOOP;
+
+        Span root = new Span(name, null);
+
+        CURRENT.set(root);
+
+        return new Scope(root, null, onTraceCompleted);
+    }
+
+    /**
+     * Starts nested stage of current trace.
+     *
+     * @param name Name of stage.
+     * @return Scope to be closed at the end of stage, does nothing if there is no trace in current thread.
+     */
+    public static Scope span(String name) {
+        Span parent = CURRENT.get();
+
+        if (parent == null)
+            return NOOP;
+
+        Span span = parent.child(name);
+
+        if (span == null)
+            return NOOP;
+
+        CURRENT.set(span);
+
+        return new Scope(span, parent, null);
+    }
+
+    /**
+     * @return Span of current thread, null if there is no trace.
+     */
+    @Nullable public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param task Task to be submitted to another thread.
+     * @return Task recording its stages into trace of current thread.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Span parent = CURRENT.get();
+
+        if (parent == null)
+            return task;
+
+        return () -> {
+            Span prev = CURRENT.get();
+
+            CURRENT.set(parent);
+
+            try {
+                return task.call();
+            }
+            finally {
+                restore(prev);
+            }
+        };
+    }
+
+    /**
+     * @param task Task to be submitted to another thread.
+     * @return Task recording its stages into trace of current thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        Span parent = CURRENT.get();
+
+        if (parent == null)
+            return task;
+
+        return () -> {
+            Span prev = CURRENT.get();
+
+            CURRENT.set(parent);
+
+            try {
+                task.run();
+            }
+            finally {
+                restore(prev);
+            }
+        };
+    }
+
+    /**
+     * @param span Span to be set as current, null to clear.
+     */
+    private static void restore(@Nullable Span span) {
+        if (span == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(span);
+    }
+
+    /**
+     * Stage of trace, should be closed in the same thread.
+     */
+    public static class Scope implements AutoCloseable {
+        /** Span, null if stage is not recorded. */
+        @Nullable private final Span span;
+
+        /** Parent span, null for root. */
+        @Nullable private final Span parent;
+
+        /** Closure for root span. */
+        @Nullable private final Consumer<Span> onTraceCompleted;
+
+        /**
+         * @param span Span.
+         * @param parent Parent span.
+         * @param onTraceCompleted Closure for root span.
+         */
+        private Scope(@Nullable Span span, @Nullable Span parent, @Nullable Consumer<Span> onTraceCompleted) {
+            this.span = span;
+            this.parent = parent;
+            this.onTraceCompleted = onTraceCompleted;
+        }
+
+        /**
+         * @return Span, null if stage is not recorded.
+         */
+        @Nullable public Span span() {
+            return span;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            if (span == null)
+                return;
+
+            span.finish();
+
+            restore(parent);
+
+            if (onTraceCompleted != null)
+                onTraceCompleted.accept(span);
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.ignite.tcbot.common.exeption.ServiceForbiddenException;
 import org.apache.ignite.tcbot.common.exeption.ServiceUnauthorizedException;
 import org.apache.ignite.tcbot.common.exeption.ServiceBadRequestException;
 import org.apache.ignite.tcbot.common.exeption.ServiceConflictException;
@@ -80,6 +81,32 @@ public class HttpUtil {
      * @throws IllegalStateException if some unexpected HTTP error returned.
      */
     public static InputStream sendGetWithBasicAuth(String basicAuthTok, String url) throws IOException {
+        InputStream is = sendConditionalGetWithBasicAuth(basicAuthTok, url, null, null, null);
+
+        if (is == null)
+            throw new IllegalStateException("Service " + url + " returned not modified response to request without validators");
+
+        return is;
+    }
+
+    /**
+     * Send GET request to the TeamCity url. If validators of the cached response are provided, request is conditional:
+     * validators are sent in {@code If-None-Match} and {@code If-Modified-Since} headers.
+     *
+     * @param basicAuthTok Authorization token.
+     * @param url URL.
+     * @param etag ETag of cached response.
+     * @param lastModified Last-Modified of cached response.
+     * @param rspHeaders [OUT] - validators of the response: ETag and Last-Modified header values, if present.
+     * @return Input stream from connection or {@code null} if not modified (304) was returned from service.
+     * @throws IOException If communication failed.
+     * @throws FileNotFoundException If not found (404) was returned from service.
+     * @throws ServiceConflictException If conflict (409) was returned from service.
+     * @throws IllegalStateException if some unexpected HTTP error returned.
+     */
+    @Nullable public static InputStream sendConditionalGetWithBasicAuth(String basicAuthTok, String url,
+        @Nullable String etag, @Nullable String lastModified, @Nullable Map<String, String> rspHeaders)
+        throws IOException {
         final Stopwatch started = Stopwatch.createStarted();
         URL obj = new URL(url);
         HttpURLConnection con = (HttpURLConnection)obj.openConnection();
@@ -91,11 +118,29 @@ public class HttpUtil {
         con.setRequestProperty("Keep-Alive", "header");
         con.setRequestProperty("accept-charset", StandardCharsets.UTF_8.toString());
 
+        if (etag != null)
+            con.setRequestProperty("If-None-Match", etag);
+
+        if (lastModified != null)
+            con.setRequestProperty("If-Modified-Since", lastModified);
+
         int resCode = con.getResponseCode();
 
         logger.info(Thread.currentThread().getName() + ": Required: " + started.elapsed(TimeUnit.MILLISECONDS)
             + "ms : Sending 'GET' request to : " + url + " Response: " + resCode);
 
+        if (resCode == HttpURLConnection.HTTP_NOT_MODIFIED)
+            return null;
+
+        if (rspHeaders != null) {
+            for (String hdr : new String[] {"ETag", "Last-Modified"}) {
+                String val = con.getHeaderField(hdr);
+
+                if (val != null)
+                    rspHeaders.put(hdr, val);
+            }
+        }
+
         return getInputStream(con);
     }
 
@@ -206,6 +251,10 @@ public class HttpUtil {
         if (resCode == 401)
             throw new ServiceUnauthorizedException("Service " + con.getURL() + " returned forbidden error.");
 
+        if (resCode == 403)
+            throw new ServiceForbiddenException("Service " + con.getURL() + " returned Invalid Response Code : " + resCode + ":\n"
+                + detailsFromResponeText);
+
         if (resCode == 404)
             throw new FileNotFoundException("Service " + con.getURL() + " returned not found error. " + detailsFromResponeText);
 
@@ -19,6 +19,7 @@ package org.apache.ignite.tcbot.engine;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.internal.SingletonScope;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
 import org.apache.ignite.tcbot.engine.chain.BuildChainProcessor;
 import org.apache.ignite.tcbot.engine.tracked.IDetailedStatusForTrackedBranch;
 import org.apache.ignite.tcbot.engine.tracked.TrackedBranchChainsProcessor;
@@ -31,5 +32,6 @@ public class TcBotEngineModule extends AbstractModule {
     @Override protected void configure() {
         bind(BuildChainProcessor.class).in(new SingletonScope());
         bind(IDetailedStatusForTrackedBranch.class).to(TrackedBranchChainsProcessor.class).in(new SingletonScope());
+        bind(SlowTraces.class).in(new SingletonScope());
     }
 }
\ No newline at end of file
@@ -43,6 +43,8 @@ import org.apache.ignite.ci.teamcity.ignited.BuildRefCompacted;
 import org.apache.ignite.ci.teamcity.ignited.buildtype.ParametersCompacted;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
+import org.apache.ignite.tcbot.common.trace.SlowTraces;
+import org.apache.ignite.tcbot.common.trace.Tracer;
 import org.apache.ignite.tcbot.common.util.FutureUtil;
 import org.apache.ignite.tcbot.engine.pool.TcUpdatePool;
 import org.apache.ignite.tcbot.engine.ui.LrTestUi;
@@ -71,6 +73,9 @@ public class BuildChainProcessor {
     /** Compactor. */
     @Inject private IStringCompactor compactor;
 
+    /** Slow traces. */
+    @Inject private SlowTraces slowTraces;
+
     /**
      * Collects data about all long-running tests (run time more than one minute) across all suites in RunAll chain in
      * master branch.
@@ -131,6 +136,9 @@ public class BuildChainProcessor {
     }
 
     /**
+     * Stages of context loading are recorded into trace of current request. If there is no such trace, new one is
+     * started and kept in {@link SlowTraces} if it is slow.
+     *
      * @param tcIgn Teamcity Ignited.
      * @param entryPoints Entry point(s): Build(s) to start scan from.
      * @param includeLatestRebuild Include latest rebuild.
@@ -141,6 +149,7 @@ public class BuildChainProcessor {
      * @param sortOption how to sort suites in context, default is by failure rate (most often - first).
      */
     @AutoProfiling
+    @SuppressWarnings("try")
     public FullChainRunCtx loadFullChainContext(
         ITeamcityIgnited tcIgn,
         Collection<Integer> entryPoints,
@@ -154,6 +163,32 @@ public class BuildChainProcessor {
         if (entryPoints.isEmpty())
             return new FullChainRunCtx(Build.createFakeStub());
 
+        try (Tracer.Scope ignored = slowTraces.startTrace("BuildChainProcessor.loadFullChainContext")) {
+            return loadFullChainContext0(tcIgn, entryPoints, includeLatestRebuild, procLog, includeScheduledInfo,
+                failRateBranch, mode, sortOption);
+        }
+    }
+
+    /**
+     * @param tcIgn Teamcity Ignited.
+     * @param entryPoints Entry point(s): Build(s) to start scan from.
+     * @param includeLatestRebuild Include latest rebuild.
+     * @param procLog Process logger.
+     * @param includeScheduledInfo Include scheduled info.
+     * @param failRateBranch Fail rate branch.
+     * @param mode background data update mode.
+     * @param sortOption how to sort suites in context, default is by failure rate (most often - first).
+     */
+    @SuppressWarnings("try")
+    private FullChainRunCtx loadFullChainContext0(
+        ITeamcityIgnited tcIgn,
+        Collection<Integer> entryPoints,
+        LatestRebuildMode includeLatestRebuild,
+        ProcessLogsMode procLog,
+        boolean includeScheduledInfo,
+        @Nullable String failRateBranch,
+        SyncMode mode,
+        @Nullable SortOption sortOption) {
         Integer failRateBranchId = compactor.getStringIdIfPresent(RunHistSync.normalizeBranch(failRateBranch));
 
         Map<Integer, Future<FatBuildCompacted>> builds = loadAllBuildsInChains(entryPoints, mode, tcIgn);
@@ -173,6 +208,15 @@ public class BuildChainProcessor {
             }
         );
 
+        Set<Integer> buildTypeIds = freshRebuilds.keySet().stream()
+            .map(compactor::getStringIdIfPresent)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+        //ask for history for all suites in parallel with changes loading, using one query
+        Future<?> histPrefetch = tcUpdatePool.getService().submit(
+            Tracer.wrap(() -> tcIgn.prefetchSuiteRunHist(buildTypeIds, failRateBranchId)));
+
         List<MultBuildRunCtx> contexts = new ArrayList<>(freshRebuilds.size());
 
         freshRebuilds.forEach((bt, listBuilds) -> {
@@ -189,11 +233,6 @@ public class BuildChainProcessor {
 
             buildsForSuite.forEach(buildCompacted -> ctx.addBuild(loadChanges(buildCompacted, tcIgn)));
 
-            //ask for history for the suite in parallel
-            tcUpdatePool.getService().submit(() -> {
-                ctx.history(tcIgn, failRateBranchId);
-            });
-
             analyzeTests(ctx, tcIgn, procLog);
 
             fillBuildCounts(ctx, tcIgn, includeScheduledInfo);
@@ -206,6 +245,26 @@ public class BuildChainProcessor {
         Future<FatBuildCompacted> build = getOrLoadBuild(someEntryPnt, mode, builds, tcIgn);
         FullChainRunCtx fullChainRunCtx = new FullChainRunCtx(FutureUtil.getResult(build).toBuild(compactor));
 
+        try (Tracer.Scope ignored = Tracer.span("history")) {
+            // failed prefetch is not critical, history will be loaded on demand
+            FutureUtil.getResultSilent(histPrefetch);
+
+            sortSuites(contexts, tcIgn, failRateBranchId, sortOption);
+        }
+
+        fullChainRunCtx.addAllSuites(contexts);
+
+        return fullChainRunCtx;
+    }
+
+    /**
+     * @param contexts Suites contexts to sort.
+     * @param tcIgn Teamcity Ignited.
+     * @param failRateBranchId Fail rate branch ID.
+     * @param sortOption how to sort suites in context, default is by failure rate (most often - first).
+     */
+    private void sortSuites(List<MultBuildRunCtx> contexts, ITeamcityIgnited tcIgn, Integer failRateBranchId,
+        @Nullable SortOption sortOption) {
         Function<MultBuildRunCtx, Double> function = null;
 
         if (sortOption == null || sortOption == SortOption.FailureRate) {
@@ -229,13 +288,10 @@ public class BuildChainProcessor {
 
         if (function != null)
             contexts.sort(Comparator.comparing(function).reversed());
-
-        fullChainRunCtx.addAllSuites(contexts);
-
-        return fullChainRunCtx;
     }
 
     @Nonnull
+    @AutoProfiling
     public Map<Integer, Future<FatBuildCompacted>> loadAllBuildsInChains(Collection<Integer> entryPoints,
         SyncMode mode,
         ITeamcityIgnited tcIgn) {
@@ -268,6 +324,7 @@ public class BuildChainProcessor {
     }
 
     @Nonnull
+    @AutoProfiling
     public Map<String, List<FatBuildCompacted>> groupByBuildType(Map<Integer, Future<FatBuildCompacted>> builds) {
         Map<String, List<FatBuildCompacted>> buildsByBt = new ConcurrentHashMap<>();
         builds.values().forEach(bFut -> {
@@ -294,6 +351,7 @@ public class BuildChainProcessor {
      * @param tcIgnited TC connection.
      * @return Full context.
      */
+    @AutoProfiling
     public SingleBuildRunCtx loadChanges(@Nonnull FatBuildCompacted buildCompacted,
         ITeamcityIgnited tcIgnited) {
         SingleBuildRunCtx ctx = new SingleBuildRunCtx(buildCompacted, compactor);
@@ -425,7 +483,7 @@ public class BuildChainProcessor {
         if (mode == SyncMode.NONE)
             return Futures.immediateFuture(teamcityIgnited.getFatBuild(id, SyncMode.NONE));
 
-        return tcUpdatePool.getService().submit(() -> teamcityIgnited.getFatBuild(id, mode));
+        return tcUpdatePool.getService().submit(Tracer.wrap(() -> teamcityIgnited.getFatBuild(id, mode)));
     }
 
     private List<Future<FatBuildCompacted>> completed(List<FatBuildCompacted> builds) {
@@ -46,7 +46,6 @@ import org.apache.ignite.tcbot.persistence.IStringCompactor;
 import org.apache.ignite.tcignited.buildlog.ILogCheckResult;
 import org.apache.ignite.tcignited.buildlog.ITestLogCheckResult;
 import org.apache.ignite.tcservice.ITeamcity;
-import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
 
 /**
  * Single build occurrence with changes, tag and log results.
@@ -177,13 +176,6 @@ public class SingleBuildRunCtx implements ISuiteResults {
         return Collections.unmodifiableList(changes);
     }
 
-    public List<TestOccurrenceFull> getTests() {
-        if (isComposite())
-            return Collections.emptyList();
-
-        return buildCompacted.getTestOcurrences(compactor).getTests();
-    }
-
     @Nonnull Stream<? extends Future<?>> getFutures() {
         return logCheckResFut == null ? Stream.empty() : Stream.of((Future<?>)logCheckResFut);
     }
@@ -23,6 +23,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.ITestDetailsStore;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestCompacted;
 import org.apache.ignite.tcbot.common.TcBotConst;
 import org.apache.ignite.tcbot.persistence.IStringCompactor;
@@ -92,9 +93,12 @@ public class TestCompactedMult {
     }
 
 
-    public Iterable<TestOccurrenceFull> getOccurrences() {
+    /**
+     * @param detailsStore Store of failed tests details, required to load details saved in the store.
+     */
+    public Iterable<TestOccurrenceFull> getOccurrences(ITestDetailsStore detailsStore) {
         return occurrences.stream()
-            .map(testCompacted -> testCompacted.toTestOccurrence(compactor, 0))
+            .map(testCompacted -> testCompacted.toTestOccurrence(compactor, detailsStore, 0))
             .collect(Collectors.toList());
     }
 
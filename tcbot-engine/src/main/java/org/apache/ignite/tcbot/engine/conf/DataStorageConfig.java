@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.engine.conf;
+
+import javax.annotation.Nullable;
+
+/**
+ * Ignite data storage settings. Fields not specified in config are set to defaults.
+ */
+public class DataStorageConfig {
+    /** Max size of default data region in gigabytes. Default is 20% of physical RAM. */
+    @Nullable private Integer regionMaxSizeGb;
+
+    /** Checkpoint page buffer size of default data region in megabytes. */
+    @Nullable private Integer checkpointPageBufferSizeMb;
+
+    /** WAL segment size in megabytes. */
+    @Nullable private Integer walSegmentSizeMb;
+
+    /** Count of WAL segments in work directory. */
+    @Nullable private Integer walSegments;
+
+    /** Max size of persistent region for bulk caches (fat builds, log check results) in gigabytes. */
+    @Nullable private Integer bulkRegionMaxSizeGb;
+
+    /** Max size of region for rebuildable caches (run history) in gigabytes. */
+    @Nullable private Integer rebuildableRegionMaxSizeGb;
+
+    /**
+     * Store rebuildable caches on disk. Default is true. If false, caches are kept in memory with page eviction and
+     * run history is rebuilt from fat builds after each restart.
+     */
+    @Nullable private Boolean rebuildableRegionPersistent;
+
+    /**
+     * @return Max size of default data region in gigabytes.
+     */
+    @Nullable public Integer regionMaxSizeGb() {
+        return regionMaxSizeGb;
+    }
+
+    /**
+     * @return Checkpoint page buffer size of default data region in megabytes.
+     */
+    @Nullable public Integer checkpointPageBufferSizeMb() {
+        return checkpointPageBufferSizeMb;
+    }
+
+    /**
+     * @return WAL segment size in megabytes.
+     */
+    @Nullable public Integer walSegmentSizeMb() {
+        return walSegmentSizeMb;
+    }
+
+    /**
+     * @return Count of WAL segments in work directory.
+     */
+    @Nullable public Integer walSegments() {
+        return walSegments;
+    }
+
+    /**
+     * @return Max size of persistent region for bulk caches in gigabytes.
+     */
+    @Nullable public Integer bulkRegionMaxSizeGb() {
+        return bulkRegionMaxSizeGb;
+    }
+
+    /**
+     * @return Max size of region for rebuildable caches in gigabytes.
+     */
+    @Nullable public Integer rebuildableRegionMaxSizeGb() {
+        return rebuildableRegionMaxSizeGb;
+    }
+
+    /**
+     * @return {@code True} if rebuildable caches are stored on disk.
+     */
+    public boolean rebuildableRegionPersistent() {
+        return !Boolean.FALSE.equals(rebuildableRegionPersistent);
+    }
+}
@@ -55,4 +55,11 @@ public interface ITcBotConfig extends IDataSourcesConfigSupplier {
      * @return notification settings config.
      */
     public NotificationsConfig notifications();
+
+    /**
+     * @return Ignite data storage settings.
+     */
+    public default DataStorageConfig dataStorage() {
+        return new DataStorageConfig();
+    }
 }
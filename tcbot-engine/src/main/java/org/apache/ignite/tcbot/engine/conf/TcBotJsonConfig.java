@@ -50,6 +50,9 @@ public class TcBotJsonConfig implements ITrackedBranchesConfig {
     /** Notifications settings & tokens. */
     private NotificationsConfig notifications = new NotificationsConfig();
 
+    /** Ignite data storage settings. */
+    @Nullable private DataStorageConfig dataStorage;
+
     @Override
     public Stream<ITrackedBranch> branchesStream() {
         return branches.stream().map(t->t);
@@ -99,4 +102,11 @@ public class TcBotJsonConfig implements ITrackedBranchesConfig {
     public NotificationsConfig notifications() {
         return notifications;
     }
+
+    /**
+     * @return Ignite data storage settings.
+     */
+    @Nullable public DataStorageConfig dataStorage() {
+        return dataStorage;
+    }
 }
@@ -315,7 +315,7 @@ public class PrChainsProcessor {
                         if (!Strings.isNullOrEmpty(testBlockerComment)) {
                             final DsTestFailureUi failure = new DsTestFailureUi();
 
-                            failure.initFromOccurrence(occurrence, tcIgnited, ctx.projectId(), ctx.branchName(), baseBranch, baseBranchId);
+                            failure.initFromOccurrence(occurrence, tcIgnited, ctx.projectId(), ctx.branchName(), baseBranch, stat);
 
                             return failure;
                         }
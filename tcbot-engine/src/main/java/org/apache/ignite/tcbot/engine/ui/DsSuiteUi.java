@@ -19,14 +19,15 @@ package org.apache.ignite.tcbot.engine.ui;
 
 import com.google.common.base.Strings;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -149,6 +150,12 @@ public class DsSuiteUi extends DsHistoryStatUi {
 
     public boolean success = false;
 
+    /** Index of {@link #testFailures} by name fragments, lazily created for merging log check warnings. */
+    @Nullable private transient FailuresByNameIndex failuresIdx;
+
+    /** Index of {@link #warnOnly} by name fragments, lazily created for merging log check warnings. */
+    @Nullable private transient FailuresByNameIndex warnOnlyIdx;
+
     /**
      * @param tcIgnited Tc ignited.
      * @param suite Suite.
@@ -192,23 +199,19 @@ public class DsSuiteUi extends DsHistoryStatUi {
         webToHistBaseBranch = buildWebLink(tcIgnited, suite, baseBranch);
         webToBuild = buildWebLinkToBuild(tcIgnited, suite);
 
-        Integer buildTypeIdId = suite.buildTypeIdId();
         if (includeTests) {
-            List<TestCompactedMult> tests = suite.getFilteredTests(test -> test.includeIntoReport(tcIgnited, baseBranchId));
-
-            Function<TestCompactedMult, Float> function = testCompactedMult -> {
-                IRunHistory res = testCompactedMult.history(tcIgnited, baseBranchId);
+            List<TestWithHistory> tests = suite.getFilteredTests(test -> test.includeIntoReport(tcIgnited, baseBranchId))
+                .stream()
+                .map(test -> new TestWithHistory(test, test.history(tcIgnited, baseBranchId)))
+                .collect(Collectors.toList());
 
-                return res == null ? 0f : res.getFailRate();
-            };
+            tests.sort(Comparator.comparing(TestWithHistory::failRate).reversed());
 
-            tests.sort(Comparator.comparing(function).reversed());
-
-            tests.forEach(occurrence -> {
+            tests.forEach(t -> {
                 final DsTestFailureUi failure = new DsTestFailureUi();
-                failure.initFromOccurrence(occurrence, tcIgnited, suite.projectId(),
-                    suite.branchName(), baseBranch, baseBranchId);
-                failure.initStat(occurrence, buildTypeIdId, tcIgnited, baseBranchId, curBranchId);
+                failure.initFromOccurrence(t.test, tcIgnited, suite.projectId(),
+                    suite.branchName(), baseBranch, t.baseBranchHist);
+                failure.initStat(t.test, tcIgnited, baseBranchId, curBranchId, t.baseBranchHist);
 
                 testFailures.add(failure);
             });
@@ -305,10 +308,13 @@ public class DsSuiteUi extends DsHistoryStatUi {
             latestRunsSrc = statInBaseBranch;
 
         if (latestRunsSrc != null) {
-            if (latestRunsSrc.detectTemplate(EventTemplates.newFailureForFlakyTest) != null)
+            Integer[] detected = latestRunsSrc.detectTemplates(EventTemplates.newFailureForFlakyTest,
+                EventTemplates.newCriticalFailure);
+
+            if (detected[0] != null)
                 problemRef = new DsProblemRef("New Failure");
 
-            if (latestRunsSrc.detectTemplate(EventTemplates.newCriticalFailure) != null)
+            if (detected[1] != null)
                 problemRef = new DsProblemRef("New Critical Failure");
         }
 
@@ -330,32 +336,58 @@ public class DsSuiteUi extends DsHistoryStatUi {
         final DsTestFailureUi failure = new DsTestFailureUi();
 
         Integer baseBranchId = compactor.getStringIdIfPresent(normalizeBranch(failRateBranch));
-        Integer buildTypeIdId = suite.buildTypeIdId();
         failure.initFromOccurrence(occurrence, tcIgnited, suite.projectId(), suite.branchName(),
             failRateBranch, baseBranchId);
 
-        failure.initStat(occurrence, buildTypeIdId, tcIgnited,  baseBranchId,
-            compactor.getStringIdIfPresent(normalizeBranch(suite.branchName())));
+        failure.initStat(occurrence, tcIgnited, baseBranchId,
+            compactor.getStringIdIfPresent(normalizeBranch(suite.branchName())),
+            occurrence.history(tcIgnited, baseBranchId));
 
         return failure;
     }
 
+    /**
+     * Finds test failure or warning-only entry by test name from log and adds log check warnings to it. Name matching
+     * uses index of name fragments, see {@link FailuresByNameIndex}, and falls back to substring search among failures
+     * having all trigrams of the name.
+     *
+     * @param testName Test name, as it was reported in build log.
+     * @param logCheckRes Log check result for test.
+     */
     public void findFailureAndAddWarning(String testName, ITestLogCheckResult logCheckRes) {
-        DsTestFailureUi failure = testFailures.stream().filter(f -> f.name.contains(testName)).findAny().orElseGet(
-            () -> {
-                return warnOnly.stream().filter(f -> f.name.contains(testName)).findAny().orElseGet(
-                    () -> {
-                        DsTestFailureUi f = new DsTestFailureUi();
-                        f.name = testName + " (warning)";
-                        warnOnly.add(f);
-
-                        return f;
-                    });
-            });
+        if (failuresIdx == null || failuresIdx.isOutdated(testFailures))
+            failuresIdx = new FailuresByNameIndex(testFailures);
+
+        if (warnOnlyIdx == null || warnOnlyIdx.isOutdated(warnOnly))
+            warnOnlyIdx = new FailuresByNameIndex(warnOnly);
+
+        failuresIdx.actualize();
+        warnOnlyIdx.actualize();
+
+        DsTestFailureUi failure = failuresIdx.find(testName);
+
+        if (failure == null)
+            failure = warnOnlyIdx.find(testName);
+
+        if (failure == null) {
+            failure = new DsTestFailureUi();
+            failure.name = testName + " (warning)";
+            warnOnly.add(failure);
+
+            warnOnlyIdx.actualize();
+        }
 
         failure.warnings.addAll(logCheckRes.getWarns());
     }
 
+    /**
+     * @return Count of substring checks done by {@link #findFailureAndAddWarning} fallback search.
+     */
+    int substringChecks() {
+        return (failuresIdx == null ? 0 : failuresIdx.substringChecks())
+            + (warnOnlyIdx == null ? 0 : warnOnlyIdx.substringChecks());
+    }
+
     private static String buildWebLinkToBuild(ITeamcityIgnited teamcity, MultBuildRunCtx suite) {
         return teamcity.host() + "viewLog.html?buildId=" + Integer.toString(suite.getBuildId());
     }
@@ -455,4 +487,230 @@ public class DsSuiteUi extends DsHistoryStatUi {
 
         return res;
     }
+
+    /**
+     * Test with its history in base branch, history is looked up once and then used for sorting and UI filling.
+     */
+    private static class TestWithHistory {
+        /** Test. */
+        private final TestCompactedMult test;
+
+        /** Base branch history. */
+        @Nullable private final IRunHistory baseBranchHist;
+
+        /** Fail rate in base branch, sort key. */
+        private final float failRate;
+
+        /**
+         * @param test Test.
+         * @param baseBranchHist Base branch history.
+         */
+        TestWithHistory(TestCompactedMult test, @Nullable IRunHistory baseBranchHist) {
+            this.test = test;
+            this.baseBranchHist = baseBranchHist;
+            this.failRate = baseBranchHist == null ? 0f : baseBranchHist.getFailRate();
+        }
+
+        /** */
+        float failRate() {
+            return failRate;
+        }
+    }
+
+    /**
+     * Index of test failures by fragments of the name. Replaces {@code f.name.contains(testName)} scan for names
+     * reported by build log (e.g. {@code Class.testMethod}) which are suffixes of the full TC test name (e.g. {@code
+     * org.apache.ignite.Suite: org.apache.ignite.Class.testMethod[param]}). Fragment starts at the beginning of the
+     * name or after a separator, and ends at the end of the name or before parameters/comment. So lookup is O(1)
+     * instead of linear scan for each warning.
+     *
+     * Names not found in fragments index are searched using {@code contains} check only for failures having all
+     * 3-character substrings (trigrams) of searched name, so names not split by separators are still matched without
+     * scan of the whole list. Names not found at all are remembered until new items are indexed.
+     *
+     * Index tracks list it was created for, items appended to the list are indexed by {@link #actualize()}.
+     */
+    private static class FailuresByNameIndex {
+        /** Indexed list. */
+        private final List<DsTestFailureUi> list;
+
+        /** Count of items from list already indexed. */
+        private int indexedCnt;
+
+        /** Name fragment to first failure containing it. */
+        private final Map<String, DsTestFailureUi> byFragment = new HashMap<>();
+
+        /** Trigram of name to positions in list of failures having names containing it. */
+        private final Map<Long, BitSet> byTrigram = new HashMap<>();
+
+        /** Names not found in indexed items. */
+        private final Set<String> misses = new HashSet<>();
+
+        /** Count of {@code contains} checks done, for tests. */
+        private int substringChecks;
+
+        /**
+         * @param list List to index.
+         */
+        FailuresByNameIndex(List<DsTestFailureUi> list) {
+            this.list = list;
+        }
+
+        /**
+         * @param list Current list.
+         * @return {@code true} if index was created for another list or some items were removed from the list.
+         */
+        boolean isOutdated(List<DsTestFailureUi> list) {
+            return this.list != list || indexedCnt > list.size();
+        }
+
+        /**
+         * Adds items appended to the list since last call.
+         */
+        void actualize() {
+            if (indexedCnt < list.size())
+                misses.clear();
+
+            for (; indexedCnt < list.size(); indexedCnt++) {
+                DsTestFailureUi failure = list.get(indexedCnt);
+
+                if (failure.name != null) {
+                    addFragments(failure.name, failure);
+                    addTrigrams(failure.name, indexedCnt);
+                }
+            }
+        }
+
+        /**
+         * @param testName Test name.
+         * @return Failure having name containing test name as fragment, otherwise first failure (in list order) having
+         * name containing test name, or {@code null}.
+         */
+        @Nullable DsTestFailureUi find(String testName) {
+            DsTestFailureUi failure = byFragment.get(testName);
+
+            if (failure != null)
+                return failure;
+
+            if (misses.contains(testName))
+                return null;
+
+            BitSet candidates = candidates(testName);
+
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                DsTestFailureUi next = list.get(i);
+
+                substringChecks++;
+
+                if (next.name != null && next.name.contains(testName)) {
+                    byFragment.put(testName, next);
+
+                    return next;
+                }
+            }
+
+            misses.add(testName);
+
+            return null;
+        }
+
+        /**
+         * @return Count of {@code contains} checks done.
+         */
+        int substringChecks() {
+            return substringChecks;
+        }
+
+        /**
+         * @param testName Test name.
+         * @return Positions of indexed failures having all trigrams of test name.
+         */
+        private BitSet candidates(String testName) {
+            BitSet res = new BitSet(indexedCnt);
+
+            if (testName.length() < 3) {
+                res.set(0, indexedCnt);
+
+                return res;
+            }
+
+            for (int i = 0; i + 3 <= testName.length(); i++) {
+                BitSet positions = byTrigram.get(trigram(testName, i));
+
+                if (positions == null)
+                    return new BitSet();
+
+                if (i == 0)
+                    res.or(positions);
+                else
+                    res.and(positions);
+
+                if (res.isEmpty())
+                    break;
+            }
+
+            return res;
+        }
+
+        /**
+         * @param name Failure name.
+         * @param pos Position of failure in list.
+         */
+        private void addTrigrams(String name, int pos) {
+            for (int i = 0; i + 3 <= name.length(); i++)
+                byTrigram.computeIfAbsent(trigram(name, i), k -> new BitSet()).set(pos);
+        }
+
+        /**
+         * @param str String.
+         * @param start Trigram start.
+         * @return Trigram packed to long.
+         */
+        private static long trigram(String str, int start) {
+            return ((long)str.charAt(start) << 32) | ((long)str.charAt(start + 1) << 16) | str.charAt(start + 2);
+        }
+
+        /**
+         * @param name Failure name.
+         * @param failure Failure.
+         */
+        private void addFragments(String name, DsTestFailureUi failure) {
+            int end = name.length();
+            int paramsStart = firstParamsStart(name);
+
+            for (int start = 0; start < end; start++) {
+                if (start > 0 && !isSeparator(name.charAt(start - 1)))
+                    continue;
+
+                byFragment.putIfAbsent(name.substring(start), failure);
+
+                if (paramsStart > start)
+                    byFragment.putIfAbsent(name.substring(start, paramsStart), failure);
+            }
+        }
+
+        /**
+         * @param name Name.
+         * @return Position where test parameters or comment starts, or {@code -1}.
+         */
+        private static int firstParamsStart(String name) {
+            int res = -1;
+
+            for (String marker : new String[] {"[", "-[", " ("}) {
+                int idx = name.indexOf(marker);
+
+                if (idx > 0 && (res < 0 || idx < res))
+                    res = idx;
+            }
+
+            return res;
+        }
+
+        /**
+         * @param c Character.
+         */
+        private static boolean isSeparator(char c) {
+            return c == '.' || c == ':' || c == ' ' || c == '#' || c == '$';
+        }
+    }
 }
@@ -43,6 +43,10 @@ public class DsSummaryUi extends UpdateInfo {
     @Nullable
     private String trackedBranch;
 
+    /** Timing breakdown of report calculation, filled if requested. */
+    @Nullable
+    public SpanUi trace;
+
     public DsSummaryUi addChainOnServer(DsChainUi chainStatus) {
         servers.add(chainStatus);
 
@@ -104,6 +104,24 @@ public class DsTestFailureUi {
         @Nullable final String branchName,
         @Nullable final String baseBranchName,
         Integer baseBranchId) {
+        initFromOccurrence(failure, tcIgn, projectId, branchName, baseBranchName,
+            failure.history(tcIgn, baseBranchId));
+    }
+
+    /**
+     * @param failure test ocurrence (probably multiple)
+     * @param tcIgn Teamcity.
+     * @param projectId project ID.
+     * @param branchName current branch name.
+     * @param baseBranchName base branch name (e.g. master), without normalization.
+     * @param baseBranchStat Test history in base branch, already found by caller.
+     */
+    public void initFromOccurrence(@Nonnull final TestCompactedMult failure,
+        @Nonnull final ITeamcityIgnited tcIgn,
+        @Nullable final String projectId,
+        @Nullable final String branchName,
+        @Nullable final String baseBranchName,
+        @Nullable final IRunHistory baseBranchStat) {
         success = !failure.isFailedButNotMuted();
         name = failure.getName();
         investigated = failure.isInvestigated();
@@ -123,7 +141,7 @@ public class DsTestFailureUi {
                 testName = testComps[testComps.length - 2] + "." + testComps[testComps.length - 1];
         }
 
-        failure.getOccurrences().forEach(full -> {
+        failure.getOccurrences(tcIgn::getTestDetails).forEach(full -> {
             String details = full.details;
 
             if (details != null) {
@@ -147,8 +165,7 @@ public class DsTestFailureUi {
                     webUrlBaseBranch = buildWebLink(tcIgn, full.test.id, projectId, baseBranchName);
         });
 
-        final IRunHistory stat = failure.history(tcIgn, baseBranchId);
-        blockerComment = failure.getPossibleBlockerComment(stat);
+        blockerComment = failure.getPossibleBlockerComment(baseBranchStat);
     }
 
     /**
@@ -193,16 +210,16 @@ public class DsTestFailureUi {
     }
 
     /**
-     * @param occurrence
-     * @param buildTypeIdId
+     * @param occurrence Test occurrence (probably multiple).
      * @param tcIgnited TC service as Run stat supplier.
      * @param baseBranchId Base branch: Fail rate and flakyness detection normalized branch.
      * @param curBranchNormalized Cur branch normalized.
+     * @param stat Test history in base branch, already found by caller.
      */
-    public void initStat(TestCompactedMult occurrence, Integer buildTypeIdId, ITeamcityIgnited tcIgnited,
+    public void initStat(TestCompactedMult occurrence, ITeamcityIgnited tcIgnited,
         @Nullable Integer baseBranchId,
-        @Nullable Integer curBranchNormalized) {
-        final IRunHistory stat = occurrence.history(tcIgnited, baseBranchId);
+        @Nullable Integer curBranchNormalized,
+        @Nullable IRunHistory stat) {
         histBaseBranch.init(stat);
 
         IRunHistory statForProblemsDetection;
@@ -220,10 +237,13 @@ public class DsTestFailureUi {
             statForProblemsDetection = stat;
 
         if (statForProblemsDetection != null) {
-            if (statForProblemsDetection.detectTemplate(EventTemplates.newFailure) != null)
+            Integer[] detected = statForProblemsDetection.detectTemplates(EventTemplates.newFailure,
+                EventTemplates.newContributedTestFailure);
+
+            if (detected[0] != null)
                 problemRef = new DsProblemRef("New Failure");
 
-            if (statForProblemsDetection.detectTemplate(EventTemplates.newContributedTestFailure) != null)
+            if (detected[1] != null)
                 problemRef = new DsProblemRef("Recently contributed test failure");
         }
     }
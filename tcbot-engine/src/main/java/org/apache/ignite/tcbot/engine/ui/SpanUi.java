@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.engine.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcbot.common.trace.Span;
+import org.apache.ignite.tcbot.common.util.TimeUtil;
+
+/**
+ * Timing breakdown of trace. Stages with the same name and parent are merged, so their duration is sum of durations
+ * and may exceed duration of parent for stages executed in parallel. UI model, so it contains public fields.
+ */
+@SuppressWarnings({"WeakerAccess", "PublicField"})
+public class SpanUi {
+    /** Stage name. */
+    public String name;
+
+    /** Count of merged stages. */
+    public int count;
+
+    /** Start time of trace, filled for root only. */
+    @Nullable public String start;
+
+    /** Total duration of merged stages. */
+    public String duration;
+
+    /** Average duration of stage. */
+    public String avgDuration;
+
+    /** Count of stages not recorded because trace is too large, filled for root only. */
+    @Nullable public Integer droppedSpans;
+
+    /** Nested stages. */
+    public List<SpanUi> children = new ArrayList<>();
+
+    /**
+     * @param root Root span of trace.
+     */
+    public static SpanUi of(Span root) {
+        SpanUi res = merge(Collections.singletonList(root));
+
+        res.start = TimeUtil.timestampToDateTimePrintable(root.startTs());
+
+        int dropped = root.droppedSpans();
+
+        if (dropped > 0)
+            res.droppedSpans = dropped;
+
+        return res;
+    }
+
+    /**
+     * @param spans Spans with the same name and parent.
+     */
+    private static SpanUi merge(List<Span> spans) {
+        SpanUi res = new SpanUi();
+
+        res.name = spans.get(0).name();
+        res.count = spans.size();
+
+        long nanos = spans.stream().mapToLong(Span::durationNanos).sum();
+
+        res.duration = TimeUtil.nanosToDurationPrintable(nanos);
+        res.avgDuration = TimeUtil.nanosToDurationPrintable(nanos / res.count);
+
+        Map<String, List<Span>> childrenByName = new LinkedHashMap<>();
+
+        spans.forEach(span -> span.children()
+            .forEach(child -> childrenByName.computeIfAbsent(child.name(), k -> new ArrayList<>()).add(child)));
+
+        childrenByName.values().forEach(group -> res.children.add(merge(group)));
+
+        return res;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcbot.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.ci.db.TcHelperDb;
+import org.apache.ignite.ci.di.IgniteTcBotModule;
+import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
+import org.apache.ignite.tcbot.engine.conf.ITcBotConfig;
+import org.apache.ignite.tcbot.engine.pr.PrChainsProcessor;
+import org.apache.ignite.tcbot.engine.tracked.DisplayMode;
+import org.apache.ignite.tcbot.engine.tracked.IDetailedStatusForTrackedBranch;
+import org.apache.ignite.tcbot.engine.ui.DsSummaryUi;
+import org.apache.ignite.tcbot.persistence.scheduler.IScheduler;
+import org.apache.ignite.tcignited.SyncMode;
+import org.apache.ignite.tcignited.creds.ICredentialsProv;
+import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
+import org.apache.ignite.tcservice.http.TeamcityReplayConnection;
+
+/**
+ * Starts full Guice graph of the bot against TeamCity responses replayed from recording and measures latency of
+ * services providing tracked branch ({@code /tracked/results}) and PR ({@code /pr/results}) reports, including JSON
+ * rendering of the result.
+ *
+ * Arguments are {@code key=value} pairs: {@code iterations} - measured runs of each report, {@code branch} - tracked
+ * branch, {@code server}, {@code suite}, {@code pr} - server code, suite ID and TC branch of PR report. PR report is
+ * skipped if {@code suite} or {@code pr} is not set.
+ */
+public class TcBotLoadTest {
+    /** Default count of measured runs. */
+    public static final int DEFAULT_ITERATIONS = 10;
+
+    /** Credentials: replayed responses are not checked for authorization. */
+    private static final ICredentialsProv CREDS = new ICredentialsProv() {
+        @Override public String getUser(String srvCode) {
+            return "loadtest";
+        }
+
+        @Override public String getPassword(String srvCode) {
+            return "loadtest";
+        }
+    };
+
+    /** JSON mapper, used to include rendering of result as REST service does. */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /** Injector. */
+    private final Injector injector;
+
+    /**
+     * @param injector Injector.
+     */
+    private TcBotLoadTest(Injector injector) {
+        this.injector = injector;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Preconditions.checkState(System.getProperty(TcBotSystemProperties.TEAMCITY_BOT_REPLAY) != null,
+            "Path to recording should be set using -D" + TcBotSystemProperties.TEAMCITY_BOT_REPLAY);
+
+        Map<String, String> params = new HashMap<>();
+
+        for (String arg : args) {
+            int idx = arg.indexOf('=');
+
+            Preconditions.checkArgument(idx > 0, "Argument should be key=value: " + arg);
+
+            params.put(arg.substring(0, idx), arg.substring(idx + 1));
+        }
+
+        int iterations = Integer.parseInt(params.getOrDefault("iterations", String.valueOf(DEFAULT_ITERATIONS)));
+
+        IgniteTcBotModule module = new IgniteTcBotModule();
+        Injector injector = module.startIgniteInit(Guice.createInjector(module));
+
+        try {
+            TcBotLoadTest test = new TcBotLoadTest(injector);
+            ITcBotConfig cfg = injector.getInstance(ITcBotConfig.class);
+
+            String branch = params.get("branch");
+            String srvCode = params.getOrDefault("server", cfg.primaryServerCode());
+            String suite = params.get("suite");
+            String pr = params.get("pr");
+
+            test.measure("/tracked/results", iterations, () -> injector.getInstance(IDetailedStatusForTrackedBranch.class)
+                .getTrackedBranchTestFailures(branch, false, 1, CREDS, SyncMode.RELOAD_QUEUED, false, null,
+                    DisplayMode.OnlyFailures, null));
+
+            if (suite != null && pr != null) {
+                test.measure("/pr/results", iterations, () -> injector.getInstance(PrChainsProcessor.class)
+                    .getTestFailuresSummary(CREDS, srvCode, suite, pr, "Latest", null, null, false,
+                        SyncMode.RELOAD_QUEUED));
+            }
+
+            ITeamcityHttpConnection conn = injector.getInstance(ITeamcityHttpConnection.class);
+
+            if (conn instanceof TeamcityReplayConnection) {
+                TeamcityReplayConnection replay = (TeamcityReplayConnection)conn;
+
+                System.out.println("Recorded URLs " + replay.urls() + ", replayed responses " + replay.replayed()
+                    + ", not recorded URLs requested " + replay.missed());
+            }
+        }
+        finally {
+            injector.getInstance(IScheduler.class).stop();
+
+            TcHelperDb.stop(injector.getInstance(Ignite.class));
+        }
+
+        System.exit(0);
+    }
+
+    /**
+     * Runs report once to warm up and then given count of times, prints latency percentiles.
+     *
+     * @param name Report name.
+     * @param iterations Measured runs.
+     * @param report Report.
+     */
+    private void measure(String name, int iterations, Callable<DsSummaryUi> report) throws Exception {
+        System.out.println("Warming up " + name);
+
+        run(report);
+
+        List<Long> latencies = new ArrayList<>();
+
+        for (int i = 0; i < iterations; i++)
+            latencies.add(run(report));
+
+        Collections.sort(latencies);
+
+        System.out.println(name + ": runs " + iterations
+            + ", min " + percentile(latencies, 0) + "ms"
+            + ", p50 " + percentile(latencies, 50) + "ms"
+            + ", p90 " + percentile(latencies, 90) + "ms"
+            + ", max " + percentile(latencies, 100) + "ms");
+    }
+
+    /**
+     * @param report Report.
+     * @return Latency, milliseconds.
+     */
+    private long run(Callable<DsSummaryUi> report) throws Exception {
+        Stopwatch started = Stopwatch.createStarted();
+
+        mapper.writeValueAsBytes(report.call());
+
+        return started.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param sorted Sorted values.
+     * @param percent Percent.
+     */
+    private static long percentile(List<Long> sorted, int percent) {
+        if (sorted.isEmpty())
+            return 0;
+
+        int idx = (int)Math.ceil(percent / 100.0 * sorted.size()) - 1;
+
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.tcbot.notify;
+
+/**
+ * Email to be sent.
+ */
+public class EmailMessage {
+    /** Destination address. */
+    private final String to;
+
+    /** Subject. */
+    private final String subject;
+
+    /** HTML text. */
+    private final String html;
+
+    /** Plain text. */
+    private final String plainText;
+
+    /**
+     * @param to Destination address.
+     * @param subject Subject.
+     * @param html HTML text.
+     * @param plainText Plain text.
+     */
+    public EmailMessage(String to, String subject, String html, String plainText) {
+        this.to = to;
+        this.subject = subject;
+        this.html = html;
+        this.plainText = plainText;
+    }
+
+    /**
+     * @return Destination address.
+     */
+    public String to() {
+        return to;
+    }
+
+    /**
+     * @return Subject.
+     */
+    public String subject() {
+        return subject;
+    }
+
+    /**
+     * @return HTML text.
+     */
+    public String html() {
+        return html;
+    }
+
+    /**
+     * @return Plain text.
+     */
+    public String plainText() {
+        return plainText;
+    }
+}
@@ -17,7 +17,16 @@
 
 package org.apache.ignite.tcbot.notify;
 
+import com.sun.mail.smtp.SMTPSendFailedException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.mail.Authenticator;
 import javax.mail.Message;
 import javax.mail.MessagingException;
@@ -29,35 +38,153 @@ import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Class for sending email with configured credentials.
  */
 class EmailSender implements IEmailSender {
+    /** Logger. */
+    private static final Logger logger = LoggerFactory.getLogger(EmailSender.class);
+
+    /** Mail sessions, one per server and credentials. */
+    private final ConcurrentMap<SessionKey, Session> sessions = new ConcurrentHashMap<>();
+
     /** {@inheritDoc} */
     @Override public void sendEmail(String to, String subject, String html, String plainText,
         ISendEmailConfig notifications) throws MessagingException {
+        EmailMessage msg = new EmailMessage(to, subject, html, plainText);
 
-        String user = notifications.emailUsernameMandatory();
+        MessagingException e = sendEmails(Collections.singletonList(msg), notifications).get(msg);
+
+        if (e != null)
+            throw e;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Map<EmailMessage, MessagingException> sendEmails(List<EmailMessage> msgs,
+        ISendEmailConfig notifications, Runnable beforeSnd) {
+        Map<EmailMessage, MessagingException> failed = new LinkedHashMap<>();
+
+        if (msgs.isEmpty())
+            return failed;
+
+        Session ses = session(notifications);
+
+        String from = notifications.emailUsernameMandatory();
+
+        Transport transport = null;
+        int sent = 0;
 
-        String from = user;
+        try {
+            transport = ses.getTransport("smtp");
 
-        final String pwd = notifications.emailPasswordClearMandatory();
+            for (EmailMessage next : msgs) {
+                beforeSnd.run();
 
-        Properties props = new Properties();
-        props.put("mail.smtp.host", "smtp.gmail.com");
-        props.put("mail.smtp.socketFactory.port", "465");
-        props.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.port", "465");
+                try {
+                    MimeMessage msg = createMessage(ses, from, next);
 
-        Session ses = Session.getInstance(props,
-            new Authenticator() {
-                @Override protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(user, pwd);
+                    try {
+                        if (!transport.isConnected())
+                            transport.connect();
+
+                        transport.sendMessage(msg, msg.getAllRecipients());
+                    }
+                    catch (MessagingException e) {
+                        if (!isTransient(e))
+                            throw e;
+
+                        // Server may close idle connection or reject message temporarily, retry once using new connection.
+                        logger.warn("Reconnecting to SMTP server after failure: " + e.getMessage());
+
+                        closeSilent(transport);
+
+                        transport.connect();
+
+                        transport.sendMessage(msg, msg.getAllRecipients());
+                    }
+
+                    sent++;
                 }
-            });
+                catch (MessagingException e) {
+                    failed.put(next, e);
+                }
+            }
+        }
+        catch (MessagingException e) {
+            msgs.forEach(msg -> failed.putIfAbsent(msg, e));
+        }
+        finally {
+            if (transport != null)
+                closeSilent(transport);
+        }
+
+        logger.info("Sent " + sent + " emails successfully, failed to send " + failed.size());
+
+        return failed;
+    }
+
+    /**
+     * @param e Exception from SMTP transport.
+     * @return {@code True} if sending may succeed after reconnect: connection was lost or server returned transient
+     * (4xx) error code. Invalid addresses and permanent (5xx) rejections are not retried.
+     */
+    private static boolean isTransient(MessagingException e) {
+        if (e instanceof SMTPSendFailedException) {
+            int code = ((SMTPSendFailedException)e).getReturnCode();
 
+            return code >= 400 && code < 500;
+        }
+
+        // Lost connection is reported with chained I/O exception, mail API returns chained exception as cause.
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param notifications Config.
+     * @return Mail session for server and credentials from config.
+     */
+    private Session session(ISendEmailConfig notifications) {
+        String user = notifications.emailUsernameMandatory();
+        String pwd = notifications.emailPasswordClearMandatory();
+
+        SessionKey key = new SessionKey(notifications.emailSmtpHost(), notifications.emailSmtpPort(),
+            notifications.emailSmtpSsl(), user, pwd);
+
+        return sessions.computeIfAbsent(key, k -> {
+            Properties props = new Properties();
+            props.put("mail.smtp.host", k.host);
+            props.put("mail.smtp.auth", "true");
+            props.put("mail.smtp.port", String.valueOf(k.port));
+
+            if (k.ssl) {
+                props.put("mail.smtp.socketFactory.port", String.valueOf(k.port));
+                props.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
+            }
+
+            return Session.getInstance(props,
+                new Authenticator() {
+                    @Override protected PasswordAuthentication getPasswordAuthentication() {
+                        return new PasswordAuthentication(k.user, k.pwd);
+                    }
+                });
+        });
+    }
+
+    /**
+     * @param ses Session.
+     * @param from Source address.
+     * @param email Email.
+     */
+    private static MimeMessage createMessage(Session ses, String from,
+        EmailMessage email) throws MessagingException {
         // Create a default MimeMessage object.
         MimeMessage msg = new MimeMessage(ses);
 
@@ -65,16 +192,16 @@ class EmailSender implements IEmailSender {
         msg.setFrom(new InternetAddress(from));
 
         // Set To: header field of the header.
-        msg.addRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        msg.addRecipient(Message.RecipientType.TO, new InternetAddress(email.to()));
 
         // Set Subject: header field
-        msg.setSubject(subject);
+        msg.setSubject(email.subject());
 
         final MimeBodyPart textPart = new MimeBodyPart();
-        textPart.setContent(plainText, "text/plain");
+        textPart.setContent(email.plainText(), "text/plain");
         // HTML version
         final MimeBodyPart htmlPart = new MimeBodyPart();
-        htmlPart.setContent(html, "text/html");
+        htmlPart.setContent(email.html(), "text/html");
 
         // Create the Multipart.  Add BodyParts to it.
         final Multipart mp = new MimeMultipart("alternative");
@@ -83,9 +210,74 @@ class EmailSender implements IEmailSender {
         // Set Multipart as the message's content
         msg.setContent(mp);
 
-        // Send message
-        Transport.send(msg);
+        msg.saveChanges();
+
+        return msg;
+    }
+
+    /**
+     * @param transport Transport to close.
+     */
+    private static void closeSilent(Transport transport) {
+        try {
+            transport.close();
+        }
+        catch (MessagingException e) {
+            logger.debug("Failed to close SMTP connection", e);
+        }
+    }
+
+    /**
+     * SMTP server and credentials.
+     */
+    private static class SessionKey {
+        /** Host. */
+        private final String host;
+
+        /** Port. */
+        private final int port;
+
+        /** Use SSL. */
+        private final boolean ssl;
+
+        /** Username. */
+        private final String user;
+
+        /** Password. */
+        private final String pwd;
+
+        /**
+         * @param host Host.
+         * @param port Port.
+         * @param ssl Use SSL.
+         * @param user Username.
+         * @param pwd Password.
+         */
+        SessionKey(String host, int port, boolean ssl, String user, String pwd) {
+            this.host = host;
+            this.port = port;
+            this.ssl = ssl;
+            this.user = user;
+            this.pwd = pwd;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            SessionKey key = (SessionKey)o;
+            return port == key.port &&
+                ssl == key.ssl &&
+                Objects.equals(host, key.host) &&
+                Objects.equals(user, key.user) &&
+                Objects.equals(pwd, key.pwd);
+        }
 
-        System.out.println("Sent message successfully to [" + to + "]...");
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return Objects.hash(host, port, ssl, user, pwd);
+        }
     }
 }
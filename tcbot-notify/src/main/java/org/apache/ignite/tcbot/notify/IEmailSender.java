@@ -14,12 +14,36 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.ignite.tcbot.notify;
 
+import java.util.List;
+import java.util.Map;
 import javax.mail.MessagingException;
 
 public interface IEmailSender {
     public void sendEmail(String to, String subject, String html, String plainText,
         ISendEmailConfig notifications) throws MessagingException;
+
+    /**
+     * Sends several emails using one connection to SMTP server.
+     *
+     * @param msgs Messages.
+     * @param notifications Config with source email credentials.
+     * @return Messages, which were not sent, mapped to sending error. Empty map if all messages were sent.
+     */
+    public default Map<EmailMessage, MessagingException> sendEmails(List<EmailMessage> msgs,
+        ISendEmailConfig notifications) {
+        return sendEmails(msgs, notifications, () -> {});
+    }
+
+    /**
+     * Sends several emails using one connection to SMTP server.
+     *
+     * @param msgs Messages.
+     * @param notifications Config with source email credentials.
+     * @param beforeSnd Called before sending each message, e.g. to acquire rate limiter permit.
+     * @return Messages, which were not sent, mapped to sending error. Empty map if all messages were sent.
+     */
+    public Map<EmailMessage, MessagingException> sendEmails(List<EmailMessage> msgs, ISendEmailConfig notifications,
+        Runnable beforeSnd);
 }
@@ -34,4 +34,25 @@ public interface ISendEmailConfig {
      */
     @Nonnull
     public String emailPasswordClearMandatory() ;
+
+    /**
+     * @return SMTP server host.
+     */
+    public default String emailSmtpHost() {
+        return "smtp.gmail.com";
+    }
+
+    /**
+     * @return SMTP server port.
+     */
+    public default int emailSmtpPort() {
+        return 465;
+    }
+
+    /**
+     * @return {@code True} if connection to SMTP server should use SSL.
+     */
+    public default boolean emailSmtpSsl() {
+        return true;
+    }
 }
@@ -54,6 +54,29 @@ public class StringFieldCompacted {
         setValue(value);
     }
 
+    /**
+     * @param flag Compression type flag, one of FLAG_* constants.
+     * @param data Data compressed by caller.
+     */
+    public StringFieldCompacted(int flag, byte[] data) {
+        this.flag = (byte)flag;
+        this.data = data;
+    }
+
+    /**
+     * @return Compression type flag, one of FLAG_* constants.
+     */
+    public int flag() {
+        return flag;
+    }
+
+    /**
+     * @return Compressed data.
+     */
+    public byte[] data() {
+        return data;
+    }
+
     public String getValue() {
         if (data == null)
             return "";
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci.tcbot.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Compresses failed test details (stack traces) using single codec chosen by size: tiny details are kept raw, medium
+ * are compressed by Snappy, gzip is used only for large details, where it saves significantly more space. Instance
+ * counts details stored by each codec, compression time is shown by profiling data (when instance is created by
+ * injector).
+ */
+public class TestDetailsCompressor {
+    /** Details up to this size (bytes) are kept raw, compression gain is negligible. */
+    public static final int RAW_MAX_SIZE = 128;
+
+    /** Details starting from this size (bytes) are compressed using gzip, smaller are compressed using Snappy. */
+    public static final int GZIP_MIN_SIZE = 4 * 1024;
+
+    /** Logger. */
+    private static final Logger logger = LoggerFactory.getLogger(TestDetailsCompressor.class);
+
+    /** Count of details kept raw. */
+    private final LongAdder rawCnt = new LongAdder();
+
+    /** Count of details compressed by Snappy. */
+    private final LongAdder snappyCnt = new LongAdder();
+
+    /** Count of details compressed by gzip. */
+    private final LongAdder gzipCnt = new LongAdder();
+
+    /**
+     * @param details Details.
+     * @return Details compressed by codec chosen by details size, or raw if compression does not reduce size.
+     */
+    public StringFieldCompacted compress(String details) {
+        byte[] uncompressed = details.getBytes(StandardCharsets.UTF_8);
+
+        boolean gzip = uncompressed.length >= GZIP_MIN_SIZE;
+        byte[] compressed = null;
+
+        try {
+            if (gzip)
+                compressed = compressGzip(uncompressed);
+            else if (uncompressed.length > RAW_MAX_SIZE)
+                compressed = compressSnappy(uncompressed);
+        }
+        catch (Exception e) {
+            logger.error((gzip ? "GZip" : "Snappy") + ".compress failed: " + e.getMessage(), e);
+        }
+
+        if (compressed != null && compressed.length < uncompressed.length) {
+            (gzip ? gzipCnt : snappyCnt).increment();
+
+            return new StringFieldCompacted(gzip ? StringFieldCompacted.FLAG_GZIP : StringFieldCompacted.FLAG_SNAPPY,
+                compressed);
+        }
+
+        rawCnt.increment();
+
+        return new StringFieldCompacted(StringFieldCompacted.FLAG_UNCOMPRESSED, uncompressed);
+    }
+
+    /**
+     * @return Count of details kept raw.
+     */
+    public long rawCount() {
+        return rawCnt.sum();
+    }
+
+    /**
+     * @return Count of details compressed by Snappy.
+     */
+    public long snappyCount() {
+        return snappyCnt.sum();
+    }
+
+    /**
+     * @return Count of details compressed by gzip.
+     */
+    public long gzipCount() {
+        return gzipCnt.sum();
+    }
+
+    /**
+     * @param uncompressed Details bytes.
+     * @return Snappy compressed bytes.
+     */
+    @AutoProfiling
+    public byte[] compressSnappy(byte[] uncompressed) throws IOException {
+        return Snappy.compress(uncompressed);
+    }
+
+    /**
+     * @param uncompressed Details bytes.
+     * @return Gzip compressed bytes.
+     */
+    @AutoProfiling
+    public byte[] compressGzip(byte[] uncompressed) throws IOException {
+        return StringFieldCompacted.zipBytes(uncompressed);
+    }
+}
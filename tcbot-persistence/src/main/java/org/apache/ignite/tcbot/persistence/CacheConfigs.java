@@ -20,11 +20,24 @@ import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
 import org.apache.ignite.configuration.CacheConfiguration;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Set of Ignite cache configs used
  */
 public class CacheConfigs {
+    /**
+     * Persistent data region for bulk caches, which data can be reloaded from TeamCity, e.g. fat builds. Keeps pages
+     * of small critical caches (issues, visas, users) in the default region from being replaced by bulk data.
+     */
+    public static final String BULK_REGION = "tcbot-bulk";
+
+    /**
+     * Data region for caches which can be rebuilt from data of other caches, e.g. suite run history. Persistent by
+     * default, can be configured to be in-memory with page eviction.
+     */
+    public static final String REBUILDABLE_REGION = "tcbot-rebuildable";
+
     @Nonnull
     public static <K, V> CacheConfiguration<K, V> getCache8PartsConfig(String name) {
         CacheConfiguration<K, V> ccfg = new CacheConfiguration<>(name);
@@ -36,9 +49,22 @@ public class CacheConfigs {
 
     @Nonnull
     public static <K, V> CacheConfiguration<K, V> getCacheV2Config(String name) {
+        return getCacheV2Config(name, null);
+    }
+
+    /**
+     * Region is applied only when cache is created, existing cache remains in region it was created in.
+     *
+     * @param name Cache name.
+     * @param regionName Data region name, {@link #BULK_REGION} or {@link #REBUILDABLE_REGION}, null for default
+     * region.
+     */
+    @Nonnull
+    public static <K, V> CacheConfiguration<K, V> getCacheV2Config(String name, @Nullable String regionName) {
         CacheConfiguration<K, V> ccfg = new CacheConfiguration<>(name);
 
         ccfg.setAffinity(new RendezvousAffinityFunction(false, 32));
+        ccfg.setDataRegionName(regionName);
 
         return ccfg;
     }
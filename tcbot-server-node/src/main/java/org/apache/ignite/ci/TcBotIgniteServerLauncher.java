@@ -20,42 +20,52 @@ package org.apache.ignite.ci;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.ci.db.Ignite2Configurer;
-import org.apache.ignite.configuration.DataRegionConfiguration;
-import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.ci.db.TcHelperDb;
+import org.apache.ignite.ci.tcbot.conf.LocalFilesBasedConfig;
 import org.apache.ignite.configuration.IgniteConfiguration;
-import org.apache.ignite.configuration.WALMode;
 import org.apache.ignite.logger.slf4j.Slf4jLogger;
+import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
 import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
+import org.apache.ignite.tcbot.engine.conf.DataStorageConfig;
 
 import java.io.File;
 import java.io.IOException;
 
+/**
+ * Starts persistent server node. Web node connects to this node as Ignite client if started with
+ * {@link TcBotSystemProperties#TEAMCITY_BOT_IGNITE_CLIENT} property set, so web pages rendering and storage have
+ * separate heaps.
+ */
 public class TcBotIgniteServerLauncher {
+    /** Ignite instance name of server node. */
+    public static final String SERVER_INSTANCE_NAME = "tcbot-server";
+
     public static void main(String[] args) throws IOException {
         final File workDir = TcBotWorkDir.resolveWorkDir();
         Ignite2Configurer.configLogger(workDir, "tcbot_srv_logs");
 
+        startServer(workDir);
+    }
+
+    /**
+     * Starts and activates server node.
+     *
+     * @param workDir TC Bot work directory.
+     * @return Started server node.
+     */
+    public static Ignite startServer(File workDir) throws IOException {
         final IgniteConfiguration cfg = new IgniteConfiguration();
         Ignite2Configurer.setIgniteHome(cfg, workDir);
         cfg.setWorkDirectory(new File(cfg.getIgniteHome(), "tcbot_srv").getCanonicalPath());
 
-/*
-        setupDisco(cfg);*/
+        cfg.setIgniteInstanceName(SERVER_INSTANCE_NAME);
+        TcHelperDb.setupDisco(cfg);
         cfg.setConsistentId("tcbot");
         cfg.setGridLogger(new Slf4jLogger());
-        System.err.println("Hello");
-
 
-        final DataRegionConfiguration regConf = Ignite2Configurer.getDataRegionConfiguration();
+        DataStorageConfig dsSettings = Ignite2Configurer.dataStorageConfig(new LocalFilesBasedConfig());
 
-        final DataStorageConfiguration dsCfg = new DataStorageConfiguration()
-                .setWalMode(WALMode.LOG_ONLY)
-                .setWalHistorySize(1)
-                .setCheckpointFrequency(5 * 60 * 1000)
-                .setWriteThrottlingEnabled(true)
-                .setDefaultDataRegionConfiguration(regConf);
-
-        cfg.setDataStorageConfiguration(dsCfg);
+        cfg.setDataStorageConfiguration(Ignite2Configurer.getDataStorageConfiguration(dsSettings));
 
         System.out.println("Starting Ignite Server Node");
 
@@ -66,5 +76,7 @@ public class TcBotIgniteServerLauncher {
         ignite.cluster().active(true);
 
         System.out.println("Activate Completed");
+
+        return ignite;
     }
 }
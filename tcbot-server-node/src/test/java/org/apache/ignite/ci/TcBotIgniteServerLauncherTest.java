@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ci;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.ci.db.Ignite1Init;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Starts server node and web node Ignite client in one JVM.
+ */
+public class TcBotIgniteServerLauncherTest {
+    /** Work directory. */
+    private File workDir;
+
+    /** Previous value of work directory property. */
+    private String prevHome;
+
+    /** */
+    @Before
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("tcbot-srv-test").toFile();
+
+        prevHome = System.setProperty(TcBotSystemProperties.TEAMCITY_HELPER_HOME, workDir.getAbsolutePath());
+    }
+
+    /** */
+    @After
+    public void tearDown() {
+        Ignition.stopAll(true);
+
+        Ignite1Init.setClientMode(false);
+
+        if (prevHome == null)
+            System.clearProperty(TcBotSystemProperties.TEAMCITY_HELPER_HOME);
+        else
+            System.setProperty(TcBotSystemProperties.TEAMCITY_HELPER_HOME, prevHome);
+
+        U.delete(workDir);
+    }
+
+    /** */
+    @Test(timeout = 300_000)
+    public void testWebNodeConnectsToServerNodeAsClient() throws IOException {
+        Ignite srv = TcBotIgniteServerLauncher.startServer(workDir);
+
+        Ignite1Init.setClientMode(true);
+
+        Ignite client = new Ignite1Init().startIgnite();
+
+        assertTrue(client.cluster().localNode().isClient());
+        assertEquals(1, client.cluster().forServers().nodes().size());
+        assertEquals(srv.cluster().localNode().id(), client.cluster().forServers().node().id());
+
+        // Caches created by data migrations from client are stored at server.
+        assertTrue(srv.cacheNames().containsAll(client.cacheNames()));
+
+        IgniteCache<Integer, String> cache = client.getOrCreateCache("testCache");
+
+        cache.put(1, "value");
+
+        assertEquals("value", srv.<Integer, String>cache("testCache").get(1));
+    }
+}
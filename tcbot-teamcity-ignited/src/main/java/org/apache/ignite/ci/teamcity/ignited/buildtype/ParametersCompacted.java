@@ -20,9 +20,11 @@ package org.apache.ignite.ci.teamcity.ignited.buildtype;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 
 import org.apache.ignite.tcbot.persistence.Persisted;
@@ -42,6 +44,11 @@ public class ParametersCompacted {
     /** Property Values, int value is coming from the compatcor. */
     private GridIntList values;
 
+    /**
+     * Indexes of {@link #keys} in ascending order of key, used for binary search of property. Keys are kept in the
+     * order returned by TC. Null for entries saved by older versions of the bot, such entries are scanned linearly.
+     */
+    @Nullable private int[] keysOrder;
 
     /**
      * Default constructor.
@@ -72,6 +79,13 @@ public class ParametersCompacted {
             keys.add(strId);
             values.add(val);
         }
+
+        // Sort is stable, so the first of duplicated keys is found, same as by linear scan.
+        keysOrder = IntStream.range(0, keys.size())
+            .boxed()
+            .sorted(Comparator.comparingInt(keys::get))
+            .mapToInt(Integer::intValue)
+            .toArray();
     }
 
     public Parameters toParameters(IStringCompactor compactor) {
@@ -94,10 +108,42 @@ public class ParametersCompacted {
         return new Parameters(props);
     }
 
+    /**
+     * @param propCode Property name ID.
+     * @return Property value ID or -1 if property is not found.
+     */
     public int findPropertyStringId(int propCode) {
         if (keys == null)
             return -1;
 
+        if (keysOrder == null)
+            return findPropertyStringIdLinear(propCode);
+
+        int low = 0;
+        int high = keysOrder.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (keys.get(keysOrder[mid]) < propCode)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+
+        if (low >= keysOrder.length || keys.get(keysOrder[low]) != propCode)
+            return -1;
+
+        int idx = keysOrder[low];
+
+        return idx < values.size() ? values.get(idx) : -1;
+    }
+
+    /**
+     * @param propCode Property name ID.
+     * @return Property value ID or -1 if property is not found.
+     */
+    private int findPropertyStringIdLinear(int propCode) {
         final int size = keys.size();
 
         for (int i = 0; i < size; i++) {
@@ -17,7 +17,14 @@
 package org.apache.ignite.ci.teamcity.ignited.fatbuild;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -25,6 +32,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -51,6 +59,7 @@ import org.apache.ignite.tcservice.model.result.TestOccurrencesRef;
 import org.apache.ignite.tcservice.model.result.Triggered;
 import org.apache.ignite.tcservice.model.result.problems.ProblemOccurrence;
 import org.apache.ignite.tcservice.model.result.stat.Statistics;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrence;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
 import org.apache.ignite.tcservice.model.user.User;
@@ -83,6 +92,9 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
 
     public static final int[] EMPTY = new int[0];
 
+    /** Format version of {@link #testsData}, written as first byte. */
+    private static final byte TESTS_DATA_V1 = 1;
+
     /**
      * Entity fields version.
      * <ul>
@@ -108,8 +120,33 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
     /** Suite Name for this builds. */
     private int name = -1;
 
+    /** Tests of builds saved before tests were kept in {@link #testsData}. */
     @Nullable private List<TestCompacted> tests;
 
+    /**
+     * Tests written by {@link TestCompacted#writeTo}. Tests are decoded on first access, so loading build for its
+     * status, dependencies or statistics does not deserialize tests.
+     */
+    @Nullable private byte[] testsData;
+
+    /** Count of tests in {@link #testsData}. */
+    private int testsCnt;
+
+    /**
+     * Offsets in {@link #testsData} of failed and not muted tests, so rendering failures does not decode all tests.
+     * Null if tests were saved before the index was introduced.
+     */
+    @Nullable private int[] failedNotMutedOffsets;
+
+    /** Count of not muted and not ignored tests, valid if {@link #failedNotMutedOffsets} is not null. */
+    private int notMutedTestsCnt;
+
+    /** Tests decoded from {@link #testsData}. */
+    @Nullable private transient volatile List<TestCompacted> decodedTests;
+
+    /** Failed and not muted tests decoded from {@link #testsData}. */
+    @Nullable private transient volatile List<TestCompacted> decodedFailedNotMutedTests;
+
     @Nullable private int snapshotDeps[];
 
     private BitSet flags = new BitSet();
@@ -280,10 +317,10 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
         type.setProjectId(projectId(compactor));
         res.setBuildType(type);
 
-        if (tests != null) {
+        if (hasTests()) {
             TestOccurrencesRef testOccurrencesRef = new TestOccurrencesRef();
             testOccurrencesRef.href = "/app/rest/latest/testOccurrences?locator=build:(id:" + id() + ")";
-            testOccurrencesRef.count = tests.size();
+            testOccurrencesRef.count = getTestsCount();
             res.testOccurrences = testOccurrencesRef;
         }
 
@@ -356,18 +393,56 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
 
     /**
      * @param compactor Compactor.
-     * @param page Page.
+     * @param tests All tests of build.
+     * @see #addCompactedTests(IStringCompactor, List)
+     */
+    public FatBuildCompacted addTests(IStringCompactor compactor, List<TestOccurrenceFull> tests) {
+        return addTests(compactor, tests, null);
+    }
+
+    /**
+     * @param compactor Compactor.
+     * @param tests All tests of build.
+     * @param detailsToSave Failed tests details to be saved to details store: details ID to details. If null,
+     * details are kept in tests.
+     * @see #addCompactedTests(IStringCompactor, List)
+     */
+    public FatBuildCompacted addTests(IStringCompactor compactor, List<TestOccurrenceFull> tests,
+        @Nullable Map<Long, String> detailsToSave) {
+        List<TestCompacted> compacted = new ArrayList<>(tests.size());
+
+        for (TestOccurrenceFull next : tests)
+            compacted.add(new TestCompacted(compactor, next, detailsToSave));
+
+        return addCompactedTests(compactor, compacted);
+    }
+
+    /**
+     * Encodes tests into {@link #testsData}. Tests are encoded once, so all pages of build tests should be collected
+     * and passed in one call.
+     *
+     * @param compactor Compactor.
+     * @param compacted All tests of build.
      */
-    public FatBuildCompacted addTests(IStringCompactor compactor, List<TestOccurrenceFull> page) {
-        for (TestOccurrenceFull next : page) {
-            TestCompacted compacted = new TestCompacted(compactor, next);
+    public FatBuildCompacted addCompactedTests(IStringCompactor compactor, List<TestCompacted> compacted) {
+        Preconditions.checkState(testsData == null, "Tests of build are already encoded");
+
+        if (compacted.isEmpty())
+            return this;
+
+        List<TestCompacted> allTests = compacted;
+
+        if (tests != null) {
+            allTests = new ArrayList<>(tests.size() + compacted.size());
 
-            if (tests == null)
-                tests = new ArrayList<>();
+            allTests.addAll(tests);
+            allTests.addAll(compacted);
 
-            tests.add(compacted);
+            tests = null;
         }
 
+        encodeTests(compactor, allTests);
+
         return this;
     }
 
@@ -398,15 +473,16 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
 
     /**
      * @param compactor Compactor.
+     * @param detailsStore Details store, required to load details saved in the store.
      */
-    public TestOccurrencesFull getTestOcurrences(IStringCompactor compactor) {
-        if (tests == null)
+    public TestOccurrencesFull getTestOcurrences(IStringCompactor compactor, @Nullable ITestDetailsStore detailsStore) {
+        if (!hasTests())
             return new TestOccurrencesFull();
 
         List<TestOccurrenceFull> res = new ArrayList<>();
 
-        for (TestCompacted compacted : tests)
-            res.add(compacted.toTestOccurrence(compactor, id()));
+        for (TestCompacted compacted : tests())
+            res.add(compacted.toTestOccurrence(compactor, detailsStore, id()));
 
         TestOccurrencesFull testOccurrences = new TestOccurrencesFull();
 
@@ -441,6 +517,9 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
             projectId == that.projectId &&
             name == that.name &&
             Objects.equals(tests, that.tests) &&
+            Arrays.equals(testsData, that.testsData) &&
+            Arrays.equals(failedNotMutedOffsets, that.failedNotMutedOffsets) &&
+            notMutedTestsCnt == that.notMutedTestsCnt &&
             Arrays.equals(snapshotDeps, that.snapshotDeps) &&
             Objects.equals(flags, that.flags) &&
             Objects.equals(problems, that.problems) &&
@@ -454,6 +533,8 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
     /** {@inheritDoc} */
     @Override public int hashCode() {
         int res = Objects.hash(super.hashCode(), _ver, startDate, finishDate, queuedDate, projectId, name, tests, flags, problems, statistics, triggered, buildParameters);
+        res = 31 * res + Arrays.hashCode(testsData);
+        res = 31 * res + Arrays.hashCode(failedNotMutedOffsets);
         res = 31 * res + Arrays.hashCode(snapshotDeps);
         res = 31 * res + Arrays.hashCode(changesIds);
         res = 31 * res + Arrays.hashCode(revisions);
@@ -491,11 +572,20 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
     }
 
     public Stream<TestCompacted> getFailedNotMutedTests(IStringCompactor compactor) {
-        if (tests == null)
-            return Stream.of();
-
-        return tests.stream()
+        if (failedNotMutedOffsets == null) {
+            return getAllTests()
                 .filter(t -> t.isFailedButNotMuted(compactor));
+        }
+
+        List<TestCompacted> res = decodedFailedNotMutedTests;
+
+        if (res == null) {
+            res = decodeTests(failedNotMutedOffsets);
+
+            decodedFailedNotMutedTests = res;
+        }
+
+        return res.stream();
     }
 
     public Stream<String> getFailedNotMutedTestNames(IStringCompactor compactor) {
@@ -503,14 +593,126 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
     }
 
     public Stream<TestCompacted> getAllTests() {
-        if (tests == null)
+        if (!hasTests())
             return Stream.of();
 
-        return tests.stream();
+        return tests().stream();
     }
 
     public int getTestsCount() {
-        return tests != null ? tests.size() : 0;
+        return tests != null ? tests.size() : testsCnt;
+    }
+
+    /**
+     * @return {@code True} if tests were added to build.
+     */
+    private boolean hasTests() {
+        return tests != null || testsData != null;
+    }
+
+    /**
+     * @return Tests, decoded from {@link #testsData} on first call.
+     */
+    private List<TestCompacted> tests() {
+        if (tests != null)
+            return tests;
+
+        List<TestCompacted> res = decodedTests;
+
+        if (res == null) {
+            res = decodeTests();
+
+            decodedTests = res;
+        }
+
+        return res;
+    }
+
+    /**
+     * @return Tests decoded from {@link #testsData}.
+     */
+    private List<TestCompacted> decodeTests() {
+        if (testsData == null)
+            return Collections.emptyList();
+
+        List<TestCompacted> res = new ArrayList<>(testsCnt);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(testsData))) {
+            byte ver = in.readByte();
+
+            Preconditions.checkState(ver == TESTS_DATA_V1, "Unsupported tests data version: " + ver);
+
+            for (int i = 0; i < testsCnt; i++)
+                res.add(TestCompacted.readFrom(in));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Collections.unmodifiableList(res);
+    }
+
+    /**
+     * @param offsets Offsets of tests in {@link #testsData}.
+     * @return Tests decoded from {@link #testsData}.
+     */
+    private List<TestCompacted> decodeTests(int[] offsets) {
+        if (testsData == null || offsets.length == 0)
+            return Collections.emptyList();
+
+        List<TestCompacted> res = new ArrayList<>(offsets.length);
+
+        try {
+            for (int off : offsets) {
+                DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(testsData, off, testsData.length - off));
+
+                res.add(TestCompacted.readFrom(in));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Collections.unmodifiableList(res);
+    }
+
+    /**
+     * Writes tests to {@link #testsData} and builds index of failed tests.
+     *
+     * @param compactor Compactor.
+     * @param newTests Tests to write.
+     */
+    private void encodeTests(IStringCompactor compactor, List<TestCompacted> newTests) {
+        int successStatus = compactor.getStringId(TestOccurrence.STATUS_SUCCESS);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        List<Integer> failedOffsets = new ArrayList<>();
+        int notMutedCnt = 0;
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TESTS_DATA_V1);
+
+            for (TestCompacted next : newTests) {
+                if (next.isFailedButNotMuted(successStatus))
+                    failedOffsets.add(out.size());
+
+                if (!next.isMutedOrIgnored())
+                    notMutedCnt++;
+
+                next.writeTo(out);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        testsData = bytes.toByteArray();
+        testsCnt = newTests.size();
+        failedNotMutedOffsets = failedOffsets.stream().mapToInt(Integer::intValue).toArray();
+        notMutedTestsCnt = notMutedCnt;
+        decodedTests = null;
+        decodedFailedNotMutedTests = null;
     }
 
     public Stream<String> getAllTestNames(IStringCompactor compactor) {
@@ -615,7 +817,7 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
             .add("queuedDate", queuedDate)
             .add("projectId", projectId)
             .add("name", name)
-            .add("tests", tests)
+            .add("tests", getTestsCount())
             .add("snapshotDeps", snapshotDeps)
             .add("flags", flags)
             .add("problems", problems)
@@ -704,11 +906,14 @@ public class FatBuildCompacted extends BuildRefCompacted implements IVersionedEn
     }
 
     public int totalNotMutedTests() {
-        if(tests == null)
+        if (!hasTests())
             return 0;
 
+        if (failedNotMutedOffsets != null)
+            return notMutedTestsCnt;
+
         int cnt = 0;
-        for (TestCompacted next : tests) {
+        for (TestCompacted next : tests()) {
             if (!next.isMutedTest() && !next.isIgnoredTest())
                 cnt++;
         }
@@ -19,15 +19,19 @@ package org.apache.ignite.ci.teamcity.ignited.fatbuild;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.function.BiPredicate;
 
 import org.apache.ignite.ci.tcbot.common.StringFieldCompacted;
+import org.apache.ignite.ci.tcbot.common.TestDetailsCompressor;
 import org.apache.ignite.tcservice.model.hist.BuildRef;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrence;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
@@ -76,9 +80,15 @@ public class TestCompacted {
     @Nullable
     private byte[] details;
 
+    /** Id of details saved to details store, 0 if details are absent or kept in {@link #details}. */
+    private long detailsId;
+
     /** Logger. */
     private static final Logger logger = LoggerFactory.getLogger(TestCompacted.class);
 
+    /** Details compressor used if instance from injector is not available, its counters are not shown. */
+    static final TestDetailsCompressor DFLT_DETAILS_COMPRESSOR = new TestDetailsCompressor();
+
     /**
      * Default constructor.
      */
@@ -90,6 +100,17 @@ public class TestCompacted {
      * @param testOccurrence TestOccurrence.
      */
     public TestCompacted(IStringCompactor compactor, TestOccurrenceFull testOccurrence) {
+        this(compactor, testOccurrence, null);
+    }
+
+    /**
+     * @param compactor Compactor.
+     * @param testOccurrence TestOccurrence.
+     * @param detailsToSave Details to be saved to details store: details ID to normalized details. If null, details
+     * are kept in this entry.
+     */
+    public TestCompacted(IStringCompactor compactor, TestOccurrenceFull testOccurrence,
+        @Nullable Map<Long, String> detailsToSave) {
         String testOccurrenceId = testOccurrence.getId();
         if (!Strings.isNullOrEmpty(testOccurrenceId)) {
             try {
@@ -116,7 +137,75 @@ public class TestCompacted {
         if (testOccurrence.test != null && testOccurrence.test.id != null)
             testId = Long.valueOf(testOccurrence.test.id);
 
-        setDetails(testOccurrence.details);
+        if (detailsToSave == null)
+            setDetails(testOccurrence.details);
+        else if (!Strings.isNullOrEmpty(testOccurrence.details)) {
+            String normalized = TestDetailsUtil.normalize(testOccurrence.details);
+
+            detailsId = TestDetailsUtil.detailsId(normalized);
+
+            detailsToSave.put(detailsId, normalized);
+        }
+    }
+
+    /**
+     * Writes test in compact binary form, see {@link #readFrom(DataInput)}.
+     *
+     * @param out Output.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(idInBuild);
+        out.writeInt(name);
+        out.writeInt(status);
+        out.writeInt(duration);
+
+        byte[] flagBytes = flags.toByteArray();
+
+        out.writeByte(flagBytes.length);
+        out.write(flagBytes);
+
+        out.writeLong(testId);
+        out.writeInt(actualBuildId);
+        out.writeLong(detailsId);
+
+        if (details == null)
+            out.writeInt(-1);
+        else {
+            out.writeInt(details.length);
+            out.write(details);
+        }
+    }
+
+    /**
+     * @param in Input.
+     * @return Test written by {@link #writeTo(DataOutput)}.
+     */
+    static TestCompacted readFrom(DataInput in) throws IOException {
+        TestCompacted res = new TestCompacted();
+
+        res.idInBuild = in.readInt();
+        res.name = in.readInt();
+        res.status = in.readInt();
+        res.duration = in.readInt();
+
+        byte[] flagBytes = new byte[in.readUnsignedByte()];
+
+        in.readFully(flagBytes);
+
+        res.flags = BitSet.valueOf(flagBytes);
+        res.testId = in.readLong();
+        res.actualBuildId = in.readInt();
+        res.detailsId = in.readLong();
+
+        int detailsLen = in.readInt();
+
+        if (detailsLen >= 0) {
+            res.details = new byte[detailsLen];
+
+            in.readFully(res.details);
+        }
+
+        return res;
     }
 
     public static TestId extractFullId(String id) {
@@ -176,7 +265,13 @@ public class TestCompacted {
         return flags.get(off + 1);
     }
 
-    public TestOccurrenceFull toTestOccurrence(IStringCompactor compactor, int buildId) {
+    /**
+     * @param compactor Compactor.
+     * @param detailsStore Details store, required to load details saved in the store.
+     * @param buildId Build ID.
+     */
+    public TestOccurrenceFull toTestOccurrence(IStringCompactor compactor, @Nullable ITestDetailsStore detailsStore,
+        int buildId) {
         TestOccurrenceFull occurrence = new TestOccurrenceFull();
 
         String fullStrId = "id:" +
@@ -210,7 +305,7 @@ public class TestCompacted {
             occurrence.test = test;
         }
 
-        occurrence.details = getDetailsText();
+        occurrence.details = getDetailsText(detailsStore);
 
         return occurrence;
     }
@@ -220,11 +315,16 @@ public class TestCompacted {
     }
 
     /**
-     *
+     * @param detailsStore Details store, details are loaded from store only if entry references saved details. May be
+     * null only for entries keeping details inline, e.g. saved before details store was introduced.
      */
-    @Nullable public String getDetailsText() {
-        if (details == null)
+    @Nullable public String getDetailsText(@Nullable ITestDetailsStore detailsStore) {
+        if (details == null) {
+            if (detailsId != 0 && detailsStore != null)
+                return detailsStore.getDetails(detailsId);
+
             return "";
+        }
 
         final boolean flag1 = flags.get(COMPRESS_TYPE_FLAG1);
         final boolean flag2 = flags.get(COMPRESS_TYPE_FLAG2);
@@ -251,59 +351,35 @@ public class TestCompacted {
     }
 
     public void setDetails(String dtlsStr) {
-        if (Strings.isNullOrEmpty(dtlsStr)) {
-            this.details = null;
-            return;
-        }
+        setDetails(dtlsStr, DFLT_DETAILS_COMPRESSOR);
+    }
 
+    /**
+     * Stores details in this entry using single codec chosen by details size, see {@link TestDetailsCompressor}.
+     *
+     * @param dtlsStr Details.
+     * @param compressor Compressor.
+     */
+    public void setDetails(String dtlsStr, TestDetailsCompressor compressor) {
+        detailsId = 0;
 
-        byte[] uncompressed;
-        byte[] snappy = null;
-        byte[] gzip = null;
-        try {
-            uncompressed = dtlsStr.getBytes(StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            logger.error("Set details failed: " + e.getMessage(), e);
+        if (Strings.isNullOrEmpty(dtlsStr)) {
+            this.details = null;
             return;
         }
-        try {
-            snappy = Snappy.compress(uncompressed);
-        }
-        catch (Exception e) {
-            logger.error("Snappy.compress failed: " + e.getMessage(), e);
-        }
-
-        try {
-            gzip = StringFieldCompacted.zipBytes(uncompressed);
-        }
-        catch (Exception e) {
-            logger.error("Snappy.compress failed: " + e.getMessage(), e);
-        }
 
-        final int snappyLen = snappy != null ? snappy.length : -1;
-        final int gzipLen = gzip != null ? gzip.length : -1;
-
-        flags.set(COMPRESS_TYPE_FLAG1, true);
-        flags.set(COMPRESS_TYPE_FLAG2, false);
-        //uncompressed
-        details = uncompressed;
-
-        if (snappyLen > 0 && snappyLen < details.length) {
-            flags.set(COMPRESS_TYPE_FLAG1, false);
-            flags.set(COMPRESS_TYPE_FLAG2, false);
-            details = snappy;
-        }
-
-        if (gzipLen > 0 && gzipLen < details.length) {
-            flags.set(COMPRESS_TYPE_FLAG1, false);
-            flags.set(COMPRESS_TYPE_FLAG2, true);
-            details = gzip;
-        }
+        StringFieldCompacted compacted = compressor.compress(dtlsStr);
 
+        flags.set(COMPRESS_TYPE_FLAG1, compacted.flag() == StringFieldCompacted.FLAG_UNCOMPRESSED);
+        flags.set(COMPRESS_TYPE_FLAG2, compacted.flag() == StringFieldCompacted.FLAG_GZIP);
+        details = compacted.data();
+    }
 
-        logger.debug("U " + uncompressed.length + " S " + snappyLen + " Z " + gzipLen + ": F (" +
-                flags.get(COMPRESS_TYPE_FLAG1) + ", " +
-                flags.get(COMPRESS_TYPE_FLAG2) +")");
+    /**
+     * @return Id of details saved to details store, 0 if details are absent or kept in this entry.
+     */
+    public long detailsId() {
+        return detailsId;
     }
 
     public Boolean getIgnoredFlag() {
@@ -331,13 +407,14 @@ public class TestCompacted {
             duration == compacted.duration &&
             testId == compacted.testId &&
             actualBuildId == compacted.actualBuildId &&
+            detailsId == compacted.detailsId &&
             Objects.equals(flags, compacted.flags) &&
             Arrays.equals(details, compacted.details);
     }
 
     /** {@inheritDoc} */
     @Override public int hashCode() {
-        int res = Objects.hash(idInBuild, name, status, duration, flags, testId, actualBuildId);
+        int res = Objects.hash(idInBuild, name, status, duration, flags, testId, actualBuildId, detailsId);
         res = 31 * res + Arrays.hashCode(details);
         return res;
     }
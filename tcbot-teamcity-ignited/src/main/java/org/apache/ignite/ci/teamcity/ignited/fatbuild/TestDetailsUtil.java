@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.ci.teamcity.ignited.fatbuild;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Addressing of failed test details (stack traces) in {@link ITestDetailsStore}: details are referenced by 64-bit hash
+ * of normalized text.
+ */
+public class TestDetailsUtil {
+    /**
+     * Removes differences in line separators and trailing whitespaces, which depend on agent. Line numbers and
+     * timestamps are kept, so traces differing in these are stored separately.
+     *
+     * @param details Details.
+     * @return Normalized details.
+     */
+    public static String normalize(String details) {
+        return CharMatcher.whitespace().trimTrailingFrom(details.replace("\r\n", "\n"));
+    }
+
+    /**
+     * @param normalized Normalized details.
+     * @return Non zero details ID.
+     */
+    public static long detailsId(String normalized) {
+        long id = Hashing.murmur3_128().hashString(normalized, StandardCharsets.UTF_8).asLong();
+
+        return id != 0 ? id : 1;
+    }
+}
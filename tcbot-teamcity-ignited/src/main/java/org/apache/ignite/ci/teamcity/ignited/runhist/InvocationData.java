@@ -19,16 +19,18 @@ package org.apache.ignite.ci.teamcity.ignited.runhist;
 
 import com.google.common.base.MoreObjects;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.tcbot.common.TcBotConst;
 import org.apache.ignite.tcbot.persistence.Persisted;
+import org.apache.ignite.tcignited.history.ChangesState;
 import org.apache.ignite.tcignited.history.RunStatus;
 
 import javax.annotation.Nonnull;
@@ -62,6 +64,12 @@ public class InvocationData {
     /** Invocations map from build ID to invocation data. */
     private Map<Integer, Invocation> invocationMap = new TreeMap<>();
 
+    /**
+     * Status changes cache, {@code null} if it is not filled. Transient field is not persisted, so cache is empty after
+     * loading. History may be read by several threads, so immutable snapshot is replaced as a whole.
+     */
+    private transient volatile StatusChanges statusChanges;
+
     public int allHistRuns() {
         return allHistRuns;
     }
@@ -85,16 +93,106 @@ public class InvocationData {
             allHistRuns++;
             if (inv.isFailure())
                 allHistFailures++;
+
+            onInvocationAdded(inv);
         }
 
         return newVal;
     }
 
+    /**
+     * Updates status changes counter if invocation is the latest one, invalidates counter otherwise.
+     *
+     * @param inv Added invocation.
+     */
+    private void onInvocationAdded(Invocation inv) {
+        StatusChanges cur = statusChanges;
+
+        if (cur == null)
+            return;
+
+        if (cur.last != null && inv.buildId() < cur.last.buildId()) {
+            statusChanges = null;
+
+            return;
+        }
+
+        int changes = cur.last != null && isStatusChange(cur.last, inv) ? cur.changes + 1 : cur.changes;
+
+        statusChanges = new StatusChanges(changes, cur.invocations + 1, inv,
+            Math.min(cur.expireTs, expireTs(inv.startDate())));
+    }
+
+    /**
+     * Fills status changes cache, if it is empty or some of counted invocations were expired.
+     *
+     * @return Actual status changes.
+     */
+    private StatusChanges actualizeStatusChanges() {
+        StatusChanges cached = statusChanges;
+
+        if (cached != null && System.currentTimeMillis() <= cached.expireTs)
+            return cached;
+
+        int changes = 0;
+        int cnt = 0;
+        long expireTs = Long.MAX_VALUE;
+        Invocation prev = null;
+
+        for (Invocation cur : (Iterable<Invocation>)invocations()::iterator) {
+            if (prev != null && isStatusChange(prev, cur))
+                changes++;
+
+            cnt++;
+            expireTs = Math.min(expireTs, expireTs(cur.startDate()));
+            prev = cur;
+        }
+
+        StatusChanges res = new StatusChanges(changes, cnt, prev, expireTs);
+
+        statusChanges = res;
+
+        return res;
+    }
+
+    /**
+     * @param prev Previous invocation.
+     * @param cur Current invocation.
+     * @return {@code True} if test status was changed without code modifications.
+     */
+    private static boolean isStatusChange(Invocation prev, Invocation cur) {
+        return prev.status() != cur.status()
+            && cur.changesState() == ChangesState.NONE
+            && prev.changesState() != ChangesState.UNKNOWN;
+    }
+
+    /**
+     * @return Count of status changes without code modifications in actual invocations.
+     */
+    public int statusChangesWithoutCodeModification() {
+        return actualizeStatusChanges().changes;
+    }
+
+    /**
+     * @return Count of actual invocations.
+     */
+    public int invocationsCount() {
+        return actualizeStatusChanges().invocations;
+    }
+
+    /**
+     * @param startDate Start date.
+     * @return Timestamp, after which invocation is considered to be expired.
+     */
+    private static long expireTs(long startDate) {
+        return startDate + Duration.ofDays(MAX_DAYS).toMillis();
+    }
+
     /**
      * @param startDate Start date.
      */
     public static boolean isExpired(long startDate) {
-        return (U.currentTimeMillis() - startDate) > Duration.ofDays(MAX_DAYS).toMillis();
+        return (System.currentTimeMillis() - startDate) > Duration.ofDays(MAX_DAYS).toMillis();
     }
 
     /**
@@ -123,6 +221,13 @@ public class InvocationData {
             .filter(this::isActual);
     }
 
+    /**
+     * @return IDs of builds registered.
+     */
+    @Nonnull public Set<Integer> buildIds() {
+        return Collections.unmodifiableSet(invocationMap.keySet());
+    }
+
     /**
      * @param invocation Invocation.
      */
@@ -178,4 +283,34 @@ public class InvocationData {
     public int criticalFailuresCount() {
         return (int)invocations().filter(inv -> inv.status() == CRITICAL_FAILURE).count();
     }
+
+    /**
+     * Status changes calculated for actual invocations.
+     */
+    private static class StatusChanges {
+        /** Status changes without code modifications. */
+        private final int changes;
+
+        /** Count of invocations used for calculation. */
+        private final int invocations;
+
+        /** Latest invocation used for calculation. */
+        private final Invocation last;
+
+        /** Timestamp, when oldest invocation used for calculation expires. */
+        private final long expireTs;
+
+        /**
+         * @param changes Status changes without code modifications.
+         * @param invocations Count of invocations used for calculation.
+         * @param last Latest invocation used for calculation.
+         * @param expireTs Timestamp, when oldest invocation used for calculation expires.
+         */
+        StatusChanges(int changes, int invocations, Invocation last, long expireTs) {
+            this.changes = changes;
+            this.invocations = invocations;
+            this.last = last;
+            this.expireTs = expireTs;
+        }
+    }
 }
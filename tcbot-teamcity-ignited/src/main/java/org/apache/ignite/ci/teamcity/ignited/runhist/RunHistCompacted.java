@@ -20,10 +20,10 @@ package org.apache.ignite.ci.teamcity.ignited.runhist;
 import com.google.common.base.MoreObjects;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.apache.ignite.tcbot.common.TcBotConst;
-import org.apache.ignite.tcignited.history.ChangesState;
 import org.apache.ignite.tcignited.history.IEventTemplate;
 import org.apache.ignite.tcignited.history.IRunHistory;
 import org.apache.ignite.tcignited.history.RunStatus;
@@ -32,6 +32,9 @@ import org.apache.ignite.tcignited.history.RunStatus;
  *
  */
 public class RunHistCompacted implements  IRunHistory {
+    /** Template code matching both successful and failed run. */
+    private static final int RES_OK_OR_FAILURE_CODE = RunStatus.RES_OK_OR_FAILURE.getCode();
+
     /** Data. */
     private InvocationData data = new InvocationData();
 
@@ -76,26 +79,11 @@ public class RunHistCompacted implements  IRunHistory {
             return null;
 
         return "Test seems to be flaky: " +
-            "changed its status [" + statusChange + "/" + data.invocations().count() + "] without code modifications";
+            "changed its status [" + statusChange + "/" + data.invocationsCount() + "] without code modifications";
     }
 
     public int getStatusChangesWithoutCodeModification() {
-        int statusChange = 0;
-
-        Invocation prev = null;
-
-        List<Invocation> latestRuns = data.invocations().collect(Collectors.toList());
-
-        for (Invocation cur : latestRuns) {
-            if (prev != null && cur != null) {
-                if (prev.status() != cur.status()
-                    && cur.changesState() == ChangesState.NONE
-                    && prev.changesState() != ChangesState.UNKNOWN)
-                    statusChange++;
-            }
-            prev = cur;
-        }
-        return statusChange;
+        return data.statusChangesWithoutCodeModification();
     }
 
     /** {@inheritDoc} */
@@ -116,62 +104,97 @@ public class RunHistCompacted implements  IRunHistory {
         return arr1and2;
     }
 
+    /** {@inheritDoc} */
     @Nullable
-    public Integer detectTemplate(IEventTemplate t) {
-        if (data == null)
-            return null;
+    @Override public Integer detectTemplate(IEventTemplate t) {
+        return detectTemplates(t)[0];
+    }
 
-        int centralEvtBuild = t.beforeEvent().length;
+    /** {@inheritDoc} */
+    @Override public Integer[] detectTemplates(IEventTemplate... templates) {
+        Integer[] detectedAt = new Integer[templates.length];
 
-        int[] template = concatArr(t.beforeEvent(), t.eventAndAfter());
+        if (data == null || templates.length == 0)
+            return detectedAt;
 
-        assert centralEvtBuild < template.length;
-        assert centralEvtBuild >= 0;
+        int[][] tmplCodes = new int[templates.length][];
+        int minTmplLen = Integer.MAX_VALUE;
 
-        List<Invocation> histAsArr = data.invocations().collect(Collectors.toList());
+        for (int i = 0; i < templates.length; i++) {
+            IEventTemplate t = templates[i];
 
-        if (histAsArr.size() < template.length)
-            return null;
+            assert t.eventAndAfter().length > 0;
 
-        Integer detectedAt = null;
-        if (t.shouldBeFirst()) {
-            if (histAsArr.size() >= getRunsAllHist()) // skip if total runs can't fit to latest runs
-                detectedAt = checkTemplateAtPos(template, centralEvtBuild, histAsArr, 0);
+            tmplCodes[i] = concatArr(t.beforeEvent(), t.eventAndAfter());
+            minTmplLen = Math.min(minTmplLen, tmplCodes[i].length);
         }
-        else {
-            //startIgnite from the end to find most recent
-            for (int idx = histAsArr.size() - template.length; idx >= 0; idx--) {
-                detectedAt = checkTemplateAtPos(template, centralEvtBuild, histAsArr, idx);
 
-                if (detectedAt != null)
-                    break;
+        List<Invocation> hist = data.invocations().collect(Collectors.toList());
+        int histLen = hist.size();
+
+        if (histLen < minTmplLen)
+            return detectedAt;
+
+        byte[] statuses = new byte[histLen];
+        int[] buildIds = new int[histLen];
+
+        for (int i = 0; i < histLen; i++) {
+            Invocation inv = hist.get(i);
+
+            statuses[i] = inv.status();
+            buildIds[i] = inv.buildId();
+        }
+
+        // Template to be first can be matched only if total runs fit to latest runs.
+        boolean firstIsLatest = histLen >= getRunsAllHist();
+
+        int notDetected = templates.length;
+
+        // Single scan from the end to find most recent occurrences of all templates.
+        for (int idx = histLen - minTmplLen; idx >= 0 && notDetected > 0; idx--) {
+            for (int i = 0; i < templates.length; i++) {
+                if (detectedAt[i] != null)
+                    continue;
+
+                int[] template = tmplCodes[i];
+
+                if (idx > histLen - template.length)
+                    continue;
+
+                if (templates[i].shouldBeFirst() && (idx != 0 || !firstIsLatest))
+                    continue;
+
+                if (matchesAtPos(template, statuses, idx)) {
+                    detectedAt[i] = buildIds[idx + templates[i].beforeEvent().length];
+
+                    notDetected--;
+                }
             }
         }
 
         return detectedAt;
     }
 
-    @Nullable
-    private static Integer checkTemplateAtPos(int[] template, int centralEvtBuild, List<Invocation> histAsArr,
-        int idx) {
+    /**
+     * @param template Template status codes.
+     * @param statuses Statuses of invocations.
+     * @param idx Position in history to check template at.
+     */
+    private static boolean matchesAtPos(int[] template, byte[] statuses, int idx) {
         for (int tIdx = 0; tIdx < template.length; tIdx++) {
-            Invocation curStatus = histAsArr.get(idx + tIdx);
+            int tmplCode = template[tIdx];
+            byte status = statuses[idx + tIdx];
 
-            if (curStatus == null)
-                break;
+            if (status == tmplCode)
+                continue;
 
-            RunStatus tmpl = RunStatus.byCode(template[tIdx]);
+            if (tmplCode == RES_OK_OR_FAILURE_CODE && (status == InvocationData.OK || status == InvocationData.FAILURE))
+                continue;
 
-            if ((tmpl == RunStatus.RES_OK_OR_FAILURE && (curStatus.status() == InvocationData.OK || curStatus.status() == InvocationData.FAILURE))
-                || curStatus.status() == tmpl.getCode()) {
-                if (tIdx == template.length - 1)
-                    return histAsArr.get(idx + centralEvtBuild).buildId();
-            }
-            else
-                break;
+            return false;
         }
 
-        return null;
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -203,4 +226,18 @@ public class RunHistCompacted implements  IRunHistory {
     public void innerAddInvocation(Invocation v) {
         data.innerAdd(v);
     }
+
+    /**
+     * @param other History to add actual invocations from.
+     */
+    public void merge(RunHistCompacted other) {
+        other.data.invocations().forEach(data::innerAdd);
+    }
+
+    /**
+     * @return IDs of builds registered in history.
+     */
+    public Set<Integer> buildIds() {
+        return data.buildIds();
+    }
 }
@@ -77,4 +77,11 @@ public class RunHistKey {
     public int srvId() {
         return srvId;
     }
+
+    /**
+     *
+     */
+    public int branch() {
+        return branch;
+    }
 }
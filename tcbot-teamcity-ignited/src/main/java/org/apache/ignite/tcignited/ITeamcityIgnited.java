@@ -43,6 +43,7 @@ import org.apache.ignite.ci.teamcity.ignited.buildtype.BuildTypeRefCompacted;
 import org.apache.ignite.ci.teamcity.ignited.change.ChangeCompacted;
 import org.apache.ignite.ci.teamcity.ignited.change.RevisionCompacted;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestCompacted;
 
 /**
  *
@@ -161,6 +162,12 @@ public interface ITeamcityIgnited {
      */
     public FatBuildCompacted getFatBuild(int id, SyncMode mode);
 
+    /**
+     * @param detailsId Failed test details ID, see {@link TestCompacted#detailsId()}.
+     * @return Failed test details (stack trace) or null if details are not found.
+     */
+    @Nullable public String getTestDetails(long detailsId);
+
     public Collection<ChangeCompacted> getAllChanges(int[] changeIds);
 
     /**
@@ -214,6 +221,15 @@ public interface ITeamcityIgnited {
 
     public List<String> getAllProjectsIds();
 
+    /**
+     * Loads run history of several suites at once, so following {@link #getSuiteRunHist(Integer, Integer)} and {@link
+     * #getTestRunHist(int, Integer, Integer)} calls for these suites are served from memory.
+     *
+     * @param buildTypeIds Suite (build type) ids.
+     * @param normalizedBaseBranch Normalized branch id.
+     */
+    public void prefetchSuiteRunHist(Collection<Integer> buildTypeIds, @Nullable Integer normalizedBaseBranch);
+
     /**
      * Get list of teamcity agents. Never cached, request goes directly to pure TC.
      *
@@ -19,6 +19,8 @@ package org.apache.ignite.tcignited;
 import com.google.common.base.Strings;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
@@ -42,11 +44,17 @@ class TcIgnitedCachingProvider implements ITeamcityIgnitedProvider {
 
     @Inject private Provider<TeamcityIgnitedImpl> provider;
 
-    private final Cache<String, ITeamcityIgnited> srvs
+    /**
+     * Server instances, one per real server code. Contains user independent state (DAOs, sync and history caches), so
+     * data warmed up for one user is used by all.
+     */
+    private final ConcurrentMap<String, TeamcityIgnitedImpl> srvs = new ConcurrentHashMap<>();
+
+    /** Lightweight per-user views of servers, keyed by {@code user:server}. */
+    private final Cache<String, TeamcityIgnitedWithCreds> userSrvs
             = CacheBuilder.newBuilder()
             .maximumSize(100)
             .expireAfterAccess(16, TimeUnit.MINUTES)
-            .softValues()
             .build();
 
     /** {@inheritDoc} */
@@ -79,7 +87,7 @@ class TcIgnitedCachingProvider implements ITeamcityIgnitedProvider {
         String fullKey = Strings.nullToEmpty(prov == null ? null : prov.getUser(realSrvCode)) + ":" + Strings.nullToEmpty(realSrvCode);
 
         try {
-            return srvs.get(fullKey, () -> {
+            TeamcityIgnitedWithCreds userSrv = userSrvs.get(fullKey, () -> {
                 final TeamcityServiceConnection teamcityServiceConnection = srvFactory.get();
                 teamcityServiceConnection.init(realSrvCode);
 
@@ -90,12 +98,21 @@ class TcIgnitedCachingProvider implements ITeamcityIgnitedProvider {
                     teamcityServiceConnection.setAuthData(user, pwd);
                 }
 
-                TeamcityIgnitedImpl impl = provider.get();
+                TeamcityIgnitedImpl impl = srvs.computeIfAbsent(realSrvCode, k -> {
+                    TeamcityIgnitedImpl srv = provider.get();
+
+                    srv.init(teamcityServiceConnection);
 
-                impl.init(teamcityServiceConnection);
+                    return srv;
+                });
 
-                return impl;
+                return new TeamcityIgnitedWithCreds(impl, teamcityServiceConnection);
             });
+
+            // Offered on each access, so background sync recovers after its credentials were rejected.
+            userSrv.shared().offerConnection(userSrv.connection());
+
+            return userSrv;
         }
         catch (ExecutionException e) {
             throw ExceptionUtil.propagateException(e);
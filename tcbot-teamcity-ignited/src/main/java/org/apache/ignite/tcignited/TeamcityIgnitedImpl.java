@@ -48,6 +48,7 @@ import org.apache.ignite.ci.teamcity.ignited.change.ChangeCompacted;
 import org.apache.ignite.ci.teamcity.ignited.change.ChangeDao;
 import org.apache.ignite.ci.teamcity.ignited.change.ChangeSync;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.teamcity.ignited.runhist.RunHistKey;
 import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.common.interceptor.GuavaCached;
@@ -56,6 +57,7 @@ import org.apache.ignite.tcbot.persistence.IStringCompactor;
 import org.apache.ignite.tcbot.persistence.scheduler.IScheduler;
 import org.apache.ignite.tcignited.build.FatBuildDao;
 import org.apache.ignite.tcignited.build.ProactiveFatBuildSync;
+import org.apache.ignite.tcignited.build.TestDetailsDao;
 import org.apache.ignite.tcignited.buildlog.BuildLogCheckResultDao;
 import org.apache.ignite.tcignited.buildref.BranchEquivalence;
 import org.apache.ignite.tcignited.buildref.BuildRefDao;
@@ -67,6 +69,7 @@ import org.apache.ignite.tcignited.history.BuildStartTimeStorage;
 import org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao;
 import org.apache.ignite.tcignited.mute.MuteDao;
 import org.apache.ignite.tcignited.mute.MuteSync;
+import org.apache.ignite.tcservice.ITeamcity;
 import org.apache.ignite.tcservice.ITeamcityConn;
 import org.apache.ignite.tcservice.model.agent.Agent;
 import org.apache.ignite.tcservice.model.conf.Project;
@@ -94,8 +97,8 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
     /** Server (service) code. */
     private String srvCode;
 
-    /** Pure HTTP Connection API. */
-    private ITeamcityConn conn;
+    /** Pure HTTP Connection API, used for background sync. */
+    private volatile ITeamcityConn conn;
 
     /** Scheduler. */
     @Inject private IScheduler scheduler;
@@ -112,6 +115,9 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
     /** Build DAO. */
     @Inject private FatBuildDao fatBuildDao;
 
+    /** Failed tests details DAO. */
+    @Inject private TestDetailsDao testDetailsDao;
+
     /** Build Sync. */
     @Inject private ProactiveFatBuildSync fatBuildSync;
 
@@ -173,6 +179,30 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
         histDao.init();
     }
 
+    /**
+     * Replaces connection used for background sync, if current connection was created without credentials or its
+     * credentials were rejected by the server (e.g. password was changed or token was revoked).
+     *
+     * @param conn Connection of some user for the same server.
+     */
+    void offerConnection(ITeamcity conn) {
+        ITeamcityConn cur = this.conn;
+
+        if (cur == conn || !isAuthorized(conn))
+            return;
+
+        if (!(cur instanceof ITeamcity) || !isAuthorized((ITeamcity)cur))
+            this.conn = conn;
+    }
+
+    /**
+     * @param conn Connection.
+     * @return {@code True} if connection has credentials not rejected by the server.
+     */
+    private static boolean isAuthorized(ITeamcity conn) {
+        return conn.isTeamCityTokenAvailable() && !conn.isAuthorizationRejected();
+    }
+
     /**
      * @param taskName Task name.
      * @return Task name concatenated with server name.
@@ -442,8 +472,31 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
         return histCollector.getTestRunHist(srvIdMaskHigh, testName, buildTypeId, normalizedBaseBranch);
     }
 
+    /** {@inheritDoc} */
+    @Override public void prefetchSuiteRunHist(Collection<Integer> buildTypeIds,
+        @Nullable Integer normalizedBaseBranch) {
+        if (normalizedBaseBranch == null || normalizedBaseBranch < 0)
+            return;
+
+        List<RunHistKey> keys = buildTypeIds.stream()
+            .filter(Objects::nonNull)
+            .filter(id -> id >= 0)
+            .map(id -> new RunHistKey(srvIdMaskHigh, id, normalizedBaseBranch))
+            .collect(Collectors.toList());
+
+        if (!keys.isEmpty())
+            histCollector.prefetch(keys);
+    }
+
     /** {@inheritDoc} */
     @Override public List<String> getAllProjectsIds() {
+        return getAllProjectsIds(conn);
+    }
+
+    /**
+     * @param conn Connection.
+     */
+    static List<String> getAllProjectsIds(ITeamcityConn conn) {
         return conn.getProjects().stream().map(Project::id).collect(Collectors.toList());
     }
 
@@ -494,6 +547,21 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
     /** {@inheritDoc} */
     @Override public Build triggerBuild(String buildTypeId, String branchName, boolean cleanRebuild, boolean queueAtTop,
         Map<String, Object> buildParms) {
+        return triggerBuild(conn, buildTypeId, branchName, cleanRebuild, queueAtTop, buildParms);
+    }
+
+    /**
+     * Triggers build using provided connection, so build is triggered on behalf of particular user.
+     *
+     * @param conn Connection.
+     * @param buildTypeId Build type id.
+     * @param branchName Branch name.
+     * @param cleanRebuild Rebuild all dependencies.
+     * @param queueAtTop Put at the top of the build queue.
+     * @param buildParms Additional build parameters.
+     */
+    Build triggerBuild(ITeamcityConn conn, String buildTypeId, String branchName, boolean cleanRebuild,
+        boolean queueAtTop, Map<String, Object> buildParms) {
         Build build = conn.triggerBuild(buildTypeId, branchName, cleanRebuild, queueAtTop, buildParms);
 
         //todo may add additional parameter: load builds into DB in sync/async fashion
@@ -575,6 +643,11 @@ public class TeamcityIgnitedImpl implements ITeamcityIgnited {
         return savedVer;
     }
 
+    /** {@inheritDoc} */
+    @Override public String getTestDetails(long detailsId) {
+        return testDetailsDao.getDetails(detailsId);
+    }
+
     protected FatBuildCompacted getFatBuildFromIgnite(int buildId) {
         ensureActualizeRequested();
 
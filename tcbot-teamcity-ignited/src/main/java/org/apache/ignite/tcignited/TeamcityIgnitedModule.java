@@ -18,6 +18,7 @@ package org.apache.ignite.tcignited;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.internal.SingletonScope;
+import org.apache.ignite.ci.tcbot.common.TestDetailsCompressor;
 import org.apache.ignite.ci.teamcity.ignited.buildcondition.BuildConditionDao;
 import org.apache.ignite.tcignited.buildlog.BuildLogCheckResultDao;
 import org.apache.ignite.tcignited.buildref.BuildRefDao;
@@ -29,6 +30,7 @@ import org.apache.ignite.ci.teamcity.ignited.change.ChangeDao;
 import org.apache.ignite.ci.teamcity.ignited.change.ChangeSync;
 import org.apache.ignite.tcignited.build.FatBuildDao;
 import org.apache.ignite.tcignited.build.ProactiveFatBuildSync;
+import org.apache.ignite.tcignited.build.TestDetailsDao;
 import org.apache.ignite.tcignited.history.HistoryCollector;
 import org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao;
 import org.apache.ignite.tcignited.mute.MuteDao;
@@ -39,6 +41,7 @@ import org.apache.ignite.tcignited.history.RunHistSync;
 import org.apache.ignite.tcservice.TcRealConnectionModule;
 import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
 
+import java.io.File;
 import javax.annotation.Nullable;
 
 /**
@@ -49,6 +52,10 @@ public class TeamcityIgnitedModule extends AbstractModule {
     @Nullable
     private ITeamcityHttpConnection conn;
 
+    /** Directory of HTTP responses cache. */
+    @Nullable
+    private File rspCacheDir;
+
     /** {@inheritDoc} */
     @Override protected void configure() {
         bind(ITeamcityIgnitedProvider.class).to(TcIgnitedCachingProvider.class).in(new SingletonScope());
@@ -56,6 +63,8 @@ public class TeamcityIgnitedModule extends AbstractModule {
         bind(BuildRefSync.class).in(new SingletonScope());
         bind(BuildConditionDao.class).in(new SingletonScope());
         bind(FatBuildDao.class).in(new SingletonScope());
+        bind(TestDetailsCompressor.class).in(new SingletonScope());
+        bind(TestDetailsDao.class).in(new SingletonScope());
         bind(ProactiveFatBuildSync.class).in(new SingletonScope());
         bind(ChangeSync.class).in(new SingletonScope());
         bind(ChangeDao.class).in(new SingletonScope());
@@ -73,6 +82,8 @@ public class TeamcityIgnitedModule extends AbstractModule {
         TcRealConnectionModule module = new TcRealConnectionModule();
         if (conn != null)
             module.overrideHttp(conn);
+        if (rspCacheDir != null)
+            module.overrideResponseCacheDir(rspCacheDir);
 
         install(module);
 
@@ -82,4 +93,11 @@ public class TeamcityIgnitedModule extends AbstractModule {
     public void overrideHttp(ITeamcityHttpConnection conn) {
         this.conn = conn;
     }
+
+    /**
+     * @param rspCacheDir Directory of HTTP responses cache.
+     */
+    public void overrideResponseCacheDir(File rspCacheDir) {
+        this.rspCacheDir = rspCacheDir;
+    }
 }
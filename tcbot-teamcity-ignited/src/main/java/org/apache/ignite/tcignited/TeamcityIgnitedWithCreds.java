@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcignited;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.ignite.ci.teamcity.ignited.BuildRefCompacted;
+import org.apache.ignite.ci.teamcity.ignited.buildcondition.BuildCondition;
+import org.apache.ignite.ci.teamcity.ignited.buildtype.BuildTypeCompacted;
+import org.apache.ignite.ci.teamcity.ignited.buildtype.BuildTypeRefCompacted;
+import org.apache.ignite.ci.teamcity.ignited.change.ChangeCompacted;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
+import org.apache.ignite.tcignited.history.IRunHistory;
+import org.apache.ignite.tcignited.history.ISuiteRunHistory;
+import org.apache.ignite.tcservice.ITeamcity;
+import org.apache.ignite.tcservice.model.agent.Agent;
+import org.apache.ignite.tcservice.model.mute.MuteInfo;
+import org.apache.ignite.tcservice.model.result.Build;
+
+/**
+ * Lightweight per-user view of the server: data access, sync and history caches are provided by shared {@link
+ * TeamcityIgnitedImpl} instance of the server, while user actions and pure REST calls are done using user credentials.
+ */
+class TeamcityIgnitedWithCreds implements ITeamcityIgnited {
+    /** Server instance shared between all users. */
+    private final TeamcityIgnitedImpl srv;
+
+    /** Pure HTTP Connection API with credentials of the user. */
+    private final ITeamcity conn;
+
+    /**
+     * @param srv Server instance shared between all users.
+     * @param conn Connection with credentials of the user.
+     */
+    TeamcityIgnitedWithCreds(TeamcityIgnitedImpl srv, ITeamcity conn) {
+        this.srv = srv;
+        this.conn = conn;
+    }
+
+    /**
+     * @return Server instance shared between all users.
+     */
+    TeamcityIgnitedImpl shared() {
+        return srv;
+    }
+
+    /**
+     * @return Connection with credentials of the user.
+     */
+    ITeamcity connection() {
+        return conn;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String serverCode() {
+        return srv.serverCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ITcServerConfig config() {
+        return srv.config();
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<BuildRefCompacted> getAllBuildsCompacted(@Nullable String buildTypeId,
+        @Nullable String branchName) {
+        return srv.getAllBuildsCompacted(buildTypeId, branchName);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<BuildRefCompacted> getQueuedBuildsCompacted(@Nullable String branchName) {
+        return srv.getQueuedBuildsCompacted(branchName);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Set<MuteInfo> getMutes(String projectId) {
+        return srv.getMutes(projectId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<BuildRefCompacted> getFinishedBuildsCompacted(@Nullable String buildTypeId,
+        @Nullable String branchName, @Nullable Date sinceDate, @Nullable Date untilDate) {
+        return srv.getFinishedBuildsCompacted(buildTypeId, branchName, sinceDate, untilDate);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Build triggerBuild(String buildTypeId, String branchName, boolean cleanRebuild,
+        boolean queueAtTop, Map<String, Object> buildParms) {
+        return srv.triggerBuild(conn, buildTypeId, branchName, cleanRebuild, queueAtTop, buildParms);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean buildIsValid(int buildId) {
+        return srv.buildIsValid(buildId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean setBuildCondition(BuildCondition cond) {
+        return srv.setBuildCondition(cond);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Long getBuildStartTs(int buildId) {
+        return srv.getBuildStartTs(buildId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public FatBuildCompacted getFatBuild(int id, SyncMode mode) {
+        return srv.getFatBuild(id, mode);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getTestDetails(long detailsId) {
+        return srv.getTestDetails(detailsId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Collection<ChangeCompacted> getAllChanges(int[] changeIds) {
+        return srv.getAllChanges(changeIds);
+    }
+
+    /** {@inheritDoc} */
+    @Nonnull @Override public List<Integer> getLastNBuildsFromHistory(String btId, String branchForTc, int cnt) {
+        return srv.getLastNBuildsFromHistory(btId, branchForTc, cnt);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<String> getCompositeBuildTypesIdsSortedByBuildNumberCounter(String projectId) {
+        return srv.getCompositeBuildTypesIdsSortedByBuildNumberCounter(projectId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<BuildTypeRefCompacted> getAllBuildTypesCompacted(String projectId) {
+        return srv.getAllBuildTypesCompacted(projectId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public BuildTypeRefCompacted getBuildTypeRef(String buildTypeId) {
+        return srv.getBuildTypeRef(buildTypeId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public BuildTypeCompacted getBuildType(String buildTypeId) {
+        return srv.getBuildType(buildTypeId);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public ISuiteRunHistory getSuiteRunHist(@Nullable Integer buildTypeId,
+        @Nullable Integer normalizedBaseBranch) {
+        return srv.getSuiteRunHist(buildTypeId, normalizedBaseBranch);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public IRunHistory getTestRunHist(int testName, @Nullable Integer buildTypeId,
+        @Nullable Integer normalizedBaseBranch) {
+        return srv.getTestRunHist(testName, buildTypeId, normalizedBaseBranch);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void prefetchSuiteRunHist(Collection<Integer> buildTypeIds,
+        @Nullable Integer normalizedBaseBranch) {
+        srv.prefetchSuiteRunHist(buildTypeIds, normalizedBaseBranch);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<String> getAllProjectsIds() {
+        return TeamcityIgnitedImpl.getAllProjectsIds(conn);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Agent> agents(boolean connected, boolean authorized) {
+        return conn.agents(connected, authorized);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public File downloadAndCacheBuildLog(int buildId) {
+        return conn.downloadAndCacheBuildLog(buildId);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.ignite.IgniteCache;
 import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheEntryProcessor;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestCompacted;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.persistence.CacheConfigs;
 import org.apache.ignite.tcbot.persistence.IStringCompactor;
@@ -35,6 +36,7 @@ import org.apache.ignite.tcservice.model.hist.BuildRef;
 import org.apache.ignite.tcservice.model.result.Build;
 import org.apache.ignite.tcservice.model.result.problems.ProblemOccurrence;
 import org.apache.ignite.tcservice.model.result.stat.Statistics;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,7 +62,7 @@ public class FatBuildDao {
     private static final Logger logger = LoggerFactory.getLogger(FatBuildDao.class);
 
     /** Cache name */
-    public static final String TEAMCITY_FAT_BUILD_CACHE_NAME = "teamcityFatBuild";
+    public static final String TEAMCITY_FAT_BUILD_CACHE_NAME = "teamcityFatBuildV2";
     public static final int MAX_FAT_BUILD_CHUNK = 32 * 10;
 
     /** Ignite provider. */
@@ -75,15 +77,29 @@ public class FatBuildDao {
     /** History collector. */
     @Inject private HistoryCollector histCollector;
 
+    /** Store of failed tests details. */
+    @Inject private TestDetailsDao detailsDao;
+
     /**
      *
      */
     public FatBuildDao init() {
-        buildsCache = igniteProvider.get().getOrCreateCache(CacheConfigs.getCacheV2Config(TEAMCITY_FAT_BUILD_CACHE_NAME));
+        buildsCache = fatBuildsCache(igniteProvider.get());
+
+        detailsDao.init();
 
         return this;
     }
 
+    /**
+     * @param ignite Ignite.
+     * @return Fat builds cache, created in bulk data region if it does not exist.
+     */
+    public static IgniteCache<Long, FatBuildCompacted> fatBuildsCache(Ignite ignite) {
+        return ignite.getOrCreateCache(CacheConfigs.getCacheV2Config(TEAMCITY_FAT_BUILD_CACHE_NAME,
+            CacheConfigs.BULK_REGION));
+    }
+
     /**
      * @param srvIdMaskHigh Server id mask high.
      * @param buildId
@@ -103,13 +119,48 @@ public class FatBuildDao {
                                        @Nullable Statistics statistics,
                                        @Nullable ChangesList changesList,
                                        @Nullable FatBuildCompacted existingBuild) {
+        Map<Long, String> details = new HashMap<>();
+        List<TestCompacted> compacted = new ArrayList<>();
+
+        for (TestOccurrencesFull next : tests) {
+            for (TestOccurrenceFull occurrence : next.getTests())
+                compacted.add(new TestCompacted(compactor, occurrence, details));
+        }
+
+        return saveBuild(srvIdMaskHigh, buildId, build, compacted, details, problems, statistics, changesList,
+            existingBuild);
+    }
+
+    /**
+     * @param srvIdMaskHigh Server id mask high.
+     * @param buildId Build ID.
+     * @param build Build data.
+     * @param tests Tests of build.
+     * @param testDetails Failed tests details referenced by tests: details ID to details.
+     * @param problems Problems.
+     * @param statistics Statistics.
+     * @param changesList Changes.
+     * @param existingBuild existing version of build in the DB.
+     * @return Fat Build saved (if modifications detected), otherwise null.
+     */
+    @Nullable public FatBuildCompacted saveBuild(int srvIdMaskHigh,
+                                       int buildId,
+                                       @Nonnull Build build,
+                                       @Nonnull List<TestCompacted> tests,
+                                       @Nonnull Map<Long, String> testDetails,
+                                       @Nullable List<ProblemOccurrence> problems,
+                                       @Nullable Statistics statistics,
+                                       @Nullable ChangesList changesList,
+                                       @Nullable FatBuildCompacted existingBuild) {
         Preconditions.checkNotNull(buildsCache, "init() was not called");
         Preconditions.checkNotNull(build, "build can't be null");
 
         FatBuildCompacted newBuild = new FatBuildCompacted(compactor, build);
 
-        for (TestOccurrencesFull next : tests)
-            newBuild.addTests(compactor, next.getTests());
+        newBuild.addCompactedTests(compactor, tests);
+
+        // Details are saved before the build, so build never references missing details.
+        detailsDao.saveAll(testDetails);
 
         if (problems != null)
             newBuild.addProblems(compactor, problems);
@@ -18,8 +18,10 @@ package org.apache.ignite.tcignited.build;
 
 import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.ignite.ci.teamcity.ignited.fatbuild.FatBuildCompacted;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestCompacted;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.common.interceptor.MonitoredTask;
 import org.apache.ignite.tcbot.persistence.scheduler.IScheduler;
@@ -27,7 +29,6 @@ import org.apache.ignite.tcservice.model.changes.ChangesList;
 import org.apache.ignite.tcservice.model.result.Build;
 import org.apache.ignite.tcservice.model.result.problems.ProblemOccurrence;
 import org.apache.ignite.tcservice.model.result.stat.Statistics;
-import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
 import org.apache.ignite.ci.teamcity.ignited.BuildRefCompacted;
 import org.apache.ignite.tcignited.buildref.BuildRefDao;
 import org.apache.ignite.tcbot.persistence.IStringCompactor;
@@ -342,7 +343,8 @@ public class ProactiveFatBuildSync {
         }
 
         Build build;
-        List<TestOccurrencesFull> tests = new ArrayList<>();
+        List<TestCompacted> tests = new ArrayList<>();
+        Map<Long, String> testDetails = new HashMap<>();
         List<ProblemOccurrence> problems = null;
         Statistics statistics = null;
         ChangesList changesList = null;
@@ -360,10 +362,9 @@ public class ProactiveFatBuildSync {
             if (build.testOccurrences != null && !build.isComposite()) { // don't query tests for compoite
                 String nextHref = null;
                 do {
-                    TestOccurrencesFull page = conn.getTestsPage(buildId, nextHref, true);
-                    nextHref = page.nextHref();
-
-                    tests.add(page);
+                    // Tests are compacted as soon as parsed, so parsed page is not kept in memory.
+                    nextHref = conn.streamTestsPage(buildId, nextHref, true,
+                        occurrence -> tests.add(new TestCompacted(compactor, occurrence, testDetails)));
                 }
                 while (!Strings.isNullOrEmpty(nextHref));
             }
@@ -399,7 +400,10 @@ public class ProactiveFatBuildSync {
                     if (build.isFakeStub())
                         build.setCancelled();
 
-                    tests = Collections.singletonList(existingBuild.getTestOcurrences(compactor));
+                    // Tests of existing build reference details already saved.
+                    tests.clear();
+                    tests.addAll(existingBuild.getAllTests().collect(Collectors.toList()));
+                    testDetails.clear();
 
                     problems = existingBuild.problems(compactor);
 
@@ -423,7 +427,8 @@ public class ProactiveFatBuildSync {
 
         //if we are here because of some sort of outdated version of build,
         // new save will be performed with new entity version for compacted build
-        return fatBuildDao.saveBuild(srvIdMask, buildId, build, tests, problems, statistics, changesList, existingBuild);
+        return fatBuildDao.saveBuild(srvIdMask, buildId, build, tests, testDetails, problems, statistics, changesList,
+            existingBuild);
     }
 
     @Nullable
@@ -19,6 +19,7 @@ package org.apache.ignite.tcignited.build;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ignite.Ignite;
 import org.apache.ignite.ci.teamcity.ignited.runhist.Invocation;
@@ -67,4 +68,25 @@ public class SuiteHistory implements ISuiteRunHistory {
     @Override public IRunHistory self() {
         return suiteHist;
     }
+
+    /**
+     * @return IDs of builds registered in suite history.
+     */
+    public Set<Integer> buildIds() {
+        return suiteHist.buildIds();
+    }
+
+    /**
+     * Adds invocations from other summary of the same suite, invocations of already known builds are skipped.
+     *
+     * @param other Other history.
+     * @return {@code this} for chaining.
+     */
+    public SuiteHistory merge(SuiteHistory other) {
+        other.testsHistory.forEach((tName, hist) -> getOrAddTestsHistory(tName).merge(hist));
+
+        suiteHist.merge(other.suiteHist);
+
+        return this;
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcignited.build;
+
+import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import javax.cache.processor.MutableEntry;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.ci.tcbot.common.StringFieldCompacted;
+import org.apache.ignite.ci.tcbot.common.TestDetailsCompressor;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.ITestDetailsStore;
+import org.apache.ignite.ci.teamcity.ignited.fatbuild.TestDetailsUtil;
+import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
+import org.apache.ignite.tcbot.persistence.CacheConfigs;
+
+/**
+ * Content addressed store of failed test details (stack traces). Same trace is usually reported by a test in many
+ * builds, so it is saved once and referenced from builds by ID, which is 64-bit hash of normalized trace.
+ */
+public class TestDetailsDao implements ITestDetailsStore {
+    /** Cache name. */
+    public static final String TEST_DETAILS_CACHE_NAME = "testDetails";
+
+    /** Ignite provider. */
+    @Inject private Provider<Ignite> igniteProvider;
+
+    /** Compressor of details. */
+    @Inject private TestDetailsCompressor compressor;
+
+    /** Details cache: details ID to compressed details. */
+    private IgniteCache<Long, StringFieldCompacted> detailsCache;
+
+    /**
+     *
+     */
+    public TestDetailsDao init() {
+        detailsCache = igniteProvider.get().getOrCreateCache(CacheConfigs.getCacheV2Config(TEST_DETAILS_CACHE_NAME,
+            CacheConfigs.BULK_REGION));
+
+        return this;
+    }
+
+    /**
+     * Saves details not yet present in the store, only these details are compressed. Details no longer referenced by
+     * any build are not removed.
+     *
+     * @param details Details ID to normalized details, see {@link TestDetailsUtil}.
+     */
+    @AutoProfiling
+    public void saveAll(Map<Long, String> details) {
+        Preconditions.checkNotNull(detailsCache, "init() was not called");
+
+        if (details.isEmpty())
+            return;
+
+        IgniteCache<Long, BinaryObject> binCache = detailsCache.withKeepBinary();
+
+        // Existence is checked on data nodes, values are not transferred.
+        Map<Long, EntryProcessorResult<Boolean>> existing = binCache.invokeAll(details.keySet(), new ExistsProc());
+
+        Map<Long, StringFieldCompacted> toSave = new HashMap<>();
+
+        details.forEach((id, text) -> {
+            EntryProcessorResult<Boolean> res = existing.get(id);
+
+            if (res == null || !Boolean.TRUE.equals(res.get()))
+                toSave.put(id, compressor.compress(text));
+        });
+
+        if (!toSave.isEmpty())
+            detailsCache.putAll(toSave);
+    }
+
+    /** {@inheritDoc} */
+    @AutoProfiling
+    @Nullable @Override public String getDetails(long detailsId) {
+        Preconditions.checkNotNull(detailsCache, "init() was not called");
+
+        StringFieldCompacted compacted = detailsCache.get(detailsId);
+
+        return compacted == null ? null : compacted.getValue();
+    }
+
+    /**
+     * Checks entry exists without reading its value.
+     */
+    private static class ExistsProc implements CacheEntryProcessor<Long, BinaryObject, Boolean> {
+        /** Serial version uid. */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public Boolean process(MutableEntry<Long, BinaryObject> entry,
+            Object... arguments) throws EntryProcessorException {
+            return entry.exists();
+        }
+    }
+}
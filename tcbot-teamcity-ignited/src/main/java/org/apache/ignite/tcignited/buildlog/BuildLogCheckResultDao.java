@@ -29,7 +29,7 @@ import javax.inject.Provider;
 
 public class BuildLogCheckResultDao {
     /** Cache name */
-    public static final String TEAMCITY_CHANGE_CACHE_NAME = "buildLogCheckResult";
+    public static final String TEAMCITY_CHANGE_CACHE_NAME = "buildLogCheckResultV2";
 
     /** Ignite provider. */
     @Inject
@@ -46,9 +46,18 @@ public class BuildLogCheckResultDao {
 
     /** */
     public void init() {
-        CacheConfiguration<Long, LogCheckResultCompacted> cfg = CacheConfigs.getCacheV2Config(TEAMCITY_CHANGE_CACHE_NAME);
+        logsCache = logCheckResultsCache(igniteProvider.get());
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @return Log check results cache, created in bulk data region if it does not exist.
+     */
+    public static IgniteCache<Long, LogCheckResultCompacted> logCheckResultsCache(Ignite ignite) {
+        CacheConfiguration<Long, LogCheckResultCompacted> cfg = CacheConfigs.getCacheV2Config(TEAMCITY_CHANGE_CACHE_NAME,
+            CacheConfigs.BULK_REGION);
 
-        logsCache = igniteProvider.get().getOrCreateCache(cfg);
+        return ignite.getOrCreateCache(cfg);
     }
 
     @Nullable public LogCheckResultCompacted get(String srvCode, int buildId) {
@@ -27,8 +27,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -44,14 +48,31 @@ public class BuildRefSync {
      */
     public static final int MAX_INCREMENTAL_BUILDS_TO_CHECK = 5000;
 
+    /** Min count of builds requested in one page, default page size of TC. */
+    public static final int MIN_PAGE_SIZE = 100;
+
+    /** Max count of builds requested in one page, used for full reindex. */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /** Part of changed builds in page, starting from which next page is requested twice larger. */
+    public static final double GROW_PAGE_CHANGED_RATIO = 0.5;
+
+    /** Part of changed builds in page, below which next page is requested twice smaller. */
+    public static final double SHRINK_PAGE_CHANGED_RATIO = 0.1;
+
     /** Build reference DAO. */
     @Inject private BuildRefDao buildRefDao;
 
     /** Build Sync. */
     @Inject private ProactiveFatBuildSync fatBuildSync;
 
+    /** Server code to statistics of sync, contains page size to start next incremental sync with. */
+    private final ConcurrentMap<String, BuildRefSyncStatistics> statistics = new ConcurrentHashMap<>();
+
     /**
-     * List all builds (first pages or all available).
+     * List all builds (first pages or all available). Page size is adapted to part of changed builds in previous page:
+     * many changes during busy hours require larger pages to reduce round-trips count, and few changes require only
+     * first small page to be checked.
      *
      * @param srvId Server id.
      * @param fullReindex Reindex all builds from TC history.
@@ -63,14 +84,25 @@ public class BuildRefSync {
     @AutoProfiling
     public String runActualizeBuildRefs(String srvId, boolean fullReindex,
                                         @Nullable Set<Integer> mandatoryToReload, ITeamcityConn conn) {
+        BuildRefSyncStatistics stat = statistics.computeIfAbsent(srvId, k -> new BuildRefSyncStatistics());
+
+        int firstPageSize = fullReindex ? MAX_PAGE_SIZE : stat.pageSize();
+
         AtomicReference<String> outLinkNext = new AtomicReference<>();
-        List<BuildRef> tcDataFirstPage = conn.getBuildRefsPage(null, outLinkNext);
+        List<BuildRef> tcDataFirstPage = conn.getBuildRefsPage(null, firstPageSize, outLinkNext);
 
         final int srvIdMaskHigh = ITeamcityIgnited.serverIdToInt(srvId);
         Set<Long> buildsUpdated = buildRefDao.saveChunk(srvIdMaskHigh, tcDataFirstPage);
         int totalUpdated = buildsUpdated.size();
         fatBuildSync.scheduleBuildsLoad(conn, cacheKeysToBuildIds(buildsUpdated));
 
+        int pages = 1;
+        int pageSize = fullReindex
+            ? MAX_PAGE_SIZE
+            : nextPageSize(firstPageSize, tcDataFirstPage.size(), buildsUpdated.size());
+
+        int nextSyncPageSize = pageSize;
+
         int totalChecked = tcDataFirstPage.size();
         int neededToFind = 0;
         if (mandatoryToReload != null) {
@@ -82,15 +114,19 @@ public class BuildRefSync {
         while (outLinkNext.get() != null) {
             String nextPageUrl = outLinkNext.get();
             outLinkNext.set(null);
-            List<BuildRef> tcDataNextPage = conn.getBuildRefsPage(nextPageUrl, outLinkNext);
+            List<BuildRef> tcDataNextPage = conn.getBuildRefsPage(nextPageUrl, pageSize, outLinkNext);
             Set<Long> curChunkBuildsSaved = buildRefDao.saveChunk(srvIdMaskHigh, tcDataNextPage);
             totalUpdated += curChunkBuildsSaved.size();
             fatBuildSync.scheduleBuildsLoad(conn, cacheKeysToBuildIds(curChunkBuildsSaved));
 
             int savedCurChunk = curChunkBuildsSaved.size();
 
+            pages++;
             totalChecked += tcDataNextPage.size();
 
+            if (!fullReindex)
+                pageSize = nextPageSize(pageSize, tcDataNextPage.size(), savedCurChunk);
+
             if (!fullReindex) {
                 if (mandatoryToReload != null && !mandatoryToReload.isEmpty())
                     tcDataNextPage.stream().map(BuildRef::getId).forEach(mandatoryToReload::remove);
@@ -106,8 +142,40 @@ public class BuildRefSync {
             }
         }
 
+        // Next incremental sync starts with page size adapted to changes of first page, last page usually has no changes.
+        stat.onSync(fullReindex ? stat.pageSize() : nextSyncPageSize, pages, totalChecked, totalUpdated);
+
         int leftToFind = mandatoryToReload == null ? 0 : mandatoryToReload.size();
-        return "Entries saved " + totalUpdated + " Builds checked " + totalChecked + " Needed to find " + neededToFind + " remained to find " + leftToFind;
+        return "Entries saved " + totalUpdated + " Builds checked " + totalChecked + " Pages " + pages +
+            " Needed to find " + neededToFind + " remained to find " + leftToFind;
+    }
+
+    /**
+     * @param pageSize Current page size.
+     * @param checked Builds received in page.
+     * @param changed Builds changed in page.
+     * @return Size of next page.
+     */
+    static int nextPageSize(int pageSize, int checked, int changed) {
+        if (checked == 0)
+            return pageSize;
+
+        double changedRatio = (double)changed / checked;
+
+        if (changedRatio >= GROW_PAGE_CHANGED_RATIO)
+            return Math.min(pageSize * 2, MAX_PAGE_SIZE);
+
+        if (changedRatio < SHRINK_PAGE_CHANGED_RATIO)
+            return Math.max(pageSize / 2, MIN_PAGE_SIZE);
+
+        return pageSize;
+    }
+
+    /**
+     * @return Server code to statistics of build references sync.
+     */
+    public Map<String, BuildRefSyncStatistics> statistics() {
+        return Collections.unmodifiableMap(statistics);
     }
 
 
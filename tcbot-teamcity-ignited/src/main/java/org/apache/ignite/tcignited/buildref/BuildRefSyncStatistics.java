@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcignited.buildref;
+
+/**
+ * Statistics of build references sync for one server.
+ */
+public class BuildRefSyncStatistics {
+    /** Page size to start next incremental sync with. */
+    private int pageSize = BuildRefSync.MIN_PAGE_SIZE;
+
+    /** Syncs completed. */
+    private long syncs;
+
+    /** Pages requested by all syncs. */
+    private long totalPages;
+
+    /** Pages requested by last sync. */
+    private int lastPages;
+
+    /** Builds checked by last sync. */
+    private int lastChecked;
+
+    /** Builds changed in last sync. */
+    private int lastChanged;
+
+    /**
+     * @return Page size to start next incremental sync with.
+     */
+    public synchronized int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @param nextPageSize Page size to start next incremental sync with.
+     * @param pages Pages requested.
+     * @param checked Builds checked.
+     * @param changed Builds changed.
+     */
+    synchronized void onSync(int nextPageSize, int pages, int checked, int changed) {
+        pageSize = nextPageSize;
+        syncs++;
+        totalPages += pages;
+        lastPages = pages;
+        lastChecked = checked;
+        lastChanged = changed;
+    }
+
+    /**
+     * @return Syncs completed.
+     */
+    public synchronized long syncs() {
+        return syncs;
+    }
+
+    /**
+     * @return Average pages requested per sync.
+     */
+    public synchronized double pagesPerSync() {
+        return syncs == 0 ? 0 : (double)totalPages / syncs;
+    }
+
+    /**
+     * @return Pages requested by last sync.
+     */
+    public synchronized int lastPages() {
+        return lastPages;
+    }
+
+    /**
+     * @return Builds checked by last sync.
+     */
+    public synchronized int lastChecked() {
+        return lastChecked;
+    }
+
+    /**
+     * @return Part of changed builds among builds checked by last sync.
+     */
+    public synchronized double lastChangedRatio() {
+        return lastChecked == 0 ? 0 : (double)lastChanged / lastChecked;
+    }
+}
@@ -232,26 +232,82 @@ public class HistoryCollector {
         return !ref.isFakeStub() && !ref.isCancelled(compactor) && ref.isFinished(compactor);
     }
 
+    /**
+     * Loads history for several suites into in-memory cache, persisted invocations are requested by one query for
+     * each server and branch. Keys already present in the cache are skipped.
+     *
+     * @param keys Keys of history to load: server, suite (build type) and normalized branch.
+     */
+    @AutoProfiling
+    public void prefetch(Collection<RunHistKey> keys) {
+        Map<RunHistKey, List<Integer>> missedBySrvAndBranch = new HashMap<>();
+
+        for (RunHistKey key : keys) {
+            if (runHistInMemCache.getIfPresent(key) != null)
+                continue;
+
+            RunHistKey grpKey = new RunHistKey(key.srvId(), -1, key.branch());
+
+            missedBySrvAndBranch.computeIfAbsent(grpKey, k -> new ArrayList<>()).add(key.testNameOrSuite());
+        }
+
+        missedBySrvAndBranch.forEach((grpKey, buildTypeIds) -> {
+            int srvId = grpKey.srvId();
+            int branch = grpKey.branch();
+
+            Map<Integer, SuiteHistory> persisted = histDao.aggregateSuiteRunHist(srvId, buildTypeIds, branch);
+
+            for (Integer buildTypeId : buildTypeIds) {
+                SuiteHistory hist = persisted.computeIfAbsent(buildTypeId, k -> new SuiteHistory());
+
+                completeSuiteHistory(srvId, buildTypeId, branch, hist);
+
+                runHistInMemCache.put(new RunHistKey(srvId, buildTypeId, branch), hist);
+            }
+        });
+    }
+
     @AutoProfiling
     protected SuiteHistory loadSuiteHistory(int srvId,
         int buildTypeId,
         int normalizedBaseBranch) {
         Map<Integer, SuiteInvocation> suiteRunHist = histDao.getSuiteRunHist(srvId, buildTypeId, normalizedBaseBranch);
 
+        SuiteHistory hist = new SuiteHistory();
+
+        suiteRunHist.forEach((buildId, suiteInv) -> hist.addSuiteInvocation(suiteInv));
+
+        return completeSuiteHistory(srvId, buildTypeId, normalizedBaseBranch, hist);
+    }
+
+    /**
+     * Adds builds not yet saved to the history to the summary of persisted invocations.
+     *
+     * @param srvId Server id.
+     * @param buildTypeId Build type id.
+     * @param normalizedBaseBranch Normalized base branch.
+     * @param sumary History summary built from persisted invocations, mutable.
+     */
+    private SuiteHistory completeSuiteHistory(int srvId,
+        int buildTypeId,
+        int normalizedBaseBranch,
+        SuiteHistory sumary) {
+        Set<Integer> knownBuilds = new HashSet<>(sumary.buildIds());
+
         logger.info("***** Found history for suite "
             + compactor.getStringFromId(buildTypeId)
-            + " branch " + compactor.getStringFromId(normalizedBaseBranch) + ": " + suiteRunHist.size() );
+            + " branch " + compactor.getStringFromId(normalizedBaseBranch) + ": " + knownBuilds.size() );
 
-        Set<Integer> buildIds = determineLatestBuilds(srvId, buildTypeId, normalizedBaseBranch, suiteRunHist.keySet());
+        Set<Integer> buildIds = determineLatestBuilds(srvId, buildTypeId, normalizedBaseBranch, knownBuilds);
 
         HashSet<Integer> missedBuildsIds = new HashSet<>(buildIds);
 
-        missedBuildsIds.removeAll(suiteRunHist.keySet());
+        missedBuildsIds.removeAll(knownBuilds);
 
         if (!missedBuildsIds.isEmpty()) {
             Map<Integer, SuiteInvocation> addl = addSuiteInvocationsToHistory(srvId, missedBuildsIds, normalizedBaseBranch);
 
-            suiteRunHist.putAll(addl);
+            addl.forEach((buildId, suiteInv) -> sumary.addSuiteInvocation(suiteInv));
 
             /*
             Map<Integer, SuiteInvocation> reloaded = histDao.getSuiteRunHist(srvId, buildTypeId, normalizedBaseBranch);
@@ -262,10 +318,6 @@ public class HistoryCollector {
             */
         }
 
-        SuiteHistory sumary = new SuiteHistory();
-
-        suiteRunHist.forEach((buildId, suiteInv) -> sumary.addSuiteInvocation(suiteInv));
-
         if (logger.isDebugEnabled()) {
             logger.debug("***** History for suite "
                 + compactor.getStringFromId(buildTypeId)
@@ -46,6 +46,21 @@ public interface IRunHistory extends IRunStat, IRunHistSummary {
     @Nullable
     public Integer detectTemplate(IEventTemplate t);
 
+    /**
+     * Detects several templates using one scan of the history.
+     *
+     * @param templates Templates.
+     * @return Build IDs of detected events, element is {@code null} if corresponding template was not detected.
+     */
+    public default Integer[] detectTemplates(IEventTemplate... templates) {
+        Integer[] res = new Integer[templates.length];
+
+        for (int i = 0; i < templates.length; i++)
+            res[i] = detectTemplate(templates[i]);
+
+        return res;
+    }
+
     public default String getCriticalFailPercentPrintable() {
         return IRunStat.getPercentPrintable(getCriticalFailRate() * 100.0f);
     }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.tcignited.history;
+
+import com.google.common.collect.Iterables;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.SqlQuery;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.tcignited.build.SuiteHistory;
+
+import static org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao.MAX_SUITES_IN_QUERY;
+import static org.apache.ignite.tcignited.history.SuiteInvocationHistoryDao.SUITE_HISTORY_CACHE;
+
+/**
+ * Builds suites history summary from invocations stored in partitions of local node. Invocations are keyed by build,
+ * so history of one suite is spread over the cluster: caller runs job on each data node for its primary partitions, or
+ * for each partition using affinity call, which reserves the partition while the job is running, and merges partial
+ * results.
+ */
+class SuiteHistoryAggregationJob implements IgniteCallable<Map<Integer, SuiteHistory>> {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Local Ignite instance. */
+    @IgniteInstanceResource
+    private transient Ignite ignite;
+
+    /** Server id. */
+    private final int srvId;
+
+    /** Build type ids. */
+    private final List<Integer> buildTypeIds;
+
+    /** Normalized branch name id. */
+    private final int normalizedBranchName;
+
+    /** Partitions to query. */
+    private final int[] parts;
+
+    /**
+     * @param srvId Server id.
+     * @param buildTypeIds Build type ids.
+     * @param normalizedBranchName Normalized branch name id.
+     * @param parts Partitions to query, should be primary on the node executing the job.
+     */
+    SuiteHistoryAggregationJob(int srvId, List<Integer> buildTypeIds, int normalizedBranchName, int[] parts) {
+        this.srvId = srvId;
+        this.buildTypeIds = buildTypeIds;
+        this.normalizedBranchName = normalizedBranchName;
+        this.parts = parts;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Map<Integer, SuiteHistory> call() {
+        IgniteCache<Long, SuiteInvocation> cache = ignite.cache(SUITE_HISTORY_CACHE);
+
+        Map<Integer, SuiteHistory> res = new HashMap<>();
+
+        for (List<Integer> chunk : Iterables.partition(buildTypeIds, MAX_SUITES_IN_QUERY)) {
+            SqlQuery<Long, SuiteInvocation> qry =
+                SuiteInvocationHistoryDao.suitesInBranchQuery(srvId, chunk, normalizedBranchName);
+
+            // Setters of SqlQuery return raw type, so query is not configured in chain.
+            qry.setLocal(true);
+            qry.setPartitions(parts);
+
+            try (QueryCursor<Cache.Entry<Long, SuiteInvocation>> qryCursor = cache.query(qry)) {
+
+                for (Cache.Entry<Long, SuiteInvocation> next : qryCursor) {
+                    SuiteInvocation inv = next.getValue();
+
+                    res.computeIfAbsent(inv.buildTypeId(), k -> new SuiteHistory()).addSuiteInvocation(inv);
+                }
+            }
+        }
+
+        return res;
+    }
+}
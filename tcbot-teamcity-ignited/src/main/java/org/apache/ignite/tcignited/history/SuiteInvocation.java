@@ -74,4 +74,11 @@ public class SuiteInvocation {
     public Invocation suiteInvocation() {
         return suite;
     }
+
+    /**
+     * @return Suite (build type) id.
+     */
+    public int buildTypeId() {
+        return buildTypeId;
+    }
 }
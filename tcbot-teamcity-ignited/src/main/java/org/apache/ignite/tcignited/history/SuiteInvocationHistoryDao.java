@@ -16,8 +16,11 @@
  */
 package org.apache.ignite.tcignited.history;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.cache.Cache;
 import javax.cache.expiry.AccessedExpiryPolicy;
@@ -26,12 +29,17 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCompute;
 import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.affinity.Affinity;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.SqlQuery;
+import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.persistence.CacheConfigs;
+import org.apache.ignite.tcignited.build.SuiteHistory;
 import org.apache.ignite.tcignited.buildref.BuildRefDao;
 
 import static java.util.concurrent.TimeUnit.HOURS;
@@ -40,6 +48,12 @@ import static java.util.concurrent.TimeUnit.HOURS;
  * Suite invocation history access object.
  */
 public class SuiteInvocationHistoryDao {
+    /** Suite history cache name. */
+    public static final String SUITE_HISTORY_CACHE = "teamcitySuiteHistoryV2";
+
+    /** Max count of suites requested in one SQL query. */
+    static final int MAX_SUITES_IN_QUERY = 100;
+
     /** Ignite provider. */
     @Inject
     private Provider<Ignite> igniteProvider;
@@ -48,15 +62,22 @@ public class SuiteInvocationHistoryDao {
     private IgniteCache<Long, SuiteInvocation> suiteHistory;
 
     public void init() {
-        CacheConfiguration<Long , SuiteInvocation> ccfg = CacheConfigs.getCacheV2Config("teamcitySuiteHistory");
+        suiteHistory = suiteHistoryCache(igniteProvider.get());
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @return Suite history cache, created in rebuildable data region if it does not exist.
+     */
+    public static IgniteCache<Long, SuiteInvocation> suiteHistoryCache(Ignite ignite) {
+        CacheConfiguration<Long , SuiteInvocation> ccfg = CacheConfigs.getCacheV2Config(SUITE_HISTORY_CACHE,
+            CacheConfigs.REBUILDABLE_REGION);
         ccfg.setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(new Duration(HOURS, 12)));
         ccfg.setEagerTtl(true);
 
         ccfg.setQueryEntities(Collections.singletonList(new QueryEntity(Long.class, SuiteInvocation.class)));
 
-        Ignite ignite = igniteProvider.get();
-
-        suiteHistory = ignite.getOrCreateCache(ccfg);
+        return ignite.getOrCreateCache(ccfg);
     }
 
     @AutoProfiling
@@ -76,6 +97,96 @@ public class SuiteInvocationHistoryDao {
         return map;
     }
 
+    /**
+     * Builds history summary for several suites in the same branch. Summaries are built on data nodes by {@link
+     * SuiteHistoryAggregationJob} next to the persisted invocations, so only compacted result is transferred and
+     * returned. One job is executed for each data node, it queries primary partitions of the node. If topology was
+     * changed while jobs were running, partitions could be missed or counted twice, so summary is rebuilt by jobs
+     * executed for each partition, which is reserved during job execution. Intended for bulk loads, use {@link
+     * #getSuiteRunHist(int, int, int)} for single suite.
+     *
+     * @param srvId Server id.
+     * @param buildTypeIds Build type ids.
+     * @param normalizedBranchName Normalized branch name id.
+     * @return Build type id -> Suite history, contains entries only for suites having persisted history.
+     */
+    @AutoProfiling
+    public Map<Integer, SuiteHistory> aggregateSuiteRunHist(int srvId, Collection<Integer> buildTypeIds,
+        int normalizedBranchName) {
+        Ignite ignite = igniteProvider.get();
+
+        List<Integer> suites = new ArrayList<>(buildTypeIds);
+        Affinity<Long> aff = ignite.affinity(SUITE_HISTORY_CACHE);
+
+        long topVer = ignite.cluster().topologyVersion();
+
+        List<IgniteFuture<Map<Integer, SuiteHistory>>> futs = new ArrayList<>();
+
+        for (ClusterNode node : ignite.cluster().forDataNodes(SUITE_HISTORY_CACHE).nodes()) {
+            int[] parts = aff.primaryPartitions(node);
+
+            if (parts.length == 0)
+                continue;
+
+            futs.add(ignite.compute(ignite.cluster().forNode(node)).callAsync(
+                new SuiteHistoryAggregationJob(srvId, suites, normalizedBranchName, parts)));
+        }
+
+        Map<Integer, SuiteHistory> res = mergeResults(futs);
+
+        if (ignite.cluster().topologyVersion() == topVer)
+            return res;
+
+        IgniteCompute compute = ignite.compute();
+        List<String> cacheNames = Collections.singletonList(SUITE_HISTORY_CACHE);
+
+        futs.clear();
+
+        for (int part = 0; part < aff.partitions(); part++) {
+            futs.add(compute.affinityCallAsync(cacheNames, part,
+                new SuiteHistoryAggregationJob(srvId, suites, normalizedBranchName, new int[] {part})));
+        }
+
+        return mergeResults(futs);
+    }
+
+    /**
+     * @param futs Futures of partial summaries.
+     * @return Build type id -> Suite history merged from partial summaries.
+     */
+    private static Map<Integer, SuiteHistory> mergeResults(List<IgniteFuture<Map<Integer, SuiteHistory>>> futs) {
+        Map<Integer, SuiteHistory> res = new HashMap<>();
+
+        for (IgniteFuture<Map<Integer, SuiteHistory>> fut : futs)
+            fut.get().forEach((buildTypeId, hist) -> res.merge(buildTypeId, hist, SuiteHistory::merge));
+
+        return res;
+    }
+
+    /**
+     * @param srvId Server id.
+     * @param buildTypeIds Build type ids, not more than {@link #MAX_SUITES_IN_QUERY}.
+     * @param normalizedBranchName Normalized branch name id.
+     * @return Query for invocations of several suites in the same branch.
+     */
+    static SqlQuery<Long, SuiteInvocation> suitesInBranchQuery(int srvId, List<Integer> buildTypeIds,
+        int normalizedBranchName) {
+        StringBuilder sql = new StringBuilder("srvId = ? and normalizedBranchName = ? and buildTypeId in (");
+
+        Object[] args = new Object[buildTypeIds.size() + 2];
+        args[0] = srvId;
+        args[1] = normalizedBranchName;
+
+        for (int i = 0; i < buildTypeIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args[i + 2] = buildTypeIds.get(i);
+        }
+
+        sql.append(")");
+
+        return new SqlQuery<Long, SuiteInvocation>(SuiteInvocation.class, sql.toString()).setArgs(args);
+    }
+
     @AutoProfiling
     public void putAll(int srvId, Map<Integer, SuiteInvocation> addl) {
         Map<Long, SuiteInvocation> data = new HashMap<>();
@@ -63,6 +63,14 @@ public interface ITeamcity extends ITeamcityConn {
      */
     boolean isTeamCityTokenAvailable();
 
+    /**
+     * @return {@code True} if TeamCity rejected authorization token: unauthorized or forbidden response was returned
+     * since token was set.
+     */
+    default boolean isAuthorizationRejected() {
+        return false;
+    }
+
     default void setAuthData(String user, String pwd) {
         setAuthToken(
                 Base64Util.encodeUtf8String(user + ":" + pwd));
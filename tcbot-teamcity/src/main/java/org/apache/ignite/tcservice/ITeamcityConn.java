@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -40,6 +41,7 @@ import org.apache.ignite.tcservice.model.mute.MuteInfo;
 import org.apache.ignite.tcservice.model.result.Build;
 import org.apache.ignite.tcservice.model.result.problems.ProblemOccurrences;
 import org.apache.ignite.tcservice.model.result.stat.Statistics;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
 import org.apache.ignite.tcbot.common.exeption.ServiceConflictException;
 import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
@@ -82,10 +84,11 @@ public interface ITeamcityConn {
     public Build getBuild(int buildId);
 
     /**
-     * @param fullUrl Full url.
+     * @param fullUrl Full url, null activates first page loaded.
+     * @param pageSize Count of builds to be requested, replaces count of the next page link provided by TC.
      * @param nextPage Next page.
      */
-    public List<BuildRef> getBuildRefsPage(String fullUrl, AtomicReference<String> nextPage);
+    public List<BuildRef> getBuildRefsPage(@Nullable String fullUrl, int pageSize, AtomicReference<String> nextPage);
 
     /**
      * @param buildTypeId Build type id.
@@ -103,6 +106,18 @@ public interface ITeamcityConn {
      */
     public TestOccurrencesFull getTestsPage(int buildId, @Nullable String href, boolean testDtls);
 
+    /**
+     * Loads tests page passing each test to consumer as soon as it is parsed, so the whole page is not kept in memory.
+     *
+     * @param buildId Build id.
+     * @param href Href. Null activates first page loaded.
+     * @param testDtls Query test details.
+     * @param consumer Tests consumer.
+     * @return Href of next page or null if the page is the last one.
+     */
+    @Nullable public String streamTestsPage(int buildId, @Nullable String href, boolean testDtls,
+        Consumer<TestOccurrenceFull> consumer);
+
     /**
      * Trigger build.
      * @param buildTypeId Build type (suite) identifier.
@@ -17,10 +17,17 @@
 package org.apache.ignite.tcservice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.internal.SingletonScope;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcservice.http.HttpResponseCache;
 import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
 import org.apache.ignite.tcservice.http.TeamcityRecorder;
 import org.apache.ignite.tcservice.http.TeamcityRecordingConnection;
+import org.apache.ignite.tcservice.http.TeamcityReplayConnection;
 import org.apache.ignite.tcservice.login.ITcLogin;
 import org.apache.ignite.tcservice.login.TcLoginImpl;
 
@@ -30,18 +37,45 @@ import org.apache.ignite.tcservice.login.TcLoginImpl;
 public class TcRealConnectionModule extends AbstractModule {
     private ITeamcityHttpConnection conn;
 
+    /** Directory of HTTP responses cache, if not set cache is kept in work dir. */
+    @Nullable private File rspCacheDir;
+
     /** {@inheritDoc} */
     @Override protected void configure() {
-        if (conn != null)
-            bind(ITeamcityHttpConnection.class).toInstance(conn);
+        ITeamcityHttpConnection httpConn = conn != null ? conn : replayConnection();
+
+        if (httpConn != null)
+            bind(ITeamcityHttpConnection.class).toInstance(httpConn);
         else
             bind(ITeamcityHttpConnection.class).to(TeamcityRecordingConnection.class);
 
         bind(TeamcityRecorder.class).in(new SingletonScope());
+        bind(HttpResponseCache.class).toProvider((Provider<HttpResponseCache>)() ->
+            new HttpResponseCache(rspCacheDir != null ? rspCacheDir : HttpResponseCache.workDirCacheDir()))
+            .in(new SingletonScope());
         bind(ITcLogin.class).to(TcLoginImpl.class).in(new SingletonScope());
     }
 
+    /**
+     * @return Connection replaying recorded responses, if enabled by system property.
+     */
+    @Nullable private static ITeamcityHttpConnection replayConnection() {
+        try {
+            return TeamcityReplayConnection.fromSystemProperties();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public void overrideHttp(ITeamcityHttpConnection conn) {
         this.conn = conn;
     }
+
+    /**
+     * @param rspCacheDir Directory of HTTP responses cache.
+     */
+    public void overrideResponseCacheDir(File rspCacheDir) {
+        this.rspCacheDir = rspCacheDir;
+    }
 }
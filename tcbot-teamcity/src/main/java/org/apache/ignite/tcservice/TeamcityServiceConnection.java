@@ -18,13 +18,17 @@
 package org.apache.ignite.tcservice;
 
 import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
 import org.apache.ignite.tcbot.common.conf.ITcServerConfig;
 import org.apache.ignite.tcbot.common.conf.IDataSourcesConfigSupplier;
 import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
 import org.apache.ignite.tcbot.common.exeption.ExceptionUtil;
 import org.apache.ignite.tcbot.common.exeption.ServiceConflictException;
+import org.apache.ignite.tcbot.common.exeption.ServiceForbiddenException;
+import org.apache.ignite.tcbot.common.exeption.ServiceUnauthorizedException;
 import org.apache.ignite.tcbot.common.interceptor.AutoProfiling;
 import org.apache.ignite.tcbot.common.util.HttpUtil;
+import org.apache.ignite.tcservice.http.HttpResponseCache;
 import org.apache.ignite.tcservice.http.ITeamcityHttpConnection;
 import org.apache.ignite.tcservice.model.agent.Agent;
 import org.apache.ignite.tcservice.model.agent.AgentsRef;
@@ -41,6 +45,7 @@ import org.apache.ignite.tcservice.model.mute.Mutes;
 import org.apache.ignite.tcservice.model.result.Build;
 import org.apache.ignite.tcservice.model.result.problems.ProblemOccurrences;
 import org.apache.ignite.tcservice.model.result.stat.Statistics;
+import org.apache.ignite.tcservice.model.result.tests.TestOccurrenceFull;
 import org.apache.ignite.tcservice.model.result.tests.TestOccurrencesFull;
 import org.apache.ignite.tcservice.model.user.User;
 import org.apache.ignite.tcservice.model.user.Users;
@@ -52,9 +57,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
@@ -70,12 +78,21 @@ public class TeamcityServiceConnection implements ITeamcity {
     /** Logger. */
     private static final Logger logger = LoggerFactory.getLogger(TeamcityServiceConnection.class);
 
+    /** Count in locator of next page link. */
+    private static final Pattern LOCATOR_COUNT = Pattern.compile("count:[0-9]+");
+
     /** TeamCity authorization token. */
     private String basicAuthTok;
 
+    /** Authorization token was rejected by the server: unauthorized or forbidden response was returned. */
+    private volatile boolean authRejected;
+
     /** Teamcity http connection. */
     @Inject private ITeamcityHttpConnection teamcityHttpConn;
 
+    /** Cache of responses for conditional requests. */
+    @Inject private HttpResponseCache rspCache;
+
     @Inject private IDataSourcesConfigSupplier cfg;
 
     private String srvCode;
@@ -91,6 +108,7 @@ public class TeamcityServiceConnection implements ITeamcity {
     /** {@inheritDoc} */
     @Override public void setAuthToken(String tok) {
         basicAuthTok = tok;
+        authRejected = false;
     }
 
     /** {@inheritDoc} */
@@ -98,16 +116,33 @@ public class TeamcityServiceConnection implements ITeamcity {
         return basicAuthTok != null;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isAuthorizationRejected() {
+        return authRejected;
+    }
+
+    /**
+     * Remembers that authorization token was rejected by the server.
+     *
+     * @param e Unauthorized or forbidden error.
+     * @return Error to be rethrown.
+     */
+    private RuntimeException onAuthRejected(RuntimeException e) {
+        authRejected = true;
+
+        return e;
+    }
+
     /** {@inheritDoc} */
     @AutoProfiling
     @Override public List<Agent> agents(boolean connected, boolean authorized) {
         String url = "app/rest/agents?locator=connected:" + connected + ",authorized:" + authorized;
 
-        return getJaxbUsingHref(url, AgentsRef.class)
+        return getCachedJaxbUsingHref(url, AgentsRef.class)
             .getAgent()
             .stream()
             .parallel()
-            .map(v -> getJaxbUsingHref(v.getHref(), Agent.class))
+            .map(v -> getCachedJaxbUsingHref(v.getHref(), Agent.class))
             .collect(Collectors.toList());
     }
 
@@ -127,6 +162,9 @@ public class TeamcityServiceConnection implements ITeamcity {
         try {
             HttpUtil.sendGetCopyToFile(basicAuthTok, url, file);
         }
+        catch (ServiceUnauthorizedException | ServiceForbiddenException e) {
+            throw onAuthRejected(e);
+        }
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -201,6 +239,9 @@ public class TeamcityServiceConnection implements ITeamcity {
                 throw ExceptionUtil.propagateException(e);
             }
         }
+        catch (ServiceUnauthorizedException | ServiceForbiddenException e) {
+            throw onAuthRejected(e);
+        }
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -240,12 +281,12 @@ public class TeamcityServiceConnection implements ITeamcity {
 
     /** {@inheritDoc} */
     @Override public List<Project> getProjects() {
-        return sendGetXmlParseJaxb(host() + "app/rest/latest/projects", ProjectsList.class).projects();
+        return sendGetXmlParseJaxbCached(host() + "app/rest/latest/projects", ProjectsList.class).projects();
     }
 
     /** {@inheritDoc} */
     @Override public List<BuildType> getBuildTypes(String projectId) {
-        return sendGetXmlParseJaxb(host() + "app/rest/latest/projects/" + projectId, Project.class)
+        return sendGetXmlParseJaxbCached(host() + "app/rest/latest/projects/" + projectId, Project.class)
             .getBuildTypesNonNull();
     }
 
@@ -266,6 +307,60 @@ public class TeamcityServiceConnection implements ITeamcity {
                 return loadXml(rootElem, reader);
             }
         }
+        catch (ServiceUnauthorizedException | ServiceForbiddenException e) {
+            throw onAuthRejected(e);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        catch (JAXBException e) {
+            throw ExceptionUtil.propagateException(e);
+        }
+    }
+
+    /**
+     * Sends conditional request if response for this URL was cached with validators for current token. Not modified
+     * response is not downloaded again, it is unmarshalled from the cached body, so each caller gets its own content.
+     *
+     * @param url Url.
+     * @param rootElem Root elem.
+     *
+     * @throws UncheckedIOException caused by FileNotFoundException - If not found (404) was returned from service.
+     * @throws ServiceConflictException If conflict (409) was returned from service.
+     * @throws IllegalStateException if some unexpected HTTP error returned.
+     * @throws UncheckedIOException in case communication failed.
+     */
+    private <T> T sendGetXmlParseJaxbCached(String url, Class<T> rootElem) {
+        String tok = basicAuthTok;
+        HttpResponseCache.CachedResponse cached = rspCache.get(tok, url);
+        Map<String, String> rspHeaders = new HashMap<>();
+
+        try {
+            try (InputStream inputStream = teamcityHttpConn.sendConditionalGet(tok, url,
+                cached == null ? null : cached.etag(),
+                cached == null ? null : cached.lastModified(),
+                rspHeaders)) {
+                if (inputStream == null) {
+                    if (cached == null)
+                        throw new IllegalStateException("Service " + url + " returned not modified response " +
+                            "to request without validators");
+
+                    return loadXml(rootElem, new InputStreamReader(cached.body()));
+                }
+
+                byte[] body = ByteStreams.toByteArray(inputStream);
+
+                T content = loadXml(rootElem, new InputStreamReader(new ByteArrayInputStream(body)));
+
+                rspCache.put(tok, url, rspHeaders.get(HttpResponseCache.ETAG),
+                    rspHeaders.get(HttpResponseCache.LAST_MODIFIED), body);
+
+                return content;
+            }
+        }
+        catch (ServiceUnauthorizedException | ServiceForbiddenException e) {
+            throw onAuthRejected(e);
+        }
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -283,7 +378,7 @@ public class TeamcityServiceConnection implements ITeamcity {
     /** {@inheritDoc} */
     @AutoProfiling
     @Override public BuildTypeFull getBuildType(String buildTypeId) {
-        return sendGetXmlParseJaxb(host() + "app/rest/latest/buildTypes/id:" +
+        return sendGetXmlParseJaxbCached(host() + "app/rest/latest/buildTypes/id:" +
             buildTypeId, BuildTypeFull.class);
     }
 
@@ -301,6 +396,14 @@ public class TeamcityServiceConnection implements ITeamcity {
         return sendGetXmlParseJaxb(host() + (href.startsWith("/") ? href.substring(1) : href), elem);
     }
 
+    /**
+     * @param href Href.
+     * @param elem Element class.
+     */
+    private <T> T getCachedJaxbUsingHref(String href, Class<T> elem) {
+        return sendGetXmlParseJaxbCached(host() + (href.startsWith("/") ? href.substring(1) : href), elem);
+    }
+
     /** {@inheritDoc} */
     @Override public String serverCode() {
         return srvCode;
@@ -329,11 +432,20 @@ public class TeamcityServiceConnection implements ITeamcity {
         this.teamcityHttpConn = teamcityHttpConn;
     }
 
+    /**
+     * @param rspCache Cache of responses for conditional requests.
+     */
+    public void setResponseCache(HttpResponseCache rspCache) {
+        this.rspCache = rspCache;
+    }
+
     /** {@inheritDoc} */
     @AutoProfiling
-    @Override public List<BuildRef> getBuildRefsPage(String fullUrl, AtomicReference<String> outNextPage) {
-        String relPath = "app/rest/latest/builds?locator=defaultFilter:false";
-        String relPathSelected = Strings.isNullOrEmpty(fullUrl) ? relPath : fullUrl;
+    @Override public List<BuildRef> getBuildRefsPage(@Nullable String fullUrl, int pageSize,
+        AtomicReference<String> outNextPage) {
+        String relPathSelected = Strings.isNullOrEmpty(fullUrl)
+            ? "app/rest/latest/builds?locator=defaultFilter:false,count:" + pageSize + ",start:0"
+            : LOCATOR_COUNT.matcher(fullUrl).replaceFirst("count:" + pageSize);
         String url = host() + (relPathSelected.startsWith("/") ? relPathSelected.substring(1) : relPathSelected);
         Builds builds = sendGetXmlParseJaxb(url, Builds.class);
 
@@ -348,7 +460,7 @@ public class TeamcityServiceConnection implements ITeamcity {
         String relPathSelected = Strings.isNullOrEmpty(fullUrl) ? relPath : fullUrl;
         String url = host() + (relPathSelected.startsWith("/") ? relPathSelected.substring(1) : relPathSelected);
 
-        Mutes mutes = sendGetXmlParseJaxb(url, Mutes.class);
+        Mutes mutes = sendGetXmlParseJaxbCached(url, Mutes.class);
 
         nextPage.set(Strings.emptyToNull(mutes.nextHref()));
 
@@ -358,9 +470,39 @@ public class TeamcityServiceConnection implements ITeamcity {
     /** {@inheritDoc} */
     @AutoProfiling
     @Override public TestOccurrencesFull getTestsPage(int buildId, @Nullable String href, boolean testDtls) {
+        return sendGetXmlParseJaxb(testsPageUrl(buildId, href, testDtls), TestOccurrencesFull.class);
+    }
+
+    /** {@inheritDoc} */
+    @AutoProfiling
+    @Override public String streamTestsPage(int buildId, @Nullable String href, boolean testDtls,
+        Consumer<TestOccurrenceFull> consumer) {
+        try (InputStream inputStream = teamcityHttpConn.sendGet(basicAuthTok, testsPageUrl(buildId, href, testDtls))) {
+            Map<String, String> attrs = XmlUtil.stream(new InputStreamReader(inputStream), "testOccurrence",
+                TestOccurrenceFull.class, consumer);
+
+            return Strings.emptyToNull(attrs.get("nextHref"));
+        }
+        catch (ServiceUnauthorizedException | ServiceForbiddenException e) {
+            throw onAuthRejected(e);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        catch (JAXBException | XMLStreamException e) {
+            throw ExceptionUtil.propagateException(e);
+        }
+    }
+
+    /**
+     * @param buildId Build id.
+     * @param href Href. Null activates first page loaded.
+     * @param testDtls Query test details.
+     */
+    private String testsPageUrl(int buildId, @Nullable String href, boolean testDtls) {
         String relPathSelected = Strings.isNullOrEmpty(href) ? testsStartHref(buildId, testDtls) : href;
-        String url = host() + (relPathSelected.startsWith("/") ? relPathSelected.substring(1) : relPathSelected);
-        return sendGetXmlParseJaxb(url, TestOccurrencesFull.class);
+
+        return host() + (relPathSelected.startsWith("/") ? relPathSelected.substring(1) : relPathSelected);
     }
 
     /**
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcservice.http;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcbot.common.conf.TcBotWorkDir;
+import org.apache.ignite.tcbot.common.exeption.ExceptionUtil;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * On-disk cache of TeamCity responses having validators (ETag or Last-Modified), keyed by authorization token and URL.
+ * Allows to send conditional requests and to skip downloading content if it was not modified. Responses are cached
+ * per token, so a user never gets validators or content of a response received by another user.
+ *
+ * Disk keeps one file per URL, the file is overwritten by response received with another token. Files not written or
+ * read for {@link #MAX_FILE_AGE_DAYS} are removed on start.
+ */
+public class HttpResponseCache {
+    /** Directory of cache under work dir. */
+    public static final String CACHE_DIR = "tcHttpCache";
+
+    /** ETag header. */
+    public static final String ETAG = "ETag";
+
+    /** Last-Modified header. */
+    public static final String LAST_MODIFIED = "Last-Modified";
+
+    /** Files not used for this count of days are removed on start. */
+    public static final int MAX_FILE_AGE_DAYS = 30;
+
+    /** Max total size of response bodies kept in memory, bytes. */
+    private static final long MAX_IN_MEMORY_BYTES = 64L * 1024 * 1024;
+
+    /** Cache directory. */
+    private final File dir;
+
+    /** Responses loaded from disk or received. */
+    private final Cache<String, CachedResponse> responses = CacheBuilder.newBuilder()
+        .maximumWeight(MAX_IN_MEMORY_BYTES)
+        .<String, CachedResponse>weigher((key, rsp) -> rsp.body.length + 1)
+        .build();
+
+    /**
+     * @param dir Cache directory.
+     */
+    public HttpResponseCache(File dir) {
+        this.dir = TcBotWorkDir.ensureDirExist(dir);
+
+        removeOutdated(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_FILE_AGE_DAYS));
+    }
+
+    /**
+     * @param minLastModified Files last modified before this time are removed.
+     */
+    private void removeOutdated(long minLastModified) {
+        File[] files = dir.listFiles();
+
+        if (files == null)
+            return;
+
+        try {
+            for (File file : files) {
+                if (file.isFile() && file.lastModified() < minLastModified)
+                    Files.deleteIfExists(file.toPath());
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Cache directory under work dir.
+     */
+    public static File workDirCacheDir() {
+        return new File(TcBotWorkDir.resolveWorkDir(), CACHE_DIR);
+    }
+
+    /**
+     * @param authTok Authorization token used for request.
+     * @param url Url.
+     * @return Cached response or {@code null} if there is no response with validators for this token and URL.
+     */
+    @Nullable public CachedResponse get(@Nullable String authTok, String url) {
+        String key = key(authTok, url);
+
+        try {
+            CachedResponse rsp = responses.get(key, () -> read(key));
+
+            return rsp.isEmpty() ? null : rsp;
+        }
+        catch (ExecutionException e) {
+            throw ExceptionUtil.propagateException(e);
+        }
+    }
+
+    /**
+     * Saves response if it has validators, removes previously cached response otherwise.
+     *
+     * @param authTok Authorization token used for request.
+     * @param url Url.
+     * @param etag ETag header value.
+     * @param lastModified Last-Modified header value.
+     * @param body Response body.
+     */
+    public void put(@Nullable String authTok, String url, @Nullable String etag, @Nullable String lastModified,
+        byte[] body) {
+        String key = key(authTok, url);
+        CachedResponse rsp = new CachedResponse(etag, lastModified, body);
+
+        File file = file(url);
+
+        try {
+            if (rsp.isEmpty()) {
+                Files.deleteIfExists(file.toPath());
+
+                responses.put(key, CachedResponse.EMPTY);
+
+                return;
+            }
+
+            File tmp = new File(dir, file.getName() + ".tmp" + Thread.currentThread().getId());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeUTF(key);
+                out.writeUTF(Strings.nullToEmpty(etag));
+                out.writeUTF(Strings.nullToEmpty(lastModified));
+                out.write(body);
+            }
+
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        responses.put(key, rsp);
+    }
+
+    /**
+     * @param authTok Authorization token.
+     * @param url Url.
+     * @return Cache key: hash of token, so token is not written to disk, and URL.
+     */
+    private static String key(@Nullable String authTok, String url) {
+        return Hashing.sha256().hashString(Strings.nullToEmpty(authTok), UTF_8) + " " + url;
+    }
+
+    /**
+     * @param url Url.
+     * @return File of response to this URL received with any token.
+     */
+    private File file(String url) {
+        return new File(dir, Hashing.sha256().hashString(url, UTF_8).toString());
+    }
+
+    /**
+     * @param key Cache key.
+     * @return Response from disk or empty response if nothing is cached for token and URL of the key.
+     */
+    private CachedResponse read(String key) throws IOException {
+        File file = file(url(key));
+        CachedResponse rsp;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!key.equals(in.readUTF()))
+                return CachedResponse.EMPTY;
+
+            String etag = Strings.emptyToNull(in.readUTF());
+            String lastModified = Strings.emptyToNull(in.readUTF());
+
+            rsp = new CachedResponse(etag, lastModified, ByteStreams.toByteArray(in));
+        }
+        catch (FileNotFoundException ignored) {
+            return CachedResponse.EMPTY;
+        }
+
+        // Keeps file being used from removal on next start.
+        file.setLastModified(System.currentTimeMillis());
+
+        return rsp;
+    }
+
+    /**
+     * @param key Cache key.
+     * @return Url of the key.
+     */
+    private static String url(String key) {
+        return key.substring(key.indexOf(' ') + 1);
+    }
+
+    /**
+     * Cached response: validators and body. Body is unmarshalled by each caller, so callers never share mutable
+     * content.
+     */
+    public static class CachedResponse {
+        /** Response without validators. */
+        private static final CachedResponse EMPTY = new CachedResponse(null, null, new byte[0]);
+
+        /** ETag. */
+        @Nullable private final String etag;
+
+        /** Last modified. */
+        @Nullable private final String lastModified;
+
+        /** Body. */
+        private final byte[] body;
+
+        /**
+         * @param etag ETag.
+         * @param lastModified Last modified.
+         * @param body Body.
+         */
+        private CachedResponse(@Nullable String etag, @Nullable String lastModified, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+
+        /**
+         * @return {@code True} if there are no validators to be sent.
+         */
+        private boolean isEmpty() {
+            return etag == null && lastModified == null;
+        }
+
+        /**
+         * @return ETag.
+         */
+        @Nullable public String etag() {
+            return etag;
+        }
+
+        /**
+         * @return Last modified.
+         */
+        @Nullable public String lastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return Stream of the cached response body.
+         */
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.ignite.tcbot.common.exeption.ServiceConflictException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import javax.annotation.Nullable;
 
 public interface ITeamcityHttpConnection {
     /**
@@ -32,4 +34,23 @@ public interface ITeamcityHttpConnection {
      * @throws IllegalStateException if some unexpected HTTP error returned.
      */
     public InputStream sendGet(String basicAuthTok, String url) throws IOException;
+
+    /**
+     * Sends conditional GET using validators of cached response. Default implementation does not support conditional
+     * requests and always returns response body.
+     *
+     * @param basicAuthTok Basic auth token.
+     * @param url Url.
+     * @param etag ETag of cached response.
+     * @param lastModified Last-Modified of cached response.
+     * @param rspHeaders [OUT] - validators of the response: ETag and Last-Modified header values, if present.
+     * @return Response body or {@code null} if not modified (304) was returned from service.
+     * @throws FileNotFoundException If not found (404) was returned from service.
+     * @throws ServiceConflictException If conflict (409) was returned from service.
+     * @throws IllegalStateException if some unexpected HTTP error returned.
+     */
+    @Nullable public default InputStream sendConditionalGet(String basicAuthTok, String url, @Nullable String etag,
+        @Nullable String lastModified, Map<String, String> rspHeaders) throws IOException {
+        return sendGet(basicAuthTok, url);
+    }
 }
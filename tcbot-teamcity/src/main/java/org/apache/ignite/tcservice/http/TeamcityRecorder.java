@@ -30,6 +30,12 @@ import java.util.concurrent.locks.ReentrantLock;
  *
  */
 public class TeamcityRecorder {
+    /** Recording file name. */
+    public static final String RECORDING_FILE = "tcrecorder.txt";
+
+    /** Prefix of line starting each recorded response, followed by URL. */
+    public static final String GET_PREFIX = "===HTTP=RECORDER=== GET ";
+
     /** Lock. */
     private ReentrantLock lock = new ReentrantLock();
 
@@ -47,9 +53,9 @@ public class TeamcityRecorder {
             lock.lock();
             try {
                 if (file == null)
-                    file = new FileOutputStream("tcrecorder.txt");
+                    file = new FileOutputStream(RECORDING_FILE);
 
-                final String newUrlStartStr = "===HTTP=RECORDER=== GET " + url + "\n";
+                final String newUrlStartStr = GET_PREFIX + url + "\n";
                 file.write(newUrlStartStr.getBytes(Charsets.UTF_8));
 
                 FileRecordingInputStream spyStream = new FileRecordingInputStream(inputStream, file, lock);
@@ -21,6 +21,7 @@ import org.apache.ignite.tcbot.common.util.HttpUtil;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 
 /**
  *
@@ -33,4 +34,12 @@ public class TeamcityRecordingConnection implements ITeamcityHttpConnection {
     @Override public InputStream sendGet(String basicAuthTok, String url) throws IOException {
         return recorder.onGet(HttpUtil.sendGetWithBasicAuth(basicAuthTok, url), url);
     }
+
+    /** {@inheritDoc} */
+    @Override public InputStream sendConditionalGet(String basicAuthTok, String url, String etag,
+        String lastModified, Map<String, String> rspHeaders) throws IOException {
+        InputStream is = HttpUtil.sendConditionalGetWithBasicAuth(basicAuthTok, url, etag, lastModified, rspHeaders);
+
+        return is == null ? null : recorder.onGet(is, url);
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.tcservice.http;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.apache.ignite.tcbot.common.conf.TcBotSystemProperties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Offline TeamCity stand-in: replays responses recorded by {@link TeamcityRecorder}. URLs not found in recording are
+ * reported as not found (404) by the service.
+ */
+public class TeamcityReplayConnection implements ITeamcityHttpConnection {
+    /** Recording contents. */
+    private final byte[] recording;
+
+    /** URL to offset and length of response body in recording. Last response is used for URL recorded several times. */
+    private final Map<String, int[]> bodies = new HashMap<>();
+
+    /** Latency added to each response, milliseconds. */
+    private final long latencyMs;
+
+    /** Replayed responses. */
+    private final AtomicInteger replayed = new AtomicInteger();
+
+    /** Requests for URLs not found in recording. */
+    private final AtomicInteger missed = new AtomicInteger();
+
+    /**
+     * @param recording Recording contents.
+     * @param latencyMs Latency added to each response, milliseconds.
+     */
+    public TeamcityReplayConnection(byte[] recording, long latencyMs) {
+        Preconditions.checkArgument(latencyMs >= 0, "Negative latency: " + latencyMs);
+
+        this.recording = recording;
+        this.latencyMs = latencyMs;
+
+        parse();
+    }
+
+    /**
+     * @param file Recording file.
+     * @param latencyMs Latency added to each response, milliseconds.
+     */
+    public static TeamcityReplayConnection load(File file, long latencyMs) throws IOException {
+        return new TeamcityReplayConnection(Files.readAllBytes(file.toPath()), latencyMs);
+    }
+
+    /**
+     * @return Replay connection configured by {@link TcBotSystemProperties#TEAMCITY_BOT_REPLAY} system property or
+     * {@code null} if replay is not enabled.
+     */
+    @Nullable public static TeamcityReplayConnection fromSystemProperties() throws IOException {
+        String file = System.getProperty(TcBotSystemProperties.TEAMCITY_BOT_REPLAY);
+
+        if (Strings.isNullOrEmpty(file))
+            return null;
+
+        String latency = System.getProperty(TcBotSystemProperties.TEAMCITY_BOT_REPLAY_LATENCY);
+
+        return load(new File(file), Strings.isNullOrEmpty(latency) ? 0 : Long.parseLong(latency));
+    }
+
+    /**
+     * Finds responses in recording. Each response starts from line with {@link TeamcityRecorder#GET_PREFIX} and URL,
+     * recorder adds line feed after each body.
+     */
+    private void parse() {
+        byte[] prefix = TeamcityRecorder.GET_PREFIX.getBytes(UTF_8);
+
+        String url = null;
+        int bodyStart = 0;
+
+        for (int pos = 0; pos < recording.length; pos++) {
+            if ((pos != 0 && recording[pos - 1] != '\n') || !startsWith(pos, prefix))
+                continue;
+
+            if (url != null)
+                addBody(url, bodyStart, pos);
+
+            int urlEnd = pos + prefix.length;
+
+            while (urlEnd < recording.length && recording[urlEnd] != '\n')
+                urlEnd++;
+
+            url = new String(recording, pos + prefix.length, urlEnd - pos - prefix.length, UTF_8);
+            bodyStart = Math.min(urlEnd + 1, recording.length);
+            pos = urlEnd;
+        }
+
+        if (url != null)
+            addBody(url, bodyStart, recording.length);
+    }
+
+    /**
+     * @param pos Position in recording.
+     * @param prefix Prefix.
+     */
+    private boolean startsWith(int pos, byte[] prefix) {
+        if (pos + prefix.length > recording.length)
+            return false;
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (recording[pos + i] != prefix[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param url Url.
+     * @param start Start of body.
+     * @param end End of body and line feed added by recorder.
+     */
+    private void addBody(String url, int start, int end) {
+        if (end > start && recording[end - 1] == '\n')
+            end--;
+
+        bodies.put(url, new int[] {start, end - start});
+    }
+
+    /** {@inheritDoc} */
+    @Override public InputStream sendGet(String basicAuthTok, String url) throws IOException {
+        if (latencyMs > 0)
+            Uninterruptibles.sleepUninterruptibly(latencyMs, TimeUnit.MILLISECONDS);
+
+        int[] body = bodies.get(url);
+
+        if (body == null) {
+            missed.incrementAndGet();
+
+            throw new FileNotFoundException("Service " + url + " returned not found error. URL is not recorded.");
+        }
+
+        replayed.incrementAndGet();
+
+        return new ByteArrayInputStream(recording, body[0], body[1]);
+    }
+
+    /**
+     * @return Count of recorded URLs.
+     */
+    public int urls() {
+        return bodies.size();
+    }
+
+    /**
+     * @return Count of replayed responses.
+     */
+    public int replayed() {
+        return replayed.get();
+    }
+
+    /**
+     * @return Count of requests for URLs not found in recording.
+     */
+    public int missed() {
+        return missed.get();
+    }
+}
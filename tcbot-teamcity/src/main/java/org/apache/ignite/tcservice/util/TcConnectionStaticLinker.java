@@ -17,6 +17,7 @@
 package org.apache.ignite.tcservice.util;
 
 import org.apache.ignite.tcservice.TeamcityServiceConnection;
+import org.apache.ignite.tcservice.http.HttpResponseCache;
 import org.apache.ignite.tcservice.http.TeamcityRecordingConnection;
 
 /**
@@ -30,6 +31,7 @@ public class TcConnectionStaticLinker {
         final TeamcityServiceConnection conn = new TeamcityServiceConnection();
 
         conn.setHttpConn(new TeamcityRecordingConnection());
+        conn.setResponseCache(new HttpResponseCache(HttpResponseCache.workDirCacheDir()));
         conn.init(srv);
 
         return conn;
@@ -21,11 +21,17 @@ import org.apache.ignite.tcbot.common.util.ObjectInterner;
 
 import java.io.Reader;
 import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  */
@@ -42,6 +48,54 @@ public class XmlUtil {
         return unmarshal;
     }
 
+    /**
+     * Parses XML document element by element: each element with given name is unmarshalled and passed to consumer as
+     * soon as it is read, so the whole document is never kept in memory.
+     *
+     * @param reader Reader.
+     * @param elemName Name of elements to be unmarshalled.
+     * @param elemCls Class of elements.
+     * @param consumer Consumer of elements.
+     * @return Attributes of root element.
+     */
+    public static <T> Map<String, String> stream(Reader reader, String elemName, Class<T> elemCls,
+        Consumer<T> consumer) throws JAXBException, XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        XMLStreamReader xmlReader = factory.createXMLStreamReader(reader);
+
+        try {
+            Unmarshaller unmarshaller = getContext(elemCls).createUnmarshaller();
+            Map<String, String> rootAttrs = new HashMap<>();
+
+            xmlReader.nextTag();
+
+            for (int i = 0; i < xmlReader.getAttributeCount(); i++)
+                rootAttrs.put(xmlReader.getAttributeLocalName(i), xmlReader.getAttributeValue(i));
+
+            while (xmlReader.hasNext()) {
+                if (xmlReader.isStartElement() && elemName.equals(xmlReader.getLocalName())) {
+                    // Unmarshaller moves reader to the event following the element.
+                    T elem = unmarshaller.unmarshal(xmlReader, elemCls).getValue();
+
+                    ObjectInterner.internFields(elem);
+
+                    consumer.accept(elem);
+                }
+                else
+                    xmlReader.next();
+            }
+
+            return rootAttrs;
+        }
+        finally {
+            xmlReader.close();
+        }
+    }
+
     public static String save(Object obj) throws JAXBException {
         Marshaller marshaller = getContext(obj.getClass()).createMarshaller();
         marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);